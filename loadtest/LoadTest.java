@@ -0,0 +1,146 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generador de carga para la API, sin dependencias: se ejecuta con {@code java loadtest/LoadTest.java}.
+ * <p>
+ * Abre la cantidad indicada de conexiones concurrentes, cada una en su propio hilo virtual, y repite el escenario
+ * durante el tiempo indicado. Al terminar informa el rendimiento y los percentiles de latencia por petición.
+ * </p>
+ * <p>
+ * Escenarios:
+ * <ul>
+ *     <li>{@code topsecret}: POST /topsecret/ con la solicitud de ejemplo.</li>
+ *     <li>{@code split}: los tres fragmentos de una transmisión propia (X-Transmission-Id) en POST
+ *     /topsecret_split/{satélite} y luego el GET de /topsecret_split.</li>
+ * </ul>
+ * </p>
+ * <p>
+ * La URL puede ser una lista separada por comas: cada conexión reparte sus peticiones entre los nodos, de modo que
+ * los fragmentos de una misma transmisión llegan a nodos distintos.
+ * </p>
+ * Uso: {@code java loadtest/LoadTest.java [url[,url...]] [conexiones] [segundos] [escenario]}
+ */
+public class LoadTest {
+
+    private static final String TOPSECRET = """
+            {"satellites":[
+            {"name":"kenobi","distance":100.0,"message":["este","","","mensaje",""]},
+            {"name":"skywalker","distance":115.5,"message":["","es","","","secreto"]},
+            {"name":"sato","distance":142.7,"message":["","","un","",""]}]}""";
+
+    private static final String[][] FRAGMENTS = {
+            {"kenobi", "{\"distance\":100.0,\"message\":[\"este\",\"\",\"\",\"mensaje\",\"\"]}"},
+            {"skywalker", "{\"distance\":115.5,\"message\":[\"\",\"es\",\"\",\"\",\"secreto\"]}"},
+            {"sato", "{\"distance\":142.7,\"message\":[\"\",\"\",\"un\",\"\",\"\"]}"}
+    };
+
+    public static void main(String[] args) throws Exception {
+        String[] urls = (args.length > 0 ? args[0] : "http://localhost:8080").split(",");
+        int connections = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 60;
+        String scenario = args.length > 3 ? args[3] : "topsecret";
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        long[][] latencies = new long[connections][];
+        int[] counts = new int[connections];
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(connections);
+
+        long start = System.nanoTime();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < connections; c++) {
+                int connection = c;
+                workers.execute(() -> {
+                    long[] samples = new long[1024];
+                    int count = 0;
+                    long iteration = 0;
+                    while (System.nanoTime() < deadline) {
+                        for (HttpRequest request : scenario(urls, scenario, connection, iteration++)) {
+                            long sent = System.nanoTime();
+                            try {
+                                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                                if (response.statusCode() >= 400) {
+                                    errors.incrementAndGet();
+                                }
+                            } catch (Exception ex) {
+                                errors.incrementAndGet();
+                            }
+                            if (count == samples.length) {
+                                samples = Arrays.copyOf(samples, count * 2);
+                            }
+                            samples[count++] = System.nanoTime() - sent;
+                        }
+                    }
+                    latencies[connection] = samples;
+                    counts[connection] = count;
+                    done.countDown();
+                });
+            }
+            done.await();
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        int total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        long[] all = new long[total];
+        int offset = 0;
+        for (int c = 0; c < connections; c++) {
+            System.arraycopy(latencies[c], 0, all, offset, counts[c]);
+            offset += counts[c];
+        }
+        Arrays.sort(all);
+        System.out.printf("escenario=%s conexiones=%d duración=%.1fs%n", scenario, connections, elapsed);
+        System.out.printf("peticiones=%d errores=%d rendimiento=%.0f req/s%n", total, errors.get(), total / elapsed);
+        System.out.printf("latencia p50=%.1fms p99=%.1fms p99.9=%.1fms máx=%.1fms%n",
+                percentile(all, 0.50), percentile(all, 0.99), percentile(all, 0.999), percentile(all, 1.0));
+    }
+
+    private static HttpRequest[] scenario(String[] urls, String scenario, int connection, long iteration) {
+        if (scenario.equals("split")) {
+            String transmission = connection + "-" + iteration;
+            HttpRequest[] requests = new HttpRequest[FRAGMENTS.length + 1];
+            for (int i = 0; i < FRAGMENTS.length; i++) {
+                String url = urls[(connection + i) % urls.length];
+                requests[i] = HttpRequest.newBuilder(URI.create(url + "/topsecret_split/" + FRAGMENTS[i][0]))
+                        .header("Content-Type", "application/json")
+                        .header("X-Transmission-Id", transmission)
+                        .POST(HttpRequest.BodyPublishers.ofString(FRAGMENTS[i][1]))
+                        .build();
+            }
+            String url = urls[(connection + FRAGMENTS.length) % urls.length];
+            requests[FRAGMENTS.length] = HttpRequest.newBuilder(URI.create(url + "/topsecret_split"))
+                    .header("X-Transmission-Id", transmission)
+                    .GET()
+                    .build();
+            return requests;
+        }
+        return new HttpRequest[]{HttpRequest.newBuilder(URI.create(urls[connection % urls.length] + "/topsecret/"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(TOPSECRET))
+                .build()};
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1);
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+}
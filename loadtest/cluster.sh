@@ -0,0 +1,40 @@
+#!/usr/bin/env bash
+# Levanta varias instancias de la aplicación en esta máquina, como un grupo de topsecret_split repartido por hash
+# consistente, y ejecuta el escenario split repartiendo los fragmentos de cada transmisión entre todos los nodos.
+# Uso: loadtest/cluster.sh [nodos] [conexiones] [segundos]
+# Requiere haber generado el WAR (gradle build).
+set -euo pipefail
+
+NODES=${1:-3}
+CONNECTIONS=${2:-200}
+SECONDS_PER_RUN=${3:-30}
+FIRST_PORT=8091
+DIR=$(cd "$(dirname "$0")/.." && pwd)
+WAR=$(ls "$DIR"/build/libs/*.war | grep -v plain | head -1)
+
+URLS=""
+for i in $(seq 0 $((NODES - 1))); do
+  URLS="${URLS:+$URLS,}http://localhost:$((FIRST_PORT + i))"
+done
+
+PIDS=()
+trap 'kill "${PIDS[@]}" 2>/dev/null' EXIT
+for i in $(seq 0 $((NODES - 1))); do
+  PORT=$((FIRST_PORT + i))
+  # Cada nodo se identifica como http://localhost:<puerto>, que es el valor por defecto de split.cluster.self.
+  java -jar "$WAR" --server.port=$PORT --split.cluster.enabled=true --split.cluster.nodes="$URLS" \
+       > "$DIR/build/loadtest-cluster-$PORT.log" 2>&1 &
+  PIDS+=($!)
+done
+for i in $(seq 0 $((NODES - 1))); do
+  until curl -s -o /dev/null "http://localhost:$((FIRST_PORT + i))/actuator/health"; do sleep 1; done
+done
+
+echo "== nodos $URLS"
+java "$DIR/loadtest/LoadTest.java" "$URLS" "$CONNECTIONS" "$SECONDS_PER_RUN" split
+for i in $(seq 0 $((NODES - 1))); do
+  PORT=$((FIRST_PORT + i))
+  echo "-- nodo $PORT"
+  curl -s "http://localhost:$PORT/actuator/prometheus" \
+       | grep -E '^topsecret_split_sessions|^topsecret_split_peer_batch_(count|sum)'
+done
@@ -0,0 +1,27 @@
+#!/usr/bin/env bash
+# Compara los controladores MVC (Tomcat, puerto 8080) con las rutas reactivas (Netty, puerto 8081) bajo la misma
+# carga, en la misma instancia de la aplicación.
+# Uso: loadtest/reactive.sh [conexiones] [segundos] [escenario]
+# Requiere haber generado el WAR (gradle build) y un límite de descriptores de archivo mayor que las conexiones
+# (ulimit -n).
+set -euo pipefail
+
+CONNECTIONS=${1:-10000}
+SECONDS_PER_RUN=${2:-60}
+SCENARIO=${3:-topsecret}
+DIR=$(cd "$(dirname "$0")/.." && pwd)
+WAR=$(ls "$DIR"/build/libs/*.war | grep -v plain | head -1)
+
+java -jar "$WAR" --reactive.enabled=true \
+     --server.tomcat.max-connections=$((CONNECTIONS * 2)) --server.tomcat.accept-count=$CONNECTIONS \
+     > "$DIR/build/loadtest-reactive.log" 2>&1 &
+APP=$!
+trap 'kill $APP 2>/dev/null' EXIT
+until curl -s -o /dev/null http://localhost:8080/actuator/health; do sleep 1; done
+
+for PORT in 8080 8081; do
+  echo "== puerto $PORT"
+  # Calentamiento breve para que el JIT compile las rutas calientes antes de medir.
+  java "$DIR/loadtest/LoadTest.java" http://localhost:$PORT 100 10 "$SCENARIO" > /dev/null
+  java "$DIR/loadtest/LoadTest.java" http://localhost:$PORT "$CONNECTIONS" "$SECONDS_PER_RUN" "$SCENARIO"
+done
@@ -0,0 +1,30 @@
+#!/usr/bin/env bash
+# Compara la aplicación con hilos de plataforma y con hilos virtuales bajo la misma carga.
+# Uso: loadtest/run.sh [conexiones] [segundos] [escenario]
+# Requiere haber generado el WAR (gradle build) y un límite de descriptores de archivo mayor que las conexiones
+# (ulimit -n).
+set -euo pipefail
+
+CONNECTIONS=${1:-10000}
+SECONDS_PER_RUN=${2:-60}
+SCENARIO=${3:-topsecret}
+DIR=$(cd "$(dirname "$0")/.." && pwd)
+WAR=$(ls "$DIR"/build/libs/*.war | grep -v plain | head -1)
+
+for VIRTUAL in false true; do
+  # Tomcat acepta por defecto 8192 conexiones; se amplía para que ambas ejecuciones reciban toda la carga.
+  java -jar "$WAR" --spring.threads.virtual.enabled=$VIRTUAL \
+       --server.tomcat.max-connections=$((CONNECTIONS * 2)) --server.tomcat.accept-count=$CONNECTIONS \
+       > "$DIR/build/loadtest-virtual-$VIRTUAL.log" 2>&1 &
+  APP=$!
+  trap 'kill $APP 2>/dev/null' EXIT
+  until curl -s -o /dev/null http://localhost:8080/actuator/health; do sleep 1; done
+
+  echo "== spring.threads.virtual.enabled=$VIRTUAL"
+  # Calentamiento breve para que el JIT compile las rutas calientes antes de medir.
+  java "$DIR/loadtest/LoadTest.java" http://localhost:8080 100 10 "$SCENARIO" > /dev/null
+  java "$DIR/loadtest/LoadTest.java" http://localhost:8080 "$CONNECTIONS" "$SECONDS_PER_RUN" "$SCENARIO"
+
+  kill $APP
+  wait $APP 2>/dev/null || true
+done
@@ -0,0 +1,47 @@
+#!/usr/bin/env bash
+# Mide el arranque de la aplicación en tres variantes: por defecto, perfil prod (sin Swagger y con calentamiento) y
+# perfil prod con AOT y un archivo AppCDS. Para cada una informa el tiempo de arranque que reporta Spring, el tiempo
+# desde el lanzamiento hasta la primera respuesta 200 de POST /topsecret/ y la latencia de esa primera respuesta. La
+# primera petición se envía cuando la sonda de readiness responde, como haría el balanceador.
+# Uso: loadtest/startup.sh [repeticiones]
+# Requiere haber generado el WAR con "gradle build -Pprod", que incluye el código AOT.
+set -euo pipefail
+
+RUNS=${1:-3}
+DIR=$(cd "$(dirname "$0")/.." && pwd)
+WAR=$(ls "$DIR"/build/libs/*.war | grep -v plain | head -1)
+WORK="$DIR/build/startup"
+BODY='{"satellites":[{"name":"kenobi","distance":100.0,"message":["este","","","mensaje",""]},{"name":"skywalker","distance":115.5,"message":["","es","","","secreto"]},{"name":"sato","distance":142.7,"message":["","","un","",""]}]}'
+
+# AppCDS necesita las dependencias como archivos JAR sueltos: se extrae el WAR y se genera el archivo de clases con
+# una ejecución de entrenamiento que termina al refrescar el contexto.
+rm -rf "$WORK"
+java -Djarmode=tools -jar "$WAR" extract --destination "$WORK" > /dev/null
+APP="$WORK/$(basename "$WAR")"
+java -XX:ArchiveClassesAtExit="$WORK/app.jsa" -Dspring.context.exit=onRefresh -Dspring.aot.enabled=true \
+     -jar "$APP" --spring.profiles.active=prod > "$WORK/training.log" 2>&1
+
+measure() {
+  local name=$1; shift
+  for RUN in $(seq "$RUNS"); do
+    local start now first
+    start=$(date +%s%N)
+    "$@" --management.endpoint.health.probes.enabled=true > "$WORK/$name.log" 2>&1 &
+    local pid=$!
+    until curl -sf -o /dev/null http://localhost:8080/actuator/health/readiness; do sleep 0.02; done
+    first=$(curl -s -o /dev/null -w '%{http_code} %{time_total}' -H 'Content-Type: application/json' \
+              -d "$BODY" http://localhost:8080/topsecret/)
+    now=$(date +%s%N)
+    local started
+    started=$(grep -o 'Started MeliApplication in [0-9.]* seconds' "$WORK/$name.log" | grep -o '[0-9.]*' || echo '?')
+    printf '%-10s arranque=%ss primera-respuesta=%dms (HTTP %s) latencia-primera=%sms\n' "$name" "$started" \
+           $(((now - start) / 1000000)) "${first%% *}" "$(awk -v t="${first#* }" 'BEGIN { printf "%.1f", t * 1000 }')"
+    kill $pid
+    wait $pid 2>/dev/null || true
+  done
+}
+
+measure default java -jar "$APP"
+measure prod java -jar "$APP" --spring.profiles.active=prod
+measure prod-aot java -XX:SharedArchiveFile="$WORK/app.jsa" -Dspring.aot.enabled=true -jar "$APP" \
+        --spring.profiles.active=prod
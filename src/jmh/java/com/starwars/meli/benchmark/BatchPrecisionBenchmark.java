@@ -0,0 +1,64 @@
+package com.starwars.meli.benchmark;
+
+import com.starwars.meli.constellation.BatchPrecision;
+import com.starwars.meli.service.impl.LocationServiceImpl;
+import com.starwars.meli.service.impl.OptimizerProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de {@link LocationServiceImpl#calculateLocations} con cada vía de {@link BatchPrecision}, en emisores
+ * resueltos por segundo en un hilo.
+ * <p>
+ * Con distancias exactas todas las soluciones salen de la forma cerrada; con distancias ruidosas, la mayoría pasa
+ * por el optimizador en todas las vías. La exactitud de cada vía se comprueba en VectorLinearSolverTest.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchPrecisionBenchmark {
+
+    private static final int FIXES = 4096;
+
+    @Param({"SCALAR", "DOUBLE", "FLOAT"})
+    public BatchPrecision precision;
+
+    /**
+     * Ruido máximo agregado a cada distancia.
+     */
+    @Param({"0", "5"})
+    public double noise;
+
+    private LocationServiceImpl locationService;
+    private double[][] distances;
+    private double[] xs;
+    private double[] ys;
+
+    @Setup
+    public void setUp() {
+        locationService = new LocationServiceImpl(BenchmarkData.constellationRegistry(), 0.01, 1.0, false, 3.0,
+                precision, new OptimizerProperties(), new SimpleMeterRegistry());
+        double[][] fixes = BenchmarkData.distances(FIXES, noise, 42);
+        distances = new double[BenchmarkData.SATELLITE_POSITIONS.length][FIXES];
+        for (int i = 0; i < FIXES; i++) {
+            for (int s = 0; s < distances.length; s++) {
+                distances[s][i] = fixes[i][s];
+            }
+        }
+        xs = new double[FIXES];
+        ys = new double[FIXES];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FIXES)
+    public double[] calculateLocations() {
+        locationService.calculateLocations(distances, xs, ys, 0, FIXES);
+        return xs;
+    }
+}
@@ -0,0 +1,85 @@
+package com.starwars.meli.benchmark;
+
+import com.starwars.meli.constellation.ConstellationProperties;
+import com.starwars.meli.constellation.ConstellationRegistry;
+import com.starwars.meli.model.RebelRequest;
+import com.starwars.meli.model.Satellite;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Generador de datos sintéticos para los benchmarks.
+ */
+final class BenchmarkData {
+
+    /**
+     * Posiciones de kenobi, skywalker y sato, iguales a las del servicio de ubicación.
+     */
+    static final double[][] SATELLITE_POSITIONS = {{-500, -200}, {100, -100}, {500, 100}};
+
+    static final String[] SATELLITE_NAMES = {"kenobi", "skywalker", "sato"};
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Crea un registro con la constelación por defecto (kenobi, skywalker y sato).
+     */
+    static ConstellationRegistry constellationRegistry() {
+        return new ConstellationRegistry(new ConstellationProperties());
+    }
+
+    /**
+     * Genera distancias desde emisores aleatorios a cada satélite.
+     *
+     * @param count Cantidad de emisores.
+     * @param noise Ruido máximo agregado a cada distancia (0 para distancias exactas).
+     * @param seed  Semilla del generador.
+     * @return Arreglo con las distancias de cada emisor.
+     */
+    static double[][] distances(int count, double noise, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        double[][] distances = new double[count][SATELLITE_POSITIONS.length];
+        for (int i = 0; i < count; i++) {
+            double x = random.nextDouble(-1000, 1000);
+            double y = random.nextDouble(-1000, 1000);
+            for (int s = 0; s < SATELLITE_POSITIONS.length; s++) {
+                double dx = x - SATELLITE_POSITIONS[s][0];
+                double dy = y - SATELLITE_POSITIONS[s][1];
+                double error = noise == 0 ? 0 : random.nextDouble(-noise, noise);
+                distances[i][s] = Math.sqrt(dx * dx + dy * dy) + error;
+            }
+        }
+        return distances;
+    }
+
+    /**
+     * Genera una solicitud topsecret con mensajes de la longitud indicada.
+     *
+     * @param distances Distancias del emisor a cada satélite.
+     * @param length    Cantidad de palabras del mensaje.
+     * @param random    Generador usado para repartir las palabras entre los satélites.
+     * @return La solicitud generada.
+     */
+    static RebelRequest request(double[] distances, int length, SplittableRandom random) {
+        List<Satellite> satellites = new ArrayList<>();
+        for (int s = 0; s < SATELLITE_NAMES.length; s++) {
+            Satellite satellite = new Satellite();
+            satellite.setName(SATELLITE_NAMES[s]);
+            satellite.setDistance(distances[s]);
+            satellite.setMessage(new String[length]);
+            satellites.add(satellite);
+        }
+        for (int i = 0; i < length; i++) {
+            int owner = random.nextInt(SATELLITE_NAMES.length);
+            for (int s = 0; s < SATELLITE_NAMES.length; s++) {
+                satellites.get(s).getMessage()[i] = s == owner || random.nextBoolean() ? "palabra" + (i % 50) : "";
+            }
+        }
+        RebelRequest request = new RebelRequest();
+        request.setSatellites(satellites);
+        return request;
+    }
+}
@@ -0,0 +1,85 @@
+package com.starwars.meli.benchmark;
+
+import com.starwars.meli.constellation.BatchPrecision;
+import com.starwars.meli.constellation.ConstellationRegistry;
+import com.starwars.meli.model.RebelRequest;
+import com.starwars.meli.model.RebelResponse;
+import com.starwars.meli.service.impl.LocationServiceImpl;
+import com.starwars.meli.service.impl.MessageAssemblerServiceImpl;
+import com.starwars.meli.service.impl.OptimizerProperties;
+import com.starwars.meli.service.impl.TopSecretServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Benchmark de una ráfaga de solicitudes idénticas: varios hilos procesan a la vez la misma intercepción mediante
+ * {@link TopSecretServiceImpl}, con y sin agrupación de solicitudes en curso. Con agrupación, cada cálculo atiende a
+ * todas las solicitudes idénticas que llegaron mientras se resolvía. {@link #distinctRequests} mide el costo de la
+ * agrupación cuando no hay duplicados.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class CoalescingBenchmark {
+
+    @Param({"false", "true"})
+    public boolean coalescing;
+
+    private static final int REQUESTS = 256;
+
+    private TopSecretServiceImpl topSecretService;
+    private RebelRequest request;
+    private RebelRequest[] distinct;
+
+    @Setup
+    public void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ConstellationRegistry constellationRegistry = BenchmarkData.constellationRegistry();
+        topSecretService = new TopSecretServiceImpl(new LocationServiceImpl(constellationRegistry, 0.01, 1.0, false, 3.0,
+                        BatchPrecision.SCALAR, new OptimizerProperties(), meterRegistry),
+                new MessageAssemblerServiceImpl(), constellationRegistry, meterRegistry, coalescing, false);
+        // Distancias ruidosas y un mensaje largo, para que cada cálculo pase por el optimizador y el ensamblaje.
+        SplittableRandom random = new SplittableRandom(42);
+        double[][] distances = BenchmarkData.distances(REQUESTS, 5, 42);
+        request = BenchmarkData.request(distances[0], 100, random);
+        distinct = new RebelRequest[REQUESTS];
+        for (int i = 0; i < REQUESTS; i++) {
+            distinct[i] = BenchmarkData.request(distances[i], 100, random);
+        }
+    }
+
+    /**
+     * Posición de cada hilo en el arreglo de solicitudes distintas. Cada hilo empieza en un tramo propio para que dos
+     * hilos no procesen la misma solicitud a la vez.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private static final AtomicInteger THREADS = new AtomicInteger();
+        int next;
+
+        @Setup
+        public void setUp() {
+            next = THREADS.getAndAdd(REQUESTS / 8) % REQUESTS;
+        }
+    }
+
+    @Benchmark
+    public RebelResponse duplicateStorm() {
+        return topSecretService.processTopSecretRequest(request);
+    }
+
+    @Benchmark
+    public RebelResponse distinctRequests(Cursor cursor) {
+        RebelRequest next = distinct[cursor.next];
+        cursor.next = (cursor.next + 1) % REQUESTS;
+        return topSecretService.processTopSecretRequest(next);
+    }
+}
@@ -0,0 +1,48 @@
+package com.starwars.meli.benchmark;
+
+import com.starwars.meli.constellation.BatchPrecision;
+import com.starwars.meli.model.Position;
+import com.starwars.meli.service.impl.LocationServiceImpl;
+import com.starwars.meli.service.impl.OptimizerProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de {@link LocationServiceImpl#calculateLocation(double[])} con distancias exactas, que se resuelven en
+ * forma cerrada, y con distancias ruidosas, que pasan por el optimizador Levenberg-Marquardt.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocationBenchmark {
+
+    private static final int FIXES = 1024;
+
+    /**
+     * Ruido máximo agregado a cada distancia.
+     */
+    @Param({"0", "5"})
+    public double noise;
+
+    private LocationServiceImpl locationService;
+    private double[][] distances;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        locationService = new LocationServiceImpl(BenchmarkData.constellationRegistry(), 0.01, 1.0, false, 3.0,
+                BatchPrecision.SCALAR, new OptimizerProperties(), new SimpleMeterRegistry());
+        distances = BenchmarkData.distances(FIXES, noise, 42);
+    }
+
+    @Benchmark
+    public Position calculateLocation() {
+        next = (next + 1) & (FIXES - 1);
+        return locationService.calculateLocation(distances[next]);
+    }
+}
@@ -0,0 +1,56 @@
+package com.starwars.meli.benchmark;
+
+import com.starwars.meli.service.impl.MessageAssemblerServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de {@link MessageAssemblerServiceImpl#assembleMessage(List)} para distintas longitudes de mensaje y
+ * densidades de huecos. El perfilador "gc" reporta la memoria reservada por llamada (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageAssemblerBenchmark {
+
+    /**
+     * Cantidad de palabras del mensaje completo.
+     */
+    @Param({"5", "100", "2000"})
+    public int length;
+
+    /**
+     * Probabilidad de que un satélite no haya recibido una palabra.
+     */
+    @Param({"0.3", "0.6"})
+    public double gapDensity;
+
+    private MessageAssemblerServiceImpl assembler;
+    private List<String[]> messages;
+
+    @Setup
+    public void setUp() {
+        assembler = new MessageAssemblerServiceImpl();
+        SplittableRandom random = new SplittableRandom(42);
+        String[][] fragments = new String[3][length];
+        for (int i = 0; i < length; i++) {
+            String word = "palabra" + (i % 50);
+            for (String[] fragment : fragments) {
+                fragment[i] = random.nextDouble() < gapDensity ? "" : word;
+            }
+        }
+        messages = Arrays.asList(fragments);
+    }
+
+    @Benchmark
+    public String assembleMessage() {
+        return assembler.assembleMessage(messages);
+    }
+}
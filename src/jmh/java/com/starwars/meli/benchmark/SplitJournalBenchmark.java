@@ -0,0 +1,59 @@
+package com.starwars.meli.benchmark;
+
+import com.starwars.meli.model.Satellite;
+import com.starwars.meli.persistence.SplitJournal;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de {@link SplitJournal#append(String, Satellite, long)}: el costo que agrega el diario a cada fragmento
+ * de topsecret_split, con sincronización en grupo asíncrona ({@code sync=false}) y esperando la sincronización
+ * ({@code sync=true}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SplitJournalBenchmark {
+
+    @Param({"false", "true"})
+    public boolean sync;
+
+    private Path directory;
+    private SplitJournal journal;
+    private Satellite satellite;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("split-journal");
+        journal = new SplitJournal(directory, DataSize.ofMegabytes(64), Duration.ofMillis(10), sync);
+        journal.open((transmissionId, fragment, timestamp) -> {
+        }, sink -> {
+        });
+        satellite = new Satellite();
+        satellite.setName("kenobi");
+        satellite.setDistance(100.0);
+        satellite.setMessage(new String[]{"este", "", "", "mensaje", ""});
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        journal.destroy();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void append() {
+        journal.append("transmission", satellite, System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,71 @@
+package com.starwars.meli.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.starwars.meli.constellation.BatchPrecision;
+import com.starwars.meli.constellation.ConstellationRegistry;
+import com.starwars.meli.model.RebelRequest;
+import com.starwars.meli.service.impl.LocationServiceImpl;
+import com.starwars.meli.service.impl.MessageAssemblerServiceImpl;
+import com.starwars.meli.service.impl.OptimizerProperties;
+import com.starwars.meli.service.impl.TopSecretServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark del procesamiento completo de una solicitud topsecret: lectura del JSON, validación, cálculo de la
+ * posición, ensamblaje del mensaje y escritura del JSON de respuesta mediante {@link TopSecretServiceImpl}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TopSecretEndToEndBenchmark {
+
+    private static final int REQUESTS = 256;
+
+    /**
+     * Cantidad de palabras de cada mensaje.
+     */
+    @Param({"5", "100"})
+    public int length;
+
+    /**
+     * Ruido máximo agregado a cada distancia.
+     */
+    @Param({"0", "5"})
+    public double noise;
+
+    private ObjectMapper objectMapper;
+    private TopSecretServiceImpl topSecretService;
+    private byte[][] requests;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = new ObjectMapper();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ConstellationRegistry constellationRegistry = BenchmarkData.constellationRegistry();
+        topSecretService = new TopSecretServiceImpl(new LocationServiceImpl(constellationRegistry, 0.01, 1.0, false, 3.0,
+                        BatchPrecision.SCALAR, new OptimizerProperties(), meterRegistry),
+                new MessageAssemblerServiceImpl(), constellationRegistry, meterRegistry, false, false);
+        double[][] distances = BenchmarkData.distances(REQUESTS, noise, 42);
+        SplittableRandom random = new SplittableRandom(42);
+        requests = new byte[REQUESTS][];
+        for (int i = 0; i < REQUESTS; i++) {
+            requests[i] = objectMapper.writeValueAsBytes(BenchmarkData.request(distances[i], length, random));
+        }
+    }
+
+    @Benchmark
+    public byte[] processTopSecretRequest() throws IOException {
+        next = (next + 1) & (REQUESTS - 1);
+        RebelRequest request = objectMapper.readValue(requests[next], RebelRequest.class);
+        return objectMapper.writeValueAsBytes(topSecretService.processTopSecretRequest(request));
+    }
+}
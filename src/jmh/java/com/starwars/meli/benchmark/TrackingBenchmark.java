@@ -0,0 +1,82 @@
+package com.starwars.meli.benchmark;
+
+import com.starwars.meli.constellation.BatchPrecision;
+import com.starwars.meli.model.LocationEstimate;
+import com.starwars.meli.model.RebelRequest;
+import com.starwars.meli.model.TrackEstimate;
+import com.starwars.meli.service.impl.LocationServiceImpl;
+import com.starwars.meli.service.impl.OptimizerProperties;
+import com.starwars.meli.service.impl.TrackingServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark del seguimiento de un emisor que se mueve en línea recta, con una medición por segundo y distancias
+ * ruidosas: cada medición
+ * resuelta desde cero frente a la misma medición incorporada a su seguimiento, donde el optimizador parte de la
+ * posición predicha.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TrackingBenchmark {
+
+    private static final int FIXES = 1024;
+
+    /**
+     * Ruido máximo agregado a cada distancia.
+     */
+    @Param({"5", "20"})
+    public double noise;
+
+    private LocationServiceImpl locationService;
+    private TrackingServiceImpl trackingService;
+    private double[][] distances;
+    private RebelRequest[] requests;
+    private int next;
+    private long timestamp;
+
+    @Setup
+    public void setUp() {
+        locationService = new LocationServiceImpl(BenchmarkData.constellationRegistry(), 0.01, 1.0, false, 3.0,
+                BatchPrecision.SCALAR, new OptimizerProperties(), new SimpleMeterRegistry());
+        trackingService = new TrackingServiceImpl(locationService, BenchmarkData.constellationRegistry(), 1.0, 100.0,
+                1.0, Duration.ofMinutes(10), 1000, new SimpleMeterRegistry());
+        SplittableRandom random = new SplittableRandom(42);
+        distances = new double[FIXES][BenchmarkData.SATELLITE_POSITIONS.length];
+        requests = new RebelRequest[FIXES];
+        for (int i = 0; i < FIXES; i++) {
+            // Recorrido de ida y vuelta, para que el emisor no salte al reiniciar el ciclo.
+            double t = i < FIXES / 2 ? i : FIXES - i;
+            double x = -300 + 0.5 * t;
+            double y = 200 - 0.25 * t;
+            for (int s = 0; s < BenchmarkData.SATELLITE_POSITIONS.length; s++) {
+                double dx = x - BenchmarkData.SATELLITE_POSITIONS[s][0];
+                double dy = y - BenchmarkData.SATELLITE_POSITIONS[s][1];
+                distances[i][s] = Math.sqrt(dx * dx + dy * dy) + random.nextDouble(-noise, noise);
+            }
+            requests[i] = BenchmarkData.request(distances[i], 5, random);
+        }
+    }
+
+    @Benchmark
+    public LocationEstimate estimateLocation() {
+        next = (next + 1) & (FIXES - 1);
+        return locationService.estimateLocation(distances[next], null);
+    }
+
+    @Benchmark
+    public TrackEstimate updateTrack() {
+        next = (next + 1) & (FIXES - 1);
+        // Una medición por segundo.
+        timestamp += 1000;
+        return trackingService.update("emisor", requests[next], timestamp);
+    }
+}
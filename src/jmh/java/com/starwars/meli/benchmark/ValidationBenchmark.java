@@ -0,0 +1,51 @@
+package com.starwars.meli.benchmark;
+
+import com.starwars.meli.constellation.Constellation;
+import com.starwars.meli.exception.TopsecretException;
+import com.starwars.meli.model.RebelRequest;
+import com.starwars.meli.validation.SatelliteReadings;
+import com.starwars.meli.validation.ValidationUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de {@link ValidationUtil#validateRebelRequest(RebelRequest, Constellation, SatelliteReadings)}, con
+ * una solicitud válida y con una que se rechaza por tener un satélite repetido.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private RebelRequest request;
+    private RebelRequest invalidRequest;
+    private Constellation constellation;
+    private final SatelliteReadings readings = new SatelliteReadings();
+
+    @Setup
+    public void setUp() {
+        constellation = BenchmarkData.constellationRegistry().current();
+        request = BenchmarkData.request(BenchmarkData.distances(1, 0, 42)[0], 5, new SplittableRandom(42));
+        invalidRequest = BenchmarkData.request(BenchmarkData.distances(1, 0, 42)[0], 5, new SplittableRandom(42));
+        invalidRequest.getSatellites().get(2).setName(invalidRequest.getSatellites().get(0).getName());
+    }
+
+    @Benchmark
+    public SatelliteReadings validateRebelRequest() {
+        return ValidationUtil.validateRebelRequest(request, constellation, readings);
+    }
+
+    @Benchmark
+    public Object rejectInvalidRequest() {
+        try {
+            return ValidationUtil.validateRebelRequest(invalidRequest, constellation, readings);
+        } catch (TopsecretException ex) {
+            return ex;
+        }
+    }
+}
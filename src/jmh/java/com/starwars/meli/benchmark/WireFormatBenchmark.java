@@ -0,0 +1,104 @@
+package com.starwars.meli.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.starwars.meli.constellation.BatchPrecision;
+import com.starwars.meli.codec.SatelliteFrame;
+import com.starwars.meli.codec.SatelliteFrameCodec;
+import com.starwars.meli.codec.WordDictionary;
+import com.starwars.meli.constellation.ConstellationRegistry;
+import com.starwars.meli.model.RebelRequest;
+import com.starwars.meli.model.RebelResponse;
+import com.starwars.meli.model.Satellite;
+import com.starwars.meli.service.impl.LocationServiceImpl;
+import com.starwars.meli.service.impl.MessageAssemblerServiceImpl;
+import com.starwars.meli.service.impl.OptimizerProperties;
+import com.starwars.meli.service.impl.TopSecretServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark del formato binario {@value SatelliteFrameCodec#MEDIA_TYPE} frente a JSON para la misma solicitud
+ * topsecret: solo la lectura del cuerpo y la lectura seguida del procesamiento.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    private static final int REQUESTS = 256;
+
+    /**
+     * Cantidad de palabras de cada mensaje.
+     */
+    @Param({"5", "100"})
+    public int length;
+
+    private ObjectMapper objectMapper;
+    private SatelliteFrameCodec codec;
+    private TopSecretServiceImpl topSecretService;
+    private byte[][] json;
+    private byte[][] binary;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = new ObjectMapper();
+        codec = new SatelliteFrameCodec(new WordDictionary(false, 0));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ConstellationRegistry constellationRegistry = BenchmarkData.constellationRegistry();
+        topSecretService = new TopSecretServiceImpl(new LocationServiceImpl(constellationRegistry, 0.01, 1.0, false, 3.0,
+                        BatchPrecision.SCALAR, new OptimizerProperties(), meterRegistry),
+                new MessageAssemblerServiceImpl(), constellationRegistry, meterRegistry, false, false);
+        double[][] distances = BenchmarkData.distances(REQUESTS, 0, 42);
+        SplittableRandom random = new SplittableRandom(42);
+        json = new byte[REQUESTS][];
+        binary = new byte[REQUESTS][];
+        for (int i = 0; i < REQUESTS; i++) {
+            RebelRequest request = BenchmarkData.request(distances[i], length, random);
+            json[i] = objectMapper.writeValueAsBytes(request);
+            List<Satellite> satellites = request.getSatellites();
+            int[] indexes = new int[satellites.size()];
+            double[] frameDistances = new double[satellites.size()];
+            String[][] messages = new String[satellites.size()][];
+            for (int s = 0; s < indexes.length; s++) {
+                indexes[s] = s;
+                frameDistances[s] = satellites.get(s).getDistance();
+                messages[s] = satellites.get(s).getMessage();
+            }
+            binary[i] = SatelliteFrameCodec.encode(indexes, frameDistances, null, messages);
+        }
+    }
+
+    @Benchmark
+    public RebelRequest decodeJson() throws IOException {
+        next = (next + 1) & (REQUESTS - 1);
+        return objectMapper.readValue(json[next], RebelRequest.class);
+    }
+
+    @Benchmark
+    public SatelliteFrame decodeBinary() {
+        next = (next + 1) & (REQUESTS - 1);
+        return codec.decode(ByteBuffer.wrap(binary[next]));
+    }
+
+    @Benchmark
+    public RebelResponse processJson() throws IOException {
+        next = (next + 1) & (REQUESTS - 1);
+        return topSecretService.processTopSecretRequest(objectMapper.readValue(json[next], RebelRequest.class));
+    }
+
+    @Benchmark
+    public RebelResponse processBinary() {
+        next = (next + 1) & (REQUESTS - 1);
+        return topSecretService.processTopSecretRequest(codec.decode(ByteBuffer.wrap(binary[next])));
+    }
+}
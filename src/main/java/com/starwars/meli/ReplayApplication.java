@@ -0,0 +1,25 @@
+package com.starwars.meli;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Punto de entrada para reproducir un archivo de intercepciones sin levantar el servidor web.
+ * <p>
+ * Usa la misma configuración que {@link MeliApplication} y activa {@code replay.enabled}; la reproducción la hace
+ * {@link com.starwars.meli.replay.ReplayRunner} y al terminar el proceso finaliza.
+ * </p>
+ */
+public class ReplayApplication {
+
+    public static void main(String[] args) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(MeliApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("replay.enabled=true")
+                .run(args);
+        System.exit(SpringApplication.exit(context));
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.starwars.meli.codec;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Satélites de una solicitud decodificados del formato binario, en arreglos primitivos paralelos.
+ * <p>
+ * La posición i de cada arreglo corresponde al i-ésimo satélite del frame, que no tiene por qué coincidir con su
+ * índice en la constelación ({@link #getSatellites()}).
+ * </p>
+ */
+@Getter
+@AllArgsConstructor
+public class SatelliteFrame {
+
+    /**
+     * Índice en la constelación de cada satélite.
+     */
+    private final int[] satellites;
+
+    /**
+     * Distancia medida por cada satélite.
+     */
+    private final double[] distances;
+
+    /**
+     * Varianza de cada distancia, o NaN si el satélite no la informa.
+     */
+    private final double[] variances;
+
+    /**
+     * Fragmento del mensaje recibido por cada satélite.
+     */
+    private final String[][] messages;
+
+    /**
+     * Cantidad de satélites del frame.
+     */
+    public int size() {
+        return satellites.length;
+    }
+}
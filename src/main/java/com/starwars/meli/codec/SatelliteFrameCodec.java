@@ -0,0 +1,226 @@
+package com.starwars.meli.codec;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Formato binario compacto para enviar los satélites de una solicitud.
+ * <p>
+ * Todos los enteros son varints sin signo (LEB128) y los números reales, float64 little-endian de ancho fijo:
+ * </p>
+ * <pre>
+ * frame     = versión:u8 palabras satélites
+ * palabras  = cantidad:varint (longitud:varint bytes-utf8)*
+ * satélites = cantidad:varint satélite*
+ * satélite  = índice:varint flags:u8 distancia:f64 [varianza:f64 si flags &amp; 1] mensaje
+ * mensaje   = longitud:varint (referencia:varint)*      referencia 0 = palabra vacía, k = palabras[k - 1]
+ * </pre>
+ * <p>
+ * Cada palabra distinta se envía una sola vez por frame y los satélites se identifican por su índice en la
+ * constelación. La decodificación lee directamente del {@link ByteBuffer}, con acceso absoluto y sin copias
+ * intermedias, hacia arreglos primitivos; las palabras se obtienen del {@link WordDictionary} cuando están
+ * registradas.
+ * </p>
+ */
+public final class SatelliteFrameCodec {
+
+    /**
+     * Tipo de contenido del formato binario.
+     */
+    public static final String MEDIA_TYPE = "application/vnd.quasar.frame";
+
+    /**
+     * Versión del formato que se escribe y se acepta.
+     */
+    public static final int VERSION = 1;
+
+    private static final int HAS_VARIANCE = 1;
+
+    private final WordDictionary dictionary;
+
+    public SatelliteFrameCodec(WordDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * Decodifica un frame desde la posición actual del búfer, dejándolo posicionado al final del frame.
+     *
+     * @param buffer Búfer con el frame.
+     * @return Los satélites decodificados.
+     * @throws IllegalArgumentException Si el frame está truncado o mal formado.
+     */
+    public SatelliteFrame decode(ByteBuffer buffer) {
+        ByteBuffer in = buffer.order() == ByteOrder.LITTLE_ENDIAN ? buffer : buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        int[] position = {in.position()};
+        int limit = in.limit();
+        if (position[0] >= limit || in.get(position[0]++) != VERSION) {
+            throw new IllegalArgumentException("Versión de frame no soportada");
+        }
+
+        // Cada elemento ocupa al menos un byte, lo que acota las cantidades antes de reservar los arreglos.
+        String[] words = new String[count(in, position, limit)];
+        char[] chars = new char[64];
+        for (int i = 0; i < words.length; i++) {
+            int length = count(in, position, limit);
+            int start = position[0];
+            if (chars.length < length) {
+                chars = new char[length];
+            }
+            words[i] = word(in, start, length, chars);
+            position[0] = start + length;
+        }
+
+        int size = count(in, position, limit);
+        int[] satellites = new int[size];
+        double[] distances = new double[size];
+        double[] variances = new double[size];
+        String[][] messages = new String[size][];
+        for (int s = 0; s < size; s++) {
+            satellites[s] = varint(in, position, limit);
+            require(position[0] + 1 + Double.BYTES <= limit);
+            int flags = in.get(position[0]++);
+            distances[s] = in.getDouble(position[0]);
+            position[0] += Double.BYTES;
+            if ((flags & HAS_VARIANCE) != 0) {
+                require(position[0] + Double.BYTES <= limit);
+                variances[s] = in.getDouble(position[0]);
+                position[0] += Double.BYTES;
+            } else {
+                variances[s] = Double.NaN;
+            }
+            String[] message = new String[count(in, position, limit)];
+            for (int w = 0; w < message.length; w++) {
+                int reference = varint(in, position, limit);
+                require(reference <= words.length);
+                message[w] = reference == 0 ? "" : words[reference - 1];
+            }
+            messages[s] = message;
+        }
+        buffer.position(position[0]);
+        return new SatelliteFrame(satellites, distances, variances, messages);
+    }
+
+    /**
+     * Codifica los satélites de una solicitud en un frame.
+     *
+     * @param satellites Índice en la constelación de cada satélite.
+     * @param distances  Distancia medida por cada satélite.
+     * @param variances  Varianza de cada distancia (NaN si no se informa), o null si ninguno la informa.
+     * @param messages   Fragmento del mensaje de cada satélite.
+     * @return El frame codificado.
+     */
+    public static byte[] encode(int[] satellites, double[] distances, double[] variances, String[][] messages) {
+        Map<String, Integer> references = new HashMap<>();
+        ByteBuffer body = ByteBuffer.allocate(64).order(ByteOrder.LITTLE_ENDIAN);
+        body = putVarint(body, satellites.length);
+        for (int s = 0; s < satellites.length; s++) {
+            boolean hasVariance = variances != null && !Double.isNaN(variances[s]);
+            body = putVarint(body, satellites[s]);
+            body = ensure(body, 1 + 2 * Double.BYTES);
+            body.put((byte) (hasVariance ? HAS_VARIANCE : 0));
+            body.putDouble(distances[s]);
+            if (hasVariance) {
+                body.putDouble(variances[s]);
+            }
+            body = putVarint(body, messages[s].length);
+            for (String word : messages[s]) {
+                int reference = word == null || word.isEmpty() ? 0
+                        : references.computeIfAbsent(word, w -> references.size() + 1);
+                body = putVarint(body, reference);
+            }
+        }
+
+        String[] words = new String[references.size()];
+        references.forEach((word, reference) -> words[reference - 1] = word);
+        ByteBuffer frame = ByteBuffer.allocate(body.position() + 16).order(ByteOrder.LITTLE_ENDIAN);
+        frame.put((byte) VERSION);
+        frame = putVarint(frame, words.length);
+        for (String word : words) {
+            byte[] bytes = word.getBytes(StandardCharsets.UTF_8);
+            frame = putVarint(frame, bytes.length);
+            frame = ensure(frame, bytes.length);
+            frame.put(bytes);
+        }
+        frame = ensure(frame, body.position());
+        frame.put(body.flip());
+        return Arrays.copyOf(frame.array(), frame.position());
+    }
+
+    /**
+     * Escribe un varint sin signo, ampliando el búfer si hace falta.
+     *
+     * @return El búfer donde quedó escrito, que puede ser uno nuevo.
+     */
+    public static ByteBuffer putVarint(ByteBuffer buffer, int value) {
+        buffer = ensure(buffer, 5);
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+        return buffer;
+    }
+
+    /**
+     * Lee un varint sin signo en la posición indicada y la avanza.
+     *
+     * @throws IllegalArgumentException Si el varint está truncado o no cabe en un int.
+     */
+    public static int varint(ByteBuffer buffer, int[] position, int limit) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            require(position[0] < limit);
+            byte b = buffer.get(position[0]++);
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                require(value >= 0);
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Varint inválido");
+    }
+
+    /**
+     * Lee una cantidad o longitud, que no puede superar los bytes restantes.
+     */
+    private static int count(ByteBuffer buffer, int[] position, int limit) {
+        int count = varint(buffer, position, limit);
+        require(count <= limit - position[0]);
+        return count;
+    }
+
+    /**
+     * Decodifica una palabra. Las palabras ASCII se pasan por el diccionario sin crear una cadena intermedia.
+     */
+    private String word(ByteBuffer buffer, int start, int length, char[] chars) {
+        for (int i = 0; i < length; i++) {
+            byte b = buffer.get(start + i);
+            if (b < 0) {
+                byte[] bytes = new byte[length];
+                buffer.get(start, bytes);
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+            chars[i] = (char) b;
+        }
+        return dictionary.word(chars, 0, length);
+    }
+
+    private static ByteBuffer ensure(ByteBuffer buffer, int bytes) {
+        if (buffer.remaining() >= bytes) {
+            return buffer;
+        }
+        ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes))
+                .order(buffer.order());
+        return larger.put(buffer.flip());
+    }
+
+    private static void require(boolean condition) {
+        if (!condition) {
+            throw new IllegalArgumentException("Frame truncado o mal formado");
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.starwars.meli.codec;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Convertidor que lee y escribe cuerpos {@value SatelliteFrameCodec#MEDIA_TYPE} como {@link SatelliteFrame}.
+ * <p>
+ * Spring Boot lo registra junto a los convertidores JSON, que siguen siendo los predeterminados. El cuerpo se lee
+ * una sola vez en un arreglo y se decodifica sobre él; al escribir, el frame se codifica con
+ * {@link SatelliteFrameCodec#encode}.
+ * </p>
+ */
+@Component
+public class SatelliteFrameHttpMessageConverter extends AbstractHttpMessageConverter<SatelliteFrame> {
+
+    private final SatelliteFrameCodec codec;
+
+    public SatelliteFrameHttpMessageConverter(WordDictionary dictionary) {
+        super(MediaType.parseMediaType(SatelliteFrameCodec.MEDIA_TYPE));
+        this.codec = new SatelliteFrameCodec(dictionary);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return SatelliteFrame.class == clazz;
+    }
+
+    @Override
+    protected SatelliteFrame readInternal(Class<? extends SatelliteFrame> clazz, HttpInputMessage inputMessage)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(inputMessage.getBody().readAllBytes());
+        try {
+            SatelliteFrame frame = codec.decode(buffer);
+            if (buffer.hasRemaining()) {
+                throw new IllegalArgumentException("Datos sobrantes después del frame");
+            }
+            return frame;
+        } catch (IllegalArgumentException ex) {
+            throw new HttpMessageNotReadableException(ex.getMessage(), ex, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(SatelliteFrame frame, HttpOutputMessage outputMessage) throws IOException {
+        byte[] body = SatelliteFrameCodec.encode(frame.getSatellites(), frame.getDistances(), frame.getVariances(),
+                frame.getMessages());
+        outputMessage.getHeaders().setContentLength(body.length);
+        outputMessage.getBody().write(body);
+    }
+}
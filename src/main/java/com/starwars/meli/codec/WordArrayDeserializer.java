@@ -0,0 +1,62 @@
+package com.starwars.meli.codec;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Deserializador de los fragmentos de mensaje que obtiene cada palabra a través del {@link WordDictionary}.
+ * <p>
+ * Lee las palabras directamente del búfer de caracteres del parser, de modo que las palabras ya registradas en
+ * el diccionario no crean una cadena nueva. Sin diccionario se comporta como el deserializador de {@code String[]}
+ * por defecto.
+ * </p>
+ */
+public class WordArrayDeserializer extends StdDeserializer<String[]> {
+
+    private final transient WordDictionary dictionary;
+
+    public WordArrayDeserializer() {
+        this(null);
+    }
+
+    @Autowired
+    public WordArrayDeserializer(WordDictionary dictionary) {
+        super(String[].class);
+        this.dictionary = dictionary;
+    }
+
+    @Override
+    public String[] deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        if (!parser.isExpectedStartArrayToken()) {
+            return (String[]) context.handleUnexpectedToken(String[].class, parser);
+        }
+        String[] words = new String[8];
+        int count = 0;
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            String word;
+            if (token == JsonToken.VALUE_STRING) {
+                word = dictionary == null
+                        ? parser.getText()
+                        : dictionary.word(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+            } else if (token == JsonToken.VALUE_NULL) {
+                word = null;
+            } else if (token.isScalarValue()) {
+                word = parser.getValueAsString();
+            } else {
+                word = (String) context.handleUnexpectedToken(String.class, parser);
+            }
+            if (count == words.length) {
+                words = Arrays.copyOf(words, count * 2);
+            }
+            words[count++] = word;
+        }
+        return count == words.length ? words : Arrays.copyOf(words, count);
+    }
+}
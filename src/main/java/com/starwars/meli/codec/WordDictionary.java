@@ -0,0 +1,101 @@
+package com.starwars.meli.codec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Diccionario de palabras de los mensajes.
+ * <p>
+ * Permite obtener una instancia canónica de cada palabra directamente desde el búfer de caracteres del parser,
+ * sin crear una cadena nueva cuando la palabra ya está registrada. Así, las palabras frecuentes de los mensajes
+ * largos no generan basura en cada solicitud y los fragmentos retenidos comparten las mismas instancias.
+ * </p>
+ * <p>
+ * Las primeras palabras distintas se registran hasta alcanzar el tamaño máximo configurado; a partir de ahí el
+ * diccionario solo se consulta. Es seguro para uso concurrente y no usa bloqueos.
+ * </p>
+ */
+@Component
+public class WordDictionary {
+
+    /**
+     * Longitud máxima de las palabras que se registran; las más largas rara vez se repiten.
+     */
+    private static final int MAX_WORD_LENGTH = 32;
+
+    private final boolean enabled;
+    private final int maxSize;
+    private final AtomicReferenceArray<String> table;
+    private final int mask;
+    private final AtomicInteger size = new AtomicInteger();
+
+    public WordDictionary(@Value("${message.dictionary.enabled:false}") boolean enabled,
+                          @Value("${message.dictionary.max-size:65536}") int maxSize) {
+        this.enabled = enabled;
+        this.maxSize = maxSize;
+        // La tabla se mantiene como máximo medio llena para que las búsquedas terminen en pocas posiciones.
+        int capacity = Integer.highestOneBit(Math.max(maxSize, 1) * 2 - 1) << 1;
+        this.table = new AtomicReferenceArray<>(enabled ? capacity : 1);
+        this.mask = table.length() - 1;
+    }
+
+    /**
+     * Obtiene la palabra formada por los caracteres indicados.
+     *
+     * @param chars  Búfer de caracteres.
+     * @param offset Posición inicial de la palabra en el búfer.
+     * @param length Longitud de la palabra.
+     * @return La instancia canónica de la palabra si está en el diccionario, o una cadena nueva en caso contrario.
+     */
+    public String word(char[] chars, int offset, int length) {
+        if (!enabled || length > MAX_WORD_LENGTH) {
+            return new String(chars, offset, length);
+        }
+        int hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + chars[offset + i];
+        }
+        for (int slot = (hash ^ (hash >>> 16)) & mask; ; slot = (slot + 1) & mask) {
+            String word = table.get(slot);
+            if (word == null) {
+                String created = new String(chars, offset, length);
+                if (size.get() >= maxSize) {
+                    return created;
+                }
+                if (table.compareAndSet(slot, null, created)) {
+                    size.incrementAndGet();
+                    return created;
+                }
+                // Otro hilo ocupó la posición; se compara con la palabra que registró.
+                word = table.get(slot);
+            }
+            if (matches(word, chars, offset, length)) {
+                return word;
+            }
+        }
+    }
+
+    /**
+     * Cantidad de palabras registradas.
+     *
+     * @return El tamaño actual del diccionario.
+     */
+    public int size() {
+        return size.get();
+    }
+
+    private static boolean matches(String word, char[] chars, int offset, int length) {
+        if (word.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (word.charAt(i) != chars[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,18 @@
+package com.starwars.meli.config;
+
+import com.starwars.meli.constellation.ConstellationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuración de la constelación de satélites.
+ * <p>
+ * Habilita las propiedades {@code constellation.*} y la tarea programada que recarga el archivo de la constelación.
+ * </p>
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(ConstellationProperties.class)
+public class ConstellationConfig {
+}
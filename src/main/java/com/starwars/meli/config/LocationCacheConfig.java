@@ -0,0 +1,34 @@
+package com.starwars.meli.config;
+
+import com.starwars.meli.constellation.ConstellationRegistry;
+import com.starwars.meli.service.impl.CachingLocationService;
+import com.starwars.meli.service.impl.LocationServiceImpl;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Configuración de la caché de posiciones.
+ * <p>
+ * Cuando la propiedad {@code location.cache.enabled} está activa, registra un {@link CachingLocationService}
+ * como servicio de ubicación principal, delante de {@link LocationServiceImpl}. La caché se vacía cada vez que
+ * cambia la constelación.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "location.cache.enabled", havingValue = "true")
+public class LocationCacheConfig {
+
+    @Bean
+    @Primary
+    public CachingLocationService cachingLocationService(LocationServiceImpl locationService,
+                                                         ConstellationRegistry constellationRegistry,
+                                                         @Value("${location.cache.precision:0.001}") double precision,
+                                                         @Value("${location.cache.max-size:100000}") long maxSize) {
+        CachingLocationService cachingLocationService = new CachingLocationService(locationService, precision, maxSize);
+        constellationRegistry.addChangeListener(cachingLocationService::invalidateAll);
+        return cachingLocationService;
+    }
+}
@@ -0,0 +1,16 @@
+package com.starwars.meli.config;
+
+import com.starwars.meli.service.impl.OptimizerProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración del optimizador del cálculo de la ubicación.
+ * <p>
+ * Habilita las propiedades {@code location.optimizer.*}.
+ * </p>
+ */
+@Configuration
+@EnableConfigurationProperties(OptimizerProperties.class)
+public class OptimizerConfig {
+}
@@ -0,0 +1,118 @@
+package com.starwars.meli.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.starwars.meli.controller.ErrorResponses;
+import com.starwars.meli.controller.TopSecretReactiveHandler;
+import com.starwars.meli.service.ITopSecretService;
+import com.starwars.meli.service.ITopSecretSplitService;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * Configuración de la variante reactiva de la API.
+ * <p>
+ * Con {@code reactive.enabled=true} levanta, junto al Tomcat de los controladores MVC, un servidor Netty en
+ * {@code reactive.server.port} que atiende /topsecret y /topsecret_split con las rutas funcionales de
+ * {@link TopSecretReactiveHandler}. Ambos servidores comparten los mismos servicios, así que las transmisiones de
+ * topsecret_split son las mismas en los dos puertos.
+ * </p>
+ * <p>
+ * La resolución se ejecuta en un scheduler paralelo de {@code reactive.solver.parallelism} hilos (0 = uno por núcleo),
+ * separado de los hilos de E/S de Netty.
+ * </p>
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "reactive.enabled", havingValue = "true")
+public class ReactiveServerConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler reactiveSolverScheduler(@Value("${reactive.solver.parallelism:0}") int parallelism) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        return Schedulers.newParallel("topsecret-solver", threads);
+    }
+
+    @Bean
+    public TopSecretReactiveHandler topSecretReactiveHandler(ITopSecretService topSecretService,
+                                                             ITopSecretSplitService topSecretSplitService,
+                                                             ErrorResponses errorResponses,
+                                                             ObjectMapper objectMapper,
+                                                             Validator validator,
+                                                             Scheduler reactiveSolverScheduler,
+                                                             @Value("${reactive.stream.concurrency:0}") int concurrency) {
+        int streamConcurrency = concurrency > 0 ? concurrency : Runtime.getRuntime().availableProcessors();
+        return new TopSecretReactiveHandler(topSecretService, topSecretSplitService, errorResponses, objectMapper,
+                validator, reactiveSolverScheduler, streamConcurrency);
+    }
+
+    @Bean
+    public SmartLifecycle reactiveServer(TopSecretReactiveHandler handler, ObjectMapper objectMapper,
+                                         @Value("${reactive.server.port:8081}") int port,
+                                         @Value("${reactive.max-in-memory-size:256KB}") DataSize maxInMemorySize) {
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                    // Límite de cada cuerpo, o de cada línea en los flujos NDJSON (decodificados como texto), acumulado en
+                    // memoria.
+                    codecs.defaultCodecs().maxInMemorySize((int) maxInMemorySize.toBytes());
+                })
+                .build();
+        HttpHandler httpHandler = RouterFunctions.toHttpHandler(handler.routes(), strategies);
+        return new NettyServerLifecycle(httpHandler, port);
+    }
+
+    /**
+     * Inicia el servidor Netty junto con el contexto y lo detiene antes de que se destruyan los servicios.
+     */
+    private static final class NettyServerLifecycle implements SmartLifecycle {
+
+        private final HttpHandler httpHandler;
+        private final int port;
+        private volatile DisposableServer server;
+
+        private NettyServerLifecycle(HttpHandler httpHandler, int port) {
+            this.httpHandler = httpHandler;
+            this.port = port;
+        }
+
+        @Override
+        public void start() {
+            server = HttpServer.create()
+                    .port(port)
+                    .handle(new ReactorHttpHandlerAdapter(httpHandler))
+                    .bindNow();
+            log.info("Servidor reactivo de topsecret iniciado en el puerto {}", server.port());
+        }
+
+        @Override
+        public void stop() {
+            DisposableServer current = server;
+            if (current != null) {
+                current.disposeNow();
+                server = null;
+            }
+        }
+
+        @Override
+        public boolean isRunning() {
+            return server != null;
+        }
+    }
+}
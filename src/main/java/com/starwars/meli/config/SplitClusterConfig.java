@@ -0,0 +1,53 @@
+package com.starwars.meli.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.starwars.meli.service.impl.LocalSplitFragmentStore;
+import com.starwars.meli.service.impl.ShardedSplitFragmentStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Configuración del almacenamiento de topsecret_split repartido entre varios nodos.
+ * <p>
+ * Cuando la propiedad {@code split.cluster.enabled} está activa, registra un {@link ShardedSplitFragmentStore}
+ * como almacenamiento principal, delante de {@link LocalSplitFragmentStore}, que sigue guardando las transmisiones
+ * de las que este nodo es dueño. Los nodos se identifican por su URL base; si no se indica
+ * {@code split.cluster.self}, este nodo es {@code http://localhost:<server.port>}, lo que permite levantar varias
+ * instancias en una misma máquina con solo cambiar el puerto.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "split.cluster.enabled", havingValue = "true")
+public class SplitClusterConfig {
+
+    @Bean
+    @Primary
+    public ShardedSplitFragmentStore shardedSplitFragmentStore(LocalSplitFragmentStore localSplitFragmentStore,
+                                                               ObjectMapper objectMapper,
+                                                               MeterRegistry meterRegistry,
+                                                               @Value("${split.cluster.nodes}") String[] nodes,
+                                                               @Value("${split.cluster.self:http://localhost:${server.port:8080}}") String self,
+                                                               @Value("${split.cluster.virtual-nodes:128}") int virtualNodes,
+                                                               @Value("${split.cluster.max-batch:256}") int maxBatch,
+                                                               @Value("${split.cluster.timeout:2s}") Duration timeout) {
+        List<String> normalized = Arrays.stream(nodes).map(SplitClusterConfig::normalize).toList();
+        return new ShardedSplitFragmentStore(normalize(self), normalized, virtualNodes, localSplitFragmentStore,
+                objectMapper, timeout, maxBatch, meterRegistry);
+    }
+
+    /**
+     * Quita los espacios y la barra final de la URL de un nodo, para que todos los nodos la escriban igual.
+     */
+    private static String normalize(String node) {
+        String trimmed = node.trim();
+        return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+}
@@ -1,5 +1,6 @@
 package com.starwars.meli.config;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import io.swagger.v3.oas.models.OpenAPI;
@@ -11,8 +12,12 @@ import io.swagger.v3.oas.models.info.Info;
  * Esta clase define un bean de OpenAPI que contiene la información básica de la API,
  * como el título, versión y descripción, que se mostrará en la interfaz de Swagger UI.
  * </p>
+ * <p>
+ * No se registra cuando {@code springdoc.api-docs.enabled=false}, como en el perfil {@code prod}.
+ * </p>
  */
 @Configuration
+@ConditionalOnProperty(name = "springdoc.api-docs.enabled", havingValue = "true", matchIfMissing = true)
 public class SwaggerConfig {
     @Bean
     public OpenAPI customOpenAPI() {
@@ -0,0 +1,169 @@
+package com.starwars.meli.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.starwars.meli.constellation.Constellation;
+import com.starwars.meli.constellation.ConstellationRegistry;
+import com.starwars.meli.exception.TopsecretException;
+import com.starwars.meli.model.RebelRequest;
+import com.starwars.meli.model.RebelResponse;
+import com.starwars.meli.model.Satellite;
+import com.starwars.meli.service.ITopSecretService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Calentamiento al iniciar la aplicación.
+ * <p>
+ * Cuando la propiedad {@code warmup.enabled} está activa, resuelve {@code warmup.iterations} solicitudes sintéticas
+ * de principio a fin (JSON de entrada, validación, trilateración, ensamblaje del mensaje y JSON de salida) antes de
+ * que la aplicación se declare lista. Así la carga de clases y la inicialización de esas rutas ocurren al arrancar y
+ * no en la primera petición real. Luego envía {@code warmup.http-requests} solicitudes a POST /topsecret/ por la
+ * interfaz local, para inicializar también la cadena de Tomcat y Spring MVC (conversores, validación y controlador).
+ * </p>
+ * <p>
+ * Lo que más encarece la primera petición es la carga de clases, que basta con unas pocas solicitudes; la
+ * compilación JIT completa necesitaría miles y retrasaría el arranque varios segundos. Por eso el calentamiento se
+ * detiene además al agotar {@code warmup.max-duration}, aunque no haya completado las solicitudes indicadas. Las
+ * solicitudes por HTTP usan {@link HttpURLConnection}: el cliente de {@code java.net.http} tarda por sí solo cerca de
+ * un segundo en cargarse con una vCPU, más de lo que ahorra.
+ * </p>
+ * <p>
+ * Las solicitudes se generan a partir de la constelación vigente, con un emisor en una posición distinta en cada
+ * iteración y distancias con un error pequeño para ejercitar también el optimizador. Quedan registradas en las
+ * métricas de etapas como cualquier otra solicitud.
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "warmup.enabled", havingValue = "true")
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final String[] WORDS = {"este", "es", "un", "mensaje", "secreto"};
+
+    /**
+     * Tiempo de espera mínimo de la primera solicitud HTTP, que se envía aunque el plazo total se haya agotado.
+     */
+    private static final Duration MIN_HTTP_TIMEOUT = Duration.ofMillis(500);
+
+    private final ITopSecretService topSecretService;
+    private final ConstellationRegistry constellationRegistry;
+    private final ObjectMapper objectMapper;
+    private final Environment environment;
+    private final int iterations;
+    private final int httpRequests;
+    private final Duration maxDuration;
+
+    public WarmupRunner(ITopSecretService topSecretService,
+                        ConstellationRegistry constellationRegistry,
+                        ObjectMapper objectMapper,
+                        Environment environment,
+                        @Value("${warmup.iterations:20}") int iterations,
+                        @Value("${warmup.http-requests:2}") int httpRequests,
+                        @Value("${warmup.max-duration:1s}") Duration maxDuration) {
+        this.topSecretService = topSecretService;
+        this.constellationRegistry = constellationRegistry;
+        this.objectMapper = objectMapper;
+        this.environment = environment;
+        this.iterations = iterations;
+        this.httpRequests = httpRequests;
+        this.maxDuration = maxDuration;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        long start = System.nanoTime();
+        long deadline = start + maxDuration.toNanos();
+        Random random = new Random(42);
+        int completed = 0;
+        // Cada etapa resuelve al menos una solicitud aunque el plazo se haya agotado: es la que carga sus clases.
+        for (; completed < iterations && (completed == 0 || System.nanoTime() < deadline); completed++) {
+            byte[] json = objectMapper.writeValueAsBytes(syntheticRequest(constellationRegistry.current(), random));
+            try {
+                RebelResponse response = topSecretService.processTopSecretRequest(
+                        objectMapper.readValue(json, RebelRequest.class));
+                objectMapper.writeValueAsBytes(response);
+            } catch (TopsecretException ex) {
+                // Una constelación degenerada puede rechazar alguna solicitud sintética; el calentamiento sigue.
+            }
+        }
+        String port = environment.getProperty("local.server.port");
+        if (httpRequests > 0 && port != null) {
+            completed += warmHttp(URI.create("http://localhost:" + port + "/topsecret/"), random, deadline);
+        }
+        log.info("Calentamiento completado: {} solicitudes en {} ms", completed,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Envía las solicitudes sintéticas por HTTP hasta completarlas o agotar el plazo. Cada solicitud espera a lo
+     * sumo el tiempo que queda hasta el plazo, para que una respuesta demorada no retrase la disponibilidad. Un
+     * fallo, incluido el vencimiento de ese tiempo, se registra y no impide que la aplicación quede lista.
+     *
+     * @return La cantidad de solicitudes enviadas.
+     */
+    private int warmHttp(URI uri, Random random, long deadline) throws Exception {
+        int sent = 0;
+        try {
+            for (; sent < httpRequests && (sent == 0 || System.nanoTime() < deadline); sent++) {
+                byte[] json = objectMapper.writeValueAsBytes(syntheticRequest(constellationRegistry.current(), random));
+                long minimum = sent == 0 ? MIN_HTTP_TIMEOUT.toNanos() : 1_000_000;
+                int timeout = (int) Math.max((deadline - System.nanoTime()) / 1_000_000, minimum / 1_000_000);
+                HttpURLConnection connection = (HttpURLConnection) uri.toURL().openConnection();
+                connection.setConnectTimeout(timeout);
+                connection.setReadTimeout(timeout);
+                connection.setDoOutput(true);
+                connection.setRequestMethod("POST");
+                connection.setRequestProperty("Content-Type", "application/json");
+                connection.setFixedLengthStreamingMode(json.length);
+                try (OutputStream body = connection.getOutputStream()) {
+                    body.write(json);
+                }
+                try (InputStream response = connection.getInputStream()) {
+                    response.transferTo(OutputStream.nullOutputStream());
+                }
+            }
+        } catch (IOException ex) {
+            log.warn("No se pudo completar el calentamiento por HTTP en {}: {}", uri, ex.getMessage());
+        }
+        return sent;
+    }
+
+    /**
+     * Arma una solicitud con un emisor aleatorio cerca de la constelación y el mensaje repartido entre sus satélites.
+     */
+    private static RebelRequest syntheticRequest(Constellation constellation, Random random) {
+        double x = random.nextDouble(-400, 400);
+        double y = random.nextDouble(-400, 400);
+        double[][] positions = constellation.positions();
+        List<Satellite> satellites = new ArrayList<>(constellation.size());
+        for (int i = 0; i < constellation.size(); i++) {
+            String[] message = new String[WORDS.length];
+            for (int w = 0; w < WORDS.length; w++) {
+                message[w] = w % constellation.size() == i ? WORDS[w] : "";
+            }
+            Satellite satellite = new Satellite();
+            satellite.setName(constellation.name(i));
+            satellite.setDistance(Math.hypot(positions[i][0] - x, positions[i][1] - y) + random.nextGaussian() * 0.5);
+            satellite.setMessage(message);
+            satellites.add(satellite);
+        }
+        RebelRequest request = new RebelRequest();
+        request.setSatellites(satellites);
+        return request;
+    }
+}
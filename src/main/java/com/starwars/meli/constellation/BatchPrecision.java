@@ -0,0 +1,59 @@
+package com.starwars.meli.constellation;
+
+/**
+ * Vía de resolución del sistema linealizado en los lotes de emisores ({@code location.batch.precision}).
+ * <p>
+ * Las vías vectorizadas usan la API incubadora {@code jdk.incubator.vector}, que la JVM solo carga con
+ * {@code --add-modules jdk.incubator.vector}; sin ese módulo los lotes se resuelven en forma escalar. Su
+ * implementación, VectorLinearSolver, se compila aparte (src/vector/java) para que el resto del código no dependa del
+ * módulo incubador, y se carga por nombre.
+ * </p>
+ */
+public enum BatchPrecision {
+
+    /**
+     * Un emisor por vez, en doble precisión.
+     */
+    SCALAR,
+
+    /**
+     * Varios emisores por instrucción en carriles de doble precisión: el resultado coincide con la vía escalar salvo
+     * por el redondeo.
+     */
+    DOUBLE,
+
+    /**
+     * Varios emisores por instrucción en carriles de precisión simple: el doble de carriles que {@link #DOUBLE} a
+     * cambio de un error del orden de 1e-6 veces la escala de las coordenadas.
+     */
+    FLOAT;
+
+    private static final String VECTOR_SOLVER = "com.starwars.meli.constellation.VectorLinearSolver";
+
+    /**
+     * Indica si esta vía puede usarse en la JVM actual. Solo consulta la capa de módulos y el classpath, sin cargar
+     * las clases de la API vectorial.
+     */
+    public boolean isSupported() {
+        return this == SCALAR || ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+                && BatchPrecision.class.getResource("VectorLinearSolver.class") != null;
+    }
+
+    /**
+     * Devuelve la resolución vectorizada de esta vía.
+     *
+     * @throws IllegalStateException Si la vía es {@link #SCALAR}, que se resuelve emisor por emisor, o si no está
+     *                               disponible en la JVM actual.
+     */
+    public LinearBatchSolver solver() {
+        if (this == SCALAR) {
+            throw new IllegalStateException("La vía escalar no tiene resolución vectorizada");
+        }
+        try {
+            return (LinearBatchSolver) Class.forName(VECTOR_SOLVER).getField(name()).get(null);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            throw new IllegalStateException("La vía " + name().toLowerCase() + " requiere --add-modules "
+                    + "jdk.incubator.vector", e);
+        }
+    }
+}
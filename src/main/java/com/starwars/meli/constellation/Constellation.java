@@ -0,0 +1,510 @@
+package com.starwars.meli.constellation;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Constelación de satélites con su geometría precalculada.
+ * <p>
+ * Es inmutable: se construye una vez al cargar la configuración y se reemplaza completa cuando esta cambia. Los
+ * satélites se identifican por su índice; el nombre solo se usa al validar las solicitudes.
+ * </p>
+ * <p>
+ * Restando la ecuación del primer satélite a las de los demás se obtiene el sistema lineal A * [x, y] = b, con
+ * A_i = 2 * (p_i - p_0) y b_i = r_0^2 - r_i^2 + |p_i|^2 - |p_0|^2. Como A solo depende de las posiciones, su
+ * pseudo-inversa (A^T A)^-1 A^T y los términos |p_i|^2 - |p_0|^2 se calculan aquí, y cada solicitud solo requiere
+ * O(N) operaciones aritméticas.
+ * </p>
+ * <p>
+ * Para la variante ponderada, en la que los satélites tienen distinta varianza o se descartan algunos, no hay un
+ * satélite de referencia fijo: se usa la forma equivalente -2 x_i x - 2 y_i y + R = r_i^2 - |p_i|^2 con
+ * R = x^2 + y^2, cuyas filas a_i = [-2 x_i, -2 y_i, 1] tampoco dependen de la solicitud. Los productos a_i a_i^T se
+ * precalculan, así que armar las ecuaciones normales ponderadas cuesta O(N) y resolverlas, un sistema 3x3.
+ * </p>
+ * <p>
+ * En constelaciones de más de unos pocos satélites, los nombres se resuelven con un hash perfecto sin distinción de
+ * mayúsculas y minúsculas, calculado al construir la constelación: cada nombre ocupa una posición distinta de la
+ * tabla, así que la búsqueda es un cálculo de hash sobre el nombre recibido, sin crear cadenas, y una única
+ * comparación.
+ * </p>
+ */
+public final class Constellation {
+
+    /**
+     * Intentos de semilla por tamaño de tabla antes de duplicarla al construir el hash perfecto.
+     */
+    private static final int SEED_ATTEMPTS = 1024;
+
+    /**
+     * Cantidad de satélites hasta la cual los nombres se buscan recorriéndolos: con pocos nombres la comparación
+     * directa, que descarta al primer carácter distinto, es más barata que calcular el hash del nombre recibido.
+     */
+    private static final int LINEAR_SEARCH_MAX = 8;
+
+    private final String[] names;
+    private final double[][] positions;
+    private final double[] xs;
+    private final double[] ys;
+
+    /*
+     * Filas de la pseudo-inversa del sistema linealizado y términos constantes de b, indexados por i - 1.
+     */
+    private final double[] pseudoInverseX;
+    private final double[] pseudoInverseY;
+    private final double[] offsets;
+
+    /*
+     * Términos precalculados de la forma sin referencia: |p_i|^2 y los productos a_i a_i^T distintos de 1.
+     */
+    private final double[] norms;
+    private final double[] xx;
+    private final double[] xy;
+    private final double[] yy;
+
+    /*
+     * Distancia entre cada par de satélites i < j, por filas: (0, 1), (0, 2), ..., (1, 2), ...
+     */
+    private final double[] separations;
+
+    /*
+     * Hash perfecto de los nombres: posición de la tabla -> índice del satélite, o -1. Es null si la constelación
+     * es pequeña o no se encontró una semilla sin colisiones, en cuyo caso los nombres se buscan recorriéndolos.
+     */
+    private final int[] nameTable;
+    private final int nameSeed;
+    private final int nameShift;
+
+    /**
+     * Crea la constelación a partir de sus satélites.
+     *
+     * @param satellites Satélites en el orden de sus índices.
+     * @throws IllegalArgumentException Si hay menos de tres satélites, nombres repetidos o posiciones colineales.
+     */
+    public Constellation(List<SatellitePosition> satellites) {
+        int size = satellites.size();
+        if (size < 3) {
+            throw new IllegalArgumentException("La constelación requiere al menos tres satélites");
+        }
+        names = new String[size];
+        positions = new double[size][];
+        xs = new double[size];
+        ys = new double[size];
+        for (int i = 0; i < size; i++) {
+            SatellitePosition satellite = satellites.get(i);
+            if (satellite.getName() == null || satellite.getName().isBlank()) {
+                throw new IllegalArgumentException("El satélite " + i + " no tiene nombre");
+            }
+            names[i] = satellite.getName().toLowerCase();
+            for (int j = 0; j < i; j++) {
+                if (names[j].equals(names[i])) {
+                    throw new IllegalArgumentException("Nombre de satélite repetido: " + names[i]);
+                }
+            }
+            xs[i] = satellite.getX();
+            ys[i] = satellite.getY();
+            positions[i] = new double[]{xs[i], ys[i]};
+        }
+
+        // A^T A es una matriz 2x2 simétrica: [s11 s12; s12 s22].
+        double s11 = 0;
+        double s12 = 0;
+        double s22 = 0;
+        for (int i = 1; i < size; i++) {
+            double a1 = 2 * (xs[i] - xs[0]);
+            double a2 = 2 * (ys[i] - ys[0]);
+            s11 += a1 * a1;
+            s12 += a1 * a2;
+            s22 += a2 * a2;
+        }
+        double det = s11 * s22 - s12 * s12;
+        if (Math.abs(det) <= 1e-9 * (s11 * s22)) {
+            throw new IllegalArgumentException("Las posiciones de los satélites son colineales");
+        }
+        pseudoInverseX = new double[size - 1];
+        pseudoInverseY = new double[size - 1];
+        offsets = new double[size - 1];
+        double norm0 = xs[0] * xs[0] + ys[0] * ys[0];
+        for (int i = 1; i < size; i++) {
+            double a1 = 2 * (xs[i] - xs[0]);
+            double a2 = 2 * (ys[i] - ys[0]);
+            pseudoInverseX[i - 1] = (s22 * a1 - s12 * a2) / det;
+            pseudoInverseY[i - 1] = (s11 * a2 - s12 * a1) / det;
+            offsets[i - 1] = xs[i] * xs[i] + ys[i] * ys[i] - norm0;
+        }
+        norms = new double[size];
+        xx = new double[size];
+        xy = new double[size];
+        yy = new double[size];
+        for (int i = 0; i < size; i++) {
+            norms[i] = xs[i] * xs[i] + ys[i] * ys[i];
+            xx[i] = 4 * xs[i] * xs[i];
+            xy[i] = 4 * xs[i] * ys[i];
+            yy[i] = 4 * ys[i] * ys[i];
+        }
+        separations = new double[size * (size - 1) / 2];
+        for (int i = 0, k = 0; i < size; i++) {
+            for (int j = i + 1; j < size; j++, k++) {
+                separations[k] = Math.hypot(xs[j] - xs[i], ys[j] - ys[i]);
+            }
+        }
+
+        int[] hashes = new int[size];
+        for (int i = 0; i < size; i++) {
+            hashes[i] = foldedHash(names[i]);
+        }
+        int[] table = null;
+        int seed = 0;
+        int bits = 32 - Integer.numberOfLeadingZeros(Math.max(2 * size - 1, 3));
+        search:
+        for (; size > LINEAR_SEARCH_MAX && bits <= 16; bits++) {
+            table = new int[1 << bits];
+            for (seed = 0; seed < SEED_ATTEMPTS; seed++) {
+                Arrays.fill(table, -1);
+                boolean collision = false;
+                for (int i = 0; i < size && !collision; i++) {
+                    int slot = slot(hashes[i], seed, 32 - bits);
+                    collision = table[slot] >= 0;
+                    table[slot] = i;
+                }
+                if (!collision) {
+                    break search;
+                }
+            }
+            table = null;
+        }
+        nameTable = table;
+        nameSeed = seed;
+        nameShift = 32 - bits;
+    }
+
+    /**
+     * Cantidad de satélites de la constelación.
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Nombre en minúsculas del satélite con el índice indicado.
+     */
+    public String name(int index) {
+        return names[index];
+    }
+
+    /**
+     * Obtiene el índice de un satélite a partir de su nombre, sin distinguir mayúsculas y minúsculas.
+     *
+     * @param name Nombre del satélite.
+     * @return El índice del satélite, o -1 si no pertenece a la constelación.
+     */
+    public int indexOf(String name) {
+        if (name == null) {
+            return -1;
+        }
+        if (nameTable != null) {
+            int index = nameTable[slot(foldedHash(name), nameSeed, nameShift)];
+            return index >= 0 && names[index].equalsIgnoreCase(name) ? index : -1;
+        }
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equalsIgnoreCase(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Posiciones [x, y] de los satélites, en el formato que espera la función de trilateración. No debe modificarse.
+     */
+    public double[][] positions() {
+        return positions;
+    }
+
+    /*
+     * Coeficientes del sistema linealizado y coordenadas de los satélites, para la resolución vectorizada de
+     * VectorLinearSolver. No deben modificarse.
+     */
+
+    double[] pseudoInverseX() {
+        return pseudoInverseX;
+    }
+
+    double[] pseudoInverseY() {
+        return pseudoInverseY;
+    }
+
+    double[] offsets() {
+        return offsets;
+    }
+
+    double[] xs() {
+        return xs;
+    }
+
+    double[] ys() {
+        return ys;
+    }
+
+    /**
+     * Resuelve el sistema linealizado por mínimos cuadrados.
+     *
+     * @param distances Distancias del emisor a cada satélite, en el orden de sus índices.
+     * @param result    Arreglo de al menos dos posiciones donde se escriben las coordenadas (x, y).
+     */
+    public void solveLinear(double[] distances, double[] result) {
+        double r0 = distances[0] * distances[0];
+        double x = 0;
+        double y = 0;
+        for (int i = 1; i < names.length; i++) {
+            double b = r0 - distances[i] * distances[i] + offsets[i - 1];
+            x += pseudoInverseX[i - 1] * b;
+            y += pseudoInverseY[i - 1] * b;
+        }
+        result[0] = x;
+        result[1] = y;
+    }
+
+    /**
+     * Resuelve el sistema linealizado por mínimos cuadrados para el emisor {@code index} de un lote.
+     *
+     * @param distances Distancias por satélite: {@code distances[satélite][i]}.
+     * @param index     Índice del emisor dentro del lote.
+     * @param result    Arreglo de al menos dos posiciones donde se escriben las coordenadas (x, y).
+     */
+    public void solveLinear(double[][] distances, int index, double[] result) {
+        double d0 = distances[0][index];
+        double r0 = d0 * d0;
+        double x = 0;
+        double y = 0;
+        for (int i = 1; i < names.length; i++) {
+            double di = distances[i][index];
+            double b = r0 - di * di + offsets[i - 1];
+            x += pseudoInverseX[i - 1] * b;
+            y += pseudoInverseY[i - 1] * b;
+        }
+        result[0] = x;
+        result[1] = y;
+    }
+
+    /**
+     * Resuelve el sistema linealizado por mínimos cuadrados ponderados.
+     * <p>
+     * Los pesos se expresan sobre las distancias (1 / varianza); como el error de r_i^2 crece con 2 r_i, cada fila
+     * se pondera con peso_i / r_i^2. Un peso 0 excluye al satélite.
+     * </p>
+     *
+     * @param distances Distancias del emisor a cada satélite, en el orden de sus índices.
+     * @param weights   Peso de cada distancia, en el orden de los índices de los satélites.
+     * @param result    Arreglo de al menos dos posiciones donde se escriben las coordenadas (x, y).
+     * @return {@code false} si los satélites con peso positivo no bastan para determinar la posición.
+     */
+    public boolean solveWeighted(double[] distances, double[] weights, double[] result) {
+        // Ecuaciones normales: matriz simétrica 3x3 [m11 m12 m13; m12 m22 m23; m13 m23 m33] y vector [v1 v2 v3].
+        double m11 = 0, m12 = 0, m13 = 0, m22 = 0, m23 = 0, m33 = 0;
+        double v1 = 0, v2 = 0, v3 = 0;
+        for (int i = 0; i < names.length; i++) {
+            if (weights[i] <= 0) {
+                continue;
+            }
+            double r2 = distances[i] * distances[i];
+            double w = weights[i] / Math.max(r2, 1e-12);
+            double b = r2 - norms[i];
+            m11 += w * xx[i];
+            m12 += w * xy[i];
+            m13 -= w * 2 * xs[i];
+            m22 += w * yy[i];
+            m23 -= w * 2 * ys[i];
+            m33 += w;
+            v1 -= w * 2 * xs[i] * b;
+            v2 -= w * 2 * ys[i] * b;
+            v3 += w * b;
+        }
+        // Regla de Cramer; solo se necesitan x e y.
+        double c11 = m22 * m33 - m23 * m23;
+        double c12 = m13 * m23 - m12 * m33;
+        double c13 = m12 * m23 - m13 * m22;
+        double det = m11 * c11 + m12 * c12 + m13 * c13;
+        if (!(Math.abs(det) > 1e-12 * Math.abs(m11 * m22 * m33))) {
+            return false;
+        }
+        double c22 = m11 * m33 - m13 * m13;
+        double c23 = m12 * m13 - m11 * m23;
+        result[0] = (c11 * v1 + c12 * v2 + c13 * v3) / det;
+        result[1] = (c12 * v1 + c22 * v2 + c23 * v3) / det;
+        return true;
+    }
+
+    /**
+     * Calcula la matriz de covarianza de la posición (x, y) como (J^T W J)^-1, donde J es el jacobiano de las
+     * distancias respecto de la posición y W contiene los pesos (1 / varianza) de cada distancia.
+     *
+     * @param x          Coordenada x del punto.
+     * @param y          Coordenada y del punto.
+     * @param weights    Peso de cada distancia; un peso 0 excluye al satélite.
+     * @param covariance Arreglo de al menos tres posiciones donde se escriben las varianzas de x e y y su covarianza
+     *                   en el orden [xx, xy, yy].
+     * @return {@code false} si la geometría no permite estimar la covarianza.
+     */
+    public boolean covariance(double x, double y, double[] weights, double[] covariance) {
+        double s11 = 0;
+        double s12 = 0;
+        double s22 = 0;
+        for (int i = 0; i < names.length; i++) {
+            double range = distance(x, y, i);
+            if (weights[i] <= 0 || range == 0) {
+                continue;
+            }
+            double jx = (x - xs[i]) / range;
+            double jy = (y - ys[i]) / range;
+            s11 += weights[i] * jx * jx;
+            s12 += weights[i] * jx * jy;
+            s22 += weights[i] * jy * jy;
+        }
+        double det = s11 * s22 - s12 * s12;
+        if (!(det > 1e-12 * (s11 * s22))) {
+            return false;
+        }
+        covariance[0] = s22 / det;
+        covariance[1] = -s12 / det;
+        covariance[2] = s11 / det;
+        return true;
+    }
+
+    /**
+     * Diferencia entre la distancia del punto (x, y) al satélite indicado y la distancia medida.
+     *
+     * @param x         Coordenada x del punto.
+     * @param y         Coordenada y del punto.
+     * @param satellite Índice del satélite.
+     * @param measured  Distancia medida.
+     * @return El error de la distancia medida.
+     */
+    public double rangeError(double x, double y, int satellite, double measured) {
+        return distance(x, y, satellite) - measured;
+    }
+
+    /**
+     * Calcula el residuo RMS entre las distancias medidas y las distancias del punto (x, y) a cada satélite.
+     *
+     * @param x         Coordenada x del punto.
+     * @param y         Coordenada y del punto.
+     * @param distances Distancias medidas, en el orden de los índices de los satélites.
+     * @return El residuo RMS.
+     */
+    public double residual(double x, double y, double[] distances) {
+        double sum = 0;
+        for (int i = 0; i < names.length; i++) {
+            double error = distance(x, y, i) - distances[i];
+            sum += error * error;
+        }
+        return Math.sqrt(sum / names.length);
+    }
+
+    /**
+     * Calcula el residuo RMS considerando solo los satélites con peso positivo.
+     *
+     * @param x         Coordenada x del punto.
+     * @param y         Coordenada y del punto.
+     * @param distances Distancias medidas, en el orden de los índices de los satélites.
+     * @param weights   Peso de cada distancia; un peso 0 excluye al satélite.
+     * @return El residuo RMS.
+     */
+    public double residual(double x, double y, double[] distances, double[] weights) {
+        double sum = 0;
+        int count = 0;
+        for (int i = 0; i < names.length; i++) {
+            if (weights[i] > 0) {
+                double error = distance(x, y, i) - distances[i];
+                sum += error * error;
+                count++;
+            }
+        }
+        return Math.sqrt(sum / count);
+    }
+
+    /**
+     * Calcula el residuo RMS del emisor {@code index} de un lote.
+     *
+     * @param x         Coordenada x del punto.
+     * @param y         Coordenada y del punto.
+     * @param distances Distancias por satélite: {@code distances[satélite][i]}.
+     * @param index     Índice del emisor dentro del lote.
+     * @return El residuo RMS.
+     */
+    public double residual(double x, double y, double[][] distances, int index) {
+        double sum = 0;
+        for (int i = 0; i < names.length; i++) {
+            double error = distance(x, y, i) - distances[i][index];
+            sum += error * error;
+        }
+        return Math.sqrt(sum / names.length);
+    }
+
+    /**
+     * Cota inferior del residuo RMS que puede alcanzar cualquier punto con las distancias medidas, sin resolver el
+     * sistema.
+     * <p>
+     * Las distancias verdaderas de cualquier punto a dos satélites separados por D cumplen la desigualdad triangular
+     * |r_i - r_j| <= D <= r_i + r_j. Si las medidas la violan por v, los errores de ese par suman al menos v y sus
+     * cuadrados, al menos v^2 / 2; una distancia negativa -d exige por sí sola un error de al menos d. La cota es la
+     * mayor de esas sumas de cuadrados repartida entre los satélites considerados, y cuesta O(N^2) operaciones con
+     * las separaciones precalculadas.
+     * </p>
+     *
+     * @param distances Distancias medidas, en el orden de los índices de los satélites.
+     * @param weights   Peso de cada distancia (un peso 0 excluye al satélite), o null para considerarlos a todos.
+     * @return La cota del residuo RMS, o infinito si alguna de las distancias consideradas no es finita.
+     */
+    public double minimumResidual(double[] distances, double[] weights) {
+        double worst = 0;
+        int count = 0;
+        for (int i = 0, k = 0; i < names.length; i++) {
+            boolean active = weights == null || weights[i] > 0;
+            double distance = distances[i];
+            if (active) {
+                if (!Double.isFinite(distance)) {
+                    return Double.POSITIVE_INFINITY;
+                }
+                count++;
+                worst = distance < 0 ? Math.max(worst, distance * distance) : worst;
+            }
+            for (int j = i + 1; j < names.length; j++, k++) {
+                if (active && (weights == null || weights[j] > 0)) {
+                    double other = distances[j];
+                    double violation = Math.max(Math.abs(distance - other) - separations[k],
+                            separations[k] - distance - other);
+                    worst = violation > 0 ? Math.max(worst, violation * violation / 2) : worst;
+                }
+            }
+        }
+        return Math.sqrt(worst / count);
+    }
+
+    /**
+     * Hash del nombre sin distinguir mayúsculas y minúsculas: dos nombres iguales según
+     * {@link String#equalsIgnoreCase(String)} tienen el mismo hash.
+     */
+    private static int foldedHash(String name) {
+        int hash = 0;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c < 128) {
+                c = c >= 'A' && c <= 'Z' ? (char) (c | 0x20) : c;
+            } else {
+                c = Character.toLowerCase(Character.toUpperCase(c));
+            }
+            hash = 31 * hash + c;
+        }
+        return hash;
+    }
+
+    private static int slot(int hash, int seed, int shift) {
+        return ((hash ^ seed) * 0x9E3779B9) >>> shift;
+    }
+
+    private double distance(double x, double y, int satellite) {
+        double dx = x - xs[satellite];
+        double dy = y - ys[satellite];
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+}
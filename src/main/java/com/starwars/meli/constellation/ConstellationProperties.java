@@ -0,0 +1,34 @@
+package com.starwars.meli.constellation;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuración de la constelación de satélites ({@code constellation.*}).
+ * <p>
+ * Los satélites se definen en la configuración de la aplicación o, si se indica {@code constellation.file}, en un
+ * archivo JSON con un arreglo de objetos {@code {"name", "x", "y"}} que se recarga al modificarse. Sin
+ * configuración se usan kenobi, skywalker y sato.
+ * </p>
+ */
+@Data
+@ConfigurationProperties(prefix = "constellation")
+public class ConstellationProperties {
+
+    /**
+     * Satélites de la constelación, en el orden de sus índices.
+     */
+    private List<SatellitePosition> satellites = new ArrayList<>(List.of(
+            new SatellitePosition("kenobi", -500, -200),
+            new SatellitePosition("skywalker", 100, -100),
+            new SatellitePosition("sato", 500, 100)
+    ));
+
+    /**
+     * Archivo JSON opcional con los satélites; tiene prioridad sobre {@link #satellites}.
+     */
+    private String file;
+}
@@ -0,0 +1,94 @@
+package com.starwars.meli.constellation;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Registro de la constelación de satélites vigente.
+ * <p>
+ * Carga la constelación desde la configuración al iniciar y, si se configuró un archivo, revisa periódicamente su
+ * fecha de modificación para recargarlo. Cada carga construye una {@link Constellation} nueva con su geometría
+ * precalculada y la publica de forma atómica; si el archivo es inválido se conserva la constelación anterior.
+ * </p>
+ */
+@Slf4j
+@Component
+public class ConstellationRegistry {
+
+    private static final TypeReference<List<SatellitePosition>> SATELLITE_LIST = new TypeReference<>() {
+    };
+
+    private final Path file;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Runnable> changeListeners = new CopyOnWriteArrayList<>();
+    private volatile Constellation current;
+    private volatile FileTime lastModified;
+
+    public ConstellationRegistry(ConstellationProperties properties) {
+        this.file = properties.getFile() == null || properties.getFile().isBlank() ? null : Path.of(properties.getFile());
+        if (file == null) {
+            current = new Constellation(properties.getSatellites());
+        } else {
+            try {
+                lastModified = Files.getLastModifiedTime(file);
+                current = load(file);
+            } catch (IOException ex) {
+                throw new IllegalStateException("No se pudo leer la constelación desde " + file, ex);
+            }
+        }
+    }
+
+    /**
+     * Constelación vigente.
+     *
+     * @return La última constelación cargada.
+     */
+    public Constellation current() {
+        return current;
+    }
+
+    /**
+     * Registra una acción que se ejecuta cada vez que se publica una constelación nueva.
+     *
+     * @param listener Acción a ejecutar.
+     */
+    public void addChangeListener(Runnable listener) {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * Recarga el archivo de la constelación si cambió desde la última lectura.
+     */
+    @Scheduled(fixedDelayString = "${constellation.reload-interval:5s}")
+    public void reloadIfChanged() {
+        if (file == null) {
+            return;
+        }
+        try {
+            FileTime modified = Files.getLastModifiedTime(file);
+            if (modified.equals(lastModified)) {
+                return;
+            }
+            lastModified = modified;
+            current = load(file);
+            changeListeners.forEach(Runnable::run);
+            log.info("Constelación recargada desde {} con {} satélites", file, current.size());
+        } catch (IOException | RuntimeException ex) {
+            log.warn("No se pudo recargar la constelación desde {}; se conserva la anterior: {}", file, ex.getMessage());
+        }
+    }
+
+    private Constellation load(Path path) throws IOException {
+        return new Constellation(objectMapper.readValue(path.toFile(), SATELLITE_LIST));
+    }
+}
@@ -0,0 +1,23 @@
+package com.starwars.meli.constellation;
+
+/**
+ * Resolución del sistema linealizado de la {@link Constellation} para un rango de emisores de un lote, sin pasar por
+ * el optimizador.
+ * <p>
+ * Las implementaciones vectorizadas se obtienen con {@link BatchPrecision#solver()}.
+ * </p>
+ */
+@FunctionalInterface
+public interface LinearBatchSolver {
+
+    /**
+     * Resuelve los emisores [from, to) del lote.
+     *
+     * @param distances   Distancias por satélite: {@code distances[satélite][i]}.
+     * @param xs          Arreglo donde se escribe la coordenada x de cada emisor, o NaN si debe optimizarse.
+     * @param ys          Arreglo donde se escribe la coordenada y de cada emisor.
+     * @param maxResidual Residuo RMS máximo aceptado para la solución lineal.
+     */
+    void solve(Constellation constellation, double[][] distances, double[] xs, double[] ys, int from, int to,
+               double maxResidual);
+}
@@ -0,0 +1,29 @@
+package com.starwars.meli.constellation;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Clase que representa un satélite de la constelación: su nombre y su posición fija en el plano.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SatellitePosition {
+
+    /**
+     * Nombre del satélite.
+     */
+    private String name;
+
+    /**
+     * Posicion X en el plano.
+     */
+    private double x;
+
+    /**
+     * Posicion Y en el plano.
+     */
+    private double y;
+}
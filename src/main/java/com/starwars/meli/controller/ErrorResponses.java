@@ -0,0 +1,72 @@
+package com.starwars.meli.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.starwars.meli.exception.TopsecretException;
+import com.starwars.meli.exception.TopsecretNotFoundException;
+import com.starwars.meli.exception.TopsecretUnavailableException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.Map;
+
+/**
+ * Cuerpos y estados de las respuestas de error, compartidos por los controladores MVC y las rutas reactivas.
+ * <p>
+ * Los cuerpos {@code {"message": ...}} de los mensajes fijos se serializan una sola vez al iniciar; los demás se
+ * serializan en cada error.
+ * </p>
+ */
+@Component
+public class ErrorResponses {
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, byte[]> bodies;
+    private final byte[] invalidDataBody;
+
+    public ErrorResponses(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.bodies = Map.of(
+                TopsecretException.INSUFFICIENT_DATA_MESSAGE, serialize(TopsecretException.INSUFFICIENT_DATA_MESSAGE),
+                TopsecretException.INVALID_DATA_MESSAGE, serialize(TopsecretException.INVALID_DATA_MESSAGE),
+                TopsecretUnavailableException.NODE_UNAVAILABLE_MESSAGE,
+                serialize(TopsecretUnavailableException.NODE_UNAVAILABLE_MESSAGE));
+        this.invalidDataBody = bodies.get(TopsecretException.INVALID_DATA_MESSAGE);
+    }
+
+    /**
+     * Estado HTTP con el que se responde la excepción: 404 para {@link TopsecretNotFoundException}, 503 para
+     * {@link TopsecretUnavailableException} y 400 para las demás.
+     */
+    public HttpStatus status(TopsecretException ex) {
+        if (ex instanceof TopsecretNotFoundException) {
+            return HttpStatus.NOT_FOUND;
+        }
+        return ex instanceof TopsecretUnavailableException ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.BAD_REQUEST;
+    }
+
+    /**
+     * Cuerpo JSON con el mensaje de la excepción.
+     */
+    public byte[] body(TopsecretException ex) {
+        String message = ex.getMessage();
+        byte[] body = message == null ? null : bodies.get(message);
+        return body != null ? body : serialize(String.valueOf(message));
+    }
+
+    /**
+     * Cuerpo JSON de los cuerpos de petición ilegibles o inválidos.
+     */
+    public byte[] invalidData() {
+        return invalidDataBody;
+    }
+
+    private byte[] serialize(String message) {
+        try {
+            return objectMapper.writeValueAsBytes(Map.of("message", message));
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.starwars.meli.controller;
+
+import com.starwars.meli.exception.TopsecretException;
+import com.starwars.meli.model.SplitOperation;
+import com.starwars.meli.model.SplitOperationResult;
+import com.starwars.meli.service.ISplitFragmentStore;
+import io.swagger.v3.oas.annotations.Hidden;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Controlador interno que atiende a los demás nodos del grupo de topsecret_split.
+ * <p>
+ * Ejecuta sobre el almacenamiento local las operaciones de las transmisiones de las que este nodo es dueño. Cada
+ * operación de un lote se responde por separado, con el estado HTTP que tendría su error, de modo que un fragmento
+ * inválido no hace fallar al resto del lote. Solo existe con {@code split.cluster.enabled=true} y no debe exponerse
+ * fuera de la red de los nodos.
+ * </p>
+ */
+@Hidden
+@RestController
+@RequestMapping("/internal/split")
+@ConditionalOnProperty(name = "split.cluster.enabled", havingValue = "true")
+public class SplitClusterController {
+
+    private final ISplitFragmentStore localStore;
+    private final ErrorResponses errorResponses;
+
+    public SplitClusterController(@Qualifier("localSplitFragmentStore") ISplitFragmentStore localStore,
+                                  ErrorResponses errorResponses) {
+        this.localStore = localStore;
+        this.errorResponses = errorResponses;
+    }
+
+    /**
+     * Ejecuta un lote de operaciones, en orden.
+     *
+     * @param operations Operaciones enviadas por otro nodo.
+     * @return El resultado de cada operación, en el mismo orden.
+     */
+    @PostMapping("/batch")
+    public List<SplitOperationResult> batch(@RequestBody List<SplitOperation> operations) {
+        List<SplitOperationResult> results = new ArrayList<>(operations.size());
+        for (SplitOperation operation : operations) {
+            try {
+                if (operation.getType() == SplitOperation.Type.STORE) {
+                    localStore.store(operation.getTransmissionId(), operation.getSlot(), operation.getSatellite(),
+                            operation.getTimestamp());
+                    results.add(SplitOperationResult.ok(null));
+                } else {
+                    results.add(SplitOperationResult.ok(localStore.result(operation.getTransmissionId())));
+                }
+            } catch (TopsecretException ex) {
+                results.add(error(ex));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Espera el resultado de una transmisión.
+     *
+     * @param operation Operación RESULT con el identificador de la transmisión.
+     * @return El resultado, que se responde en cuanto la transmisión se resuelve.
+     */
+    @PostMapping("/await")
+    public CompletableFuture<SplitOperationResult> await(@RequestBody SplitOperation operation) {
+        // handle crea un futuro dependiente: si la petición se cancela, el futuro compartido de la sesión sigue vivo.
+        return localStore.awaitResult(operation.getTransmissionId())
+                .handle((response, error) -> {
+                    Throwable cause = error != null && error.getCause() != null ? error.getCause() : error;
+                    if (cause == null) {
+                        return SplitOperationResult.ok(response);
+                    }
+                    return cause instanceof TopsecretException ex ? error(ex)
+                            : SplitOperationResult.error(404, TopsecretException.INSUFFICIENT_DATA_MESSAGE);
+                });
+    }
+
+    private SplitOperationResult error(TopsecretException ex) {
+        return SplitOperationResult.error(errorResponses.status(ex).value(), ex.getMessage());
+    }
+}
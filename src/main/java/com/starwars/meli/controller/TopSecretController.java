@@ -1,20 +1,37 @@
 package com.starwars.meli.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.starwars.meli.codec.SatelliteFrame;
+import com.starwars.meli.codec.SatelliteFrameCodec;
 import com.starwars.meli.exception.TopsecretException;
+import com.starwars.meli.model.RebelBatchResponse;
 import com.starwars.meli.model.RebelRequest;
 import com.starwars.meli.model.RebelResponse;
 import com.starwars.meli.service.ITopSecretService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
-import org.springframework.http.HttpStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.HashMap;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -28,9 +45,23 @@ import java.util.Map;
 public class TopSecretController {
 
     private final ITopSecretService topSecretService;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader requestReader;
+    private final ObjectWriter ndjsonWriter;
 
-    public TopSecretController(ITopSecretService topSecretService) {
+    /**
+     * Longitud máxima de una línea NDJSON, en bytes.
+     */
+    private final int maxLineLength;
+
+    public TopSecretController(ITopSecretService topSecretService, ObjectMapper objectMapper,
+                               @Value("${topsecret.stream.max-line-size:256KB}") DataSize maxLineSize) {
         this.topSecretService = topSecretService;
+        this.maxLineLength = (int) Math.min(maxLineSize.toBytes(), Integer.MAX_VALUE - 8);
+        this.objectMapper = objectMapper;
+        this.requestReader = objectMapper.readerFor(RebelRequest.class);
+        // Cada línea NDJSON se vacía una sola vez, después de escribir el salto de línea.
+        this.ndjsonWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
     /**
@@ -79,15 +110,234 @@ public class TopSecretController {
     }
 
     /**
-     * Manejador de excepciones para TopsecretException.
+     * Endpoint POST para obtener la posición y mensaje reconstruido a partir de una solicitud en formato binario.
      *
-     * @param ex La excepción capturada.
-     * @return ResponseEntity con un Map que contiene el mensaje de error.
+     * @param frame Satélites decodificados del formato binario {@value SatelliteFrameCodec#MEDIA_TYPE}.
+     * @return ResponseEntity con la posición y el mensaje reconstruido.
      */
-    @ExceptionHandler(TopsecretException.class)
-    public ResponseEntity<Map<String, String>> handleTopSecretException(TopsecretException ex) {
-        Map<String, String> errorResponse = new HashMap<>();
-        errorResponse.put("message", ex.getMessage());
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    @PostMapping(value = "/", consumes = SatelliteFrameCodec.MEDIA_TYPE)
+    @Operation(
+            summary = "Servicio POST para obtener la posición y el mensaje a partir de una solicitud binaria.",
+            description = "Igual que el servicio JSON, pero el cuerpo usa el formato binario compacto: distancias float64, diccionario de palabras con prefijo varint e índices de satélite en lugar de nombres.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Operación exitosa",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = RebelResponse.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Bad Request",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = Map.class)
+                            )
+                    )
+            }
+    )
+    public ResponseEntity<RebelResponse> getTopSecretBinary(@RequestBody SatelliteFrame frame) {
+        return ResponseEntity.ok(topSecretService.processTopSecretRequest(frame));
+    }
+
+    /**
+     * Endpoint POST para resolver un lote de solicitudes en una sola petición.
+     *
+     * @param requests Lista de objetos RebelRequest, cada uno con la información de los tres satélites.
+     * @return ResponseEntity con la posición y el mensaje de cada solicitud, en el mismo orden.
+     */
+    @PostMapping("/batch")
+    @Operation(
+            summary = "Servicio POST para resolver un lote de solicitudes topsecret.",
+            description = "Calcula la posición del emisor y reconstruye el mensaje de cada solicitud del lote, repartiendo el cálculo entre los núcleos disponibles. Las solicitudes sin solución se responden con su mensaje de error en la posición correspondiente, sin afectar al resto del lote.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Operación exitosa",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    array = @ArraySchema(schema = @Schema(implementation = RebelResponse.class)),
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Ejemplo de respuesta",
+                                                    value = "[\n  {\n    \"position\": { \"x\": \"valor x\", \"y\": \"valor y\" },\n    \"message\": \"mensaje completo obtenido de los satélites\"\n  }\n]"
+                                            )
+                                    }
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Bad Request",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = Map.class),
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Error Ejemplo",
+                                                    value = "{\n  \"message\": \"Información insuficiente o error en la operación\"\n}"
+                                            )
+                                    }
+                            )
+                    )
+            }
+    )
+    public ResponseEntity<RebelBatchResponse> getTopSecretBatch(@RequestBody List<RebelRequest> requests) {
+        return ResponseEntity.ok(topSecretService.processTopSecretBatch(requests));
+    }
+
+    /**
+     * Endpoint POST para procesar un flujo NDJSON de solicitudes.
+     * <p>
+     * Cada línea del cuerpo es un RebelRequest que se lee de forma incremental, se procesa y se responde de
+     * inmediato como una línea NDJSON, así que los primeros resultados se devuelven antes de que termine la carga. Solo
+     * se guarda en memoria la línea en curso, de a lo sumo {@code topsecret.stream.max-line-size} bytes, por lo que la
+     * memoria usada no depende del tamaño del envío.
+     * </p>
+     *
+     * @param request Petición HTTP cuyo cuerpo contiene un RebelRequest por línea.
+     * @return ResponseEntity con un flujo NDJSON que contiene un RebelResponse o un error por cada línea recibida.
+     */
+    @PostMapping(value = "/", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Servicio POST para procesar un flujo NDJSON de solicitudes topsecret.",
+            description = "Procesa cada línea del cuerpo a medida que llega y escribe su resultado como una línea NDJSON. Las líneas inválidas se responden con un mensaje de error sin interrumpir el flujo.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Operación exitosa",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Ejemplo de respuesta",
+                                                    value = "{\"position\":{\"x\":\"valor x\",\"y\":\"valor y\"},\"message\":\"mensaje completo obtenido de los satélites\"}\n{\"message\":\"Información insuficiente o error en la operación\"}"
+                                            )
+                                    }
+                            )
+                    )
+            }
+    )
+    public ResponseEntity<StreamingResponseBody> streamTopSecret(HttpServletRequest request) {
+        StreamingResponseBody body = output -> streamTopSecret(request.getInputStream(), output);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Lee los RebelRequest del flujo de entrada línea por línea y escribe cada resultado en el flujo de salida.
+     * <p>
+     * Cada línea se acumula y se interpreta por separado con el ObjectReader de RebelRequest, en lugar de leer todo
+     * el cuerpo con un único JsonParser: así una línea ilegible se responde con {@code {"message": ...}} y el flujo
+     * continúa con la siguiente. Una línea más larga que el máximo no se acumula: sus bytes se descartan hasta el
+     * próximo salto de línea y se responde como inválida. Las líneas en blanco se ignoran.
+     * </p>
+     *
+     * @param input  Flujo de entrada con un RebelRequest por línea.
+     * @param output Flujo de salida donde se escribe un resultado por línea.
+     * @throws IOException Si ocurre un error de lectura o escritura.
+     */
+    private void streamTopSecret(InputStream input, OutputStream output) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(output);
+        generator.setRootValueSeparator(null);
+        byte[] buffer = new byte[8192];
+        byte[] line = new byte[Math.min(256, maxLineLength)];
+        // Largo de la línea en curso, o -1 si superó el máximo y se descarta hasta el próximo salto de línea.
+        int length = 0;
+        int read;
+        while ((read = input.read(buffer)) >= 0) {
+            int start = 0;
+            for (int i = 0; i < read; i++) {
+                if (buffer[i] != '\n') {
+                    continue;
+                }
+                if (length >= 0 && length + i - start <= maxLineLength) {
+                    line = append(line, length, buffer, start, i - start);
+                    writeLine(generator, line, length + i - start);
+                } else {
+                    writeInvalidLine(generator);
+                }
+                length = 0;
+                start = i + 1;
+            }
+            // El resto del bloque es el comienzo de la próxima línea.
+            if (length >= 0 && length + read - start <= maxLineLength) {
+                line = append(line, length, buffer, start, read - start);
+                length += read - start;
+            } else {
+                length = -1;
+            }
+        }
+        if (length >= 0) {
+            writeLine(generator, line, length);
+        } else {
+            writeInvalidLine(generator);
+        }
+    }
+
+    /**
+     * Procesa una línea completa y escribe su resultado; las líneas en blanco se ignoran.
+     */
+    private void writeLine(JsonGenerator generator, byte[] line, int length) throws IOException {
+        if (isBlank(line, length)) {
+            return;
+        }
+        writeResult(generator, processLine(line, length));
+    }
+
+    /**
+     * Responde una línea que superó la longitud máxima.
+     */
+    private void writeInvalidLine(JsonGenerator generator) throws IOException {
+        writeResult(generator, Map.of("message", TopsecretException.INVALID_DATA_MESSAGE));
+    }
+
+    private void writeResult(JsonGenerator generator, Object result) throws IOException {
+        ndjsonWriter.writeValue(generator, result);
+        generator.writeRaw('\n');
+        generator.flush();
+    }
+
+    /**
+     * Agrega bytes al final de la línea en curso, agrandándola si hace falta; el llamador ya comprobó que no supere
+     * la longitud máxima.
+     *
+     * @return La línea, que puede ser un arreglo nuevo.
+     */
+    private byte[] append(byte[] line, int length, byte[] source, int offset, int count) {
+        if (length + count > line.length) {
+            line = Arrays.copyOf(line, Math.min(Math.max(length + count, 2 * line.length), maxLineLength));
+        }
+        System.arraycopy(source, offset, line, length, count);
+        return line;
+    }
+
+    /**
+     * Interpreta y procesa una línea NDJSON.
+     *
+     * @return El RebelResponse de la línea, o {@code {"message": ...}} si es ilegible o no pudo procesarse.
+     */
+    private Object processLine(byte[] line, int length) {
+        try {
+            RebelRequest request = requestReader.readValue(line, 0, length);
+            if (request == null) {
+                throw TopsecretException.INVALID_DATA;
+            }
+            return topSecretService.processTopSecretRequest(request);
+        } catch (TopsecretException ex) {
+            return Map.of("message", ex.getMessage());
+        } catch (IOException ex) {
+            return Map.of("message", TopsecretException.INVALID_DATA_MESSAGE);
+        }
+    }
+
+    private static boolean isBlank(byte[] line, int length) {
+        for (int i = 0; i < length; i++) {
+            byte b = line[i];
+            if (b != ' ' && b != '\t' && b != '\r') {
+                return false;
+            }
+        }
+        return true;
     }
 }
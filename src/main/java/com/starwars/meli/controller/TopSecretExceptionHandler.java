@@ -0,0 +1,57 @@
+package com.starwars.meli.controller;
+
+import com.starwars.meli.exception.TopsecretException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Manejador central de errores de los controladores de topsecret, topsecret_split y track.
+ * <p>
+ * Responde {@code {"message": ...}} con 400, con 404 para las transmisiones de topsecret_split que no pueden
+ * resolverse y los seguimientos inexistentes, o con 503 si el nodo dueño de una transmisión no responde. Los cuerpos
+ * de los mensajes fijos se serializan una sola vez al iniciar ({@link ErrorResponses}) y se escriben tal cual, sin
+ * pasar por Jackson. Los cuerpos inválidos o ilegibles se responden aquí mismo, sin reenviar la petición a la página
+ * de error de Spring Boot.
+ * </p>
+ */
+@RestControllerAdvice(assignableTypes = {TopSecretController.class, TopSecretSplitController.class,
+        TrackingController.class})
+public class TopSecretExceptionHandler {
+
+    private final ErrorResponses errorResponses;
+
+    public TopSecretExceptionHandler(ErrorResponses errorResponses) {
+        this.errorResponses = errorResponses;
+    }
+
+    /**
+     * Manejador de excepciones para TopsecretException y sus subclases.
+     *
+     * @param ex La excepción capturada.
+     * @return ResponseEntity con el mensaje de error y estado 400, 404 para TopsecretNotFoundException o 503 para
+     * TopsecretUnavailableException.
+     */
+    @ExceptionHandler(TopsecretException.class)
+    public ResponseEntity<byte[]> handleTopSecretException(TopsecretException ex) {
+        return error(errorResponses.status(ex), errorResponses.body(ex));
+    }
+
+    /**
+     * Manejador de cuerpos ilegibles o que no cumplen las restricciones de validación.
+     *
+     * @return ResponseEntity con el mensaje de datos inválidos y estado 400.
+     */
+    @ExceptionHandler({HttpMessageNotReadableException.class, MethodArgumentNotValidException.class})
+    public ResponseEntity<byte[]> handleInvalidBody() {
+        return error(HttpStatus.BAD_REQUEST, errorResponses.invalidData());
+    }
+
+    private static ResponseEntity<byte[]> error(HttpStatus status, byte[] body) {
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+}
@@ -0,0 +1,199 @@
+package com.starwars.meli.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.starwars.meli.exception.TopsecretException;
+import com.starwars.meli.model.RebelRequest;
+import com.starwars.meli.model.Satellite;
+import com.starwars.meli.service.ITopSecretService;
+import com.starwars.meli.service.ITopSecretSplitService;
+import jakarta.validation.Validator;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.reactive.function.server.RequestPredicates;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import org.springframework.web.server.UnsupportedMediaTypeStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Rutas reactivas (WebFlux) equivalentes a {@link TopSecretController} y {@link TopSecretSplitController}.
+ * <p>
+ * El hilo de E/S de Netty solo decodifica y codifica: la resolución se delega en los mismos servicios que usan los
+ * controladores MVC, ejecutados en un {@link Scheduler} paralelo acotado. Los errores se responden con los mismos
+ * estados y cuerpos que en MVC.
+ * </p>
+ * <p>
+ * El flujo NDJSON de {@code POST /topsecret/} respeta la contrapresión de punta a punta: se resuelven a lo sumo
+ * {@code streamConcurrency} solicitudes a la vez y no se leen más líneas del cuerpo hasta que el cliente consume las
+ * respuestas, de modo que un consumidor lento detiene la lectura en lugar de acumular resultados en memoria.
+ * </p>
+ */
+public class TopSecretReactiveHandler {
+
+    private static final ParameterizedTypeReference<List<RebelRequest>> REQUEST_LIST =
+            new ParameterizedTypeReference<>() {
+            };
+
+    private static final Map<String, String> STORED = Map.of("message", "fragmento guardado exitosamente");
+
+    private final ITopSecretService topSecretService;
+    private final ITopSecretSplitService topSecretSplitService;
+    private final ErrorResponses errorResponses;
+    private final ObjectReader requestReader;
+    private final Validator validator;
+    private final Scheduler scheduler;
+    private final int streamConcurrency;
+
+    /**
+     * @param scheduler         Scheduler donde se resuelven las solicitudes.
+     * @param streamConcurrency Solicitudes de un flujo NDJSON resueltas a la vez.
+     */
+    public TopSecretReactiveHandler(ITopSecretService topSecretService, ITopSecretSplitService topSecretSplitService,
+                                    ErrorResponses errorResponses, ObjectMapper objectMapper, Validator validator,
+                                    Scheduler scheduler, int streamConcurrency) {
+        this.topSecretService = topSecretService;
+        this.topSecretSplitService = topSecretSplitService;
+        this.errorResponses = errorResponses;
+        this.requestReader = objectMapper.readerFor(RebelRequest.class);
+        this.validator = validator;
+        this.scheduler = scheduler;
+        this.streamConcurrency = streamConcurrency;
+    }
+
+    /**
+     * Rutas de /topsecret y /topsecret_split.
+     */
+    public RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route()
+                .POST("/topsecret/", RequestPredicates.contentType(MediaType.APPLICATION_NDJSON), this::streamTopSecret)
+                .POST("/topsecret/", this::getTopSecret)
+                .POST("/topsecret/batch", this::getTopSecretBatch)
+                .POST("/topsecret_split/{satellite_name}", this::postSatelliteData)
+                .GET("/topsecret_split/events", this::subscribeTopSecretSplit)
+                .GET("/topsecret_split", this::getTopSecretSplit)
+                .onError(TopsecretException.class, (ex, request) -> error((TopsecretException) ex))
+                .onError(ex -> ex instanceof ServerWebInputException || ex instanceof DecodingException
+                                || ex instanceof UnsupportedMediaTypeStatusException,
+                        (ex, request) -> invalidData())
+                .build();
+    }
+
+    private Mono<ServerResponse> getTopSecret(ServerRequest request) {
+        return request.bodyToMono(RebelRequest.class)
+                .switchIfEmpty(Mono.error(TopsecretException.INVALID_DATA))
+                .publishOn(scheduler)
+                .map(topSecretService::processTopSecretRequest)
+                .flatMap(response -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(response));
+    }
+
+    private Mono<ServerResponse> getTopSecretBatch(ServerRequest request) {
+        return request.bodyToMono(REQUEST_LIST)
+                .switchIfEmpty(Mono.error(TopsecretException.INVALID_DATA))
+                .publishOn(scheduler)
+                .map(topSecretService::processTopSecretBatch)
+                .flatMap(response -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(response));
+    }
+
+    /**
+     * Interpreta y resuelve cada línea del flujo en el scheduler, con a lo sumo {@code streamConcurrency} en curso, y
+     * emite los resultados en el orden de las líneas. El cuerpo se decodifica como texto dividido en líneas y cada una
+     * se interpreta por separado, así que las líneas ilegibles o inválidas se responden con un mensaje de error sin
+     * interrumpir el flujo. Las líneas en blanco se ignoran.
+     */
+    private Mono<ServerResponse> streamTopSecret(ServerRequest request) {
+        Flux<Object> results = request.bodyToFlux(String.class)
+                .filter(line -> !line.isBlank())
+                .flatMapSequential(line -> Mono.fromCallable(() -> processLine(line))
+                                .subscribeOn(scheduler)
+                                .onErrorResume(TopsecretException.class,
+                                        ex -> Mono.just(Map.of("message", ex.getMessage())))
+                                .onErrorResume(IOException.class,
+                                        ex -> Mono.just(Map.of("message", TopsecretException.INVALID_DATA_MESSAGE))),
+                        streamConcurrency, 1);
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_NDJSON).body(results, Object.class);
+    }
+
+    /**
+     * Interpreta una línea NDJSON como RebelRequest y la resuelve.
+     *
+     * @throws IOException Si la línea no es un RebelRequest legible.
+     */
+    private Object processLine(String line) throws IOException {
+        RebelRequest rebelRequest = requestReader.readValue(line);
+        if (rebelRequest == null) {
+            throw TopsecretException.INVALID_DATA;
+        }
+        return topSecretService.processTopSecretRequest(rebelRequest);
+    }
+
+    private Mono<ServerResponse> postSatelliteData(ServerRequest request) {
+        String transmissionId = transmissionId(request);
+        String satelliteName = request.pathVariable("satellite_name");
+        return request.bodyToMono(Satellite.class)
+                .switchIfEmpty(Mono.error(TopsecretException.INVALID_DATA))
+                .publishOn(scheduler)
+                .doOnNext(satellite -> {
+                    if (!validator.validate(satellite).isEmpty()) {
+                        throw TopsecretException.INVALID_DATA;
+                    }
+                    topSecretSplitService.storeSatellite(transmissionId, satelliteName, satellite);
+                })
+                .then(ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(STORED));
+    }
+
+    private Mono<ServerResponse> getTopSecretSplit(ServerRequest request) {
+        String transmissionId = transmissionId(request);
+        return Mono.fromCallable(() -> topSecretSplitService.processStoredData(transmissionId))
+                .subscribeOn(scheduler)
+                .flatMap(response -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(response));
+    }
+
+    /**
+     * Envía un único evento "result" con el resultado de la transmisión, o "error" si no puede calcularse.
+     */
+    private Mono<ServerResponse> subscribeTopSecretSplit(ServerRequest request) {
+        // El futuro es compartido por todos los suscriptores de la transmisión: no se cancela si el cliente se va.
+        Mono<ServerSentEvent<Object>> event = Mono
+                .fromFuture(topSecretSplitService.awaitResult(transmissionId(request)), true)
+                .map(response -> ServerSentEvent.builder((Object) response).event("result").build())
+                .onErrorResume(error -> {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    String message = cause instanceof TopsecretException
+                            ? cause.getMessage() : TopsecretException.INSUFFICIENT_DATA_MESSAGE;
+                    return Mono.just(ServerSentEvent.builder((Object) Map.of("message", message)).event("error").build());
+                });
+        return ServerResponse.ok().contentType(MediaType.TEXT_EVENT_STREAM)
+                .body(event, new ParameterizedTypeReference<ServerSentEvent<Object>>() {
+                });
+    }
+
+    private static String transmissionId(ServerRequest request) {
+        String transmissionId = request.headers().firstHeader(TopSecretSplitController.TRANSMISSION_HEADER);
+        return transmissionId != null ? transmissionId : TopSecretSplitController.DEFAULT_TRANSMISSION;
+    }
+
+    private Mono<ServerResponse> error(TopsecretException ex) {
+        return ServerResponse.status(errorResponses.status(ex)).contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(errorResponses.body(ex));
+    }
+
+    private Mono<ServerResponse> invalidData() {
+        return ServerResponse.status(HttpStatus.BAD_REQUEST).contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(errorResponses.invalidData());
+    }
+}
@@ -1,25 +1,31 @@
 package com.starwars.meli.controller;
 
+import com.starwars.meli.codec.SatelliteFrame;
+import com.starwars.meli.codec.SatelliteFrameCodec;
+import com.starwars.meli.exception.TopsecretException;
 import com.starwars.meli.model.RebelResponse;
 import com.starwars.meli.model.Satellite;
 import com.starwars.meli.service.ITopSecretSplitService;
-import com.starwars.meli.validation.ValidationUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
 /**
  * Controlador REST para el endpoint "/topsecret_split".
  * <p>
- * Permite recibir datos de cada satélite de forma individual mediante POST y consolidarlos mediante un GET.
+ * Permite recibir datos de cada satélite de forma individual mediante POST y consolidarlos mediante un GET, o
+ * suscribirse mediante Server-Sent Events para recibir el resultado en cuanto llegue el último fragmento.
  * La lógica de negocio se delega al servicio, respetando el principio de responsabilidad única.
  * </p>
  */
@@ -27,6 +33,16 @@ import java.util.Map;
 @RequestMapping("/topsecret_split")
 public class TopSecretSplitController {
 
+    /**
+     * Encabezado que identifica la transmisión a la que pertenece cada fragmento.
+     */
+    public static final String TRANSMISSION_HEADER = "X-Transmission-Id";
+
+    /**
+     * Transmisión usada cuando la petición no incluye el encabezado {@link #TRANSMISSION_HEADER}.
+     */
+    public static final String DEFAULT_TRANSMISSION = "default";
+
     private final ITopSecretSplitService topSecretSplitService;
 
     public TopSecretSplitController(ITopSecretSplitService topSecretSplitService) {
@@ -36,14 +52,15 @@ public class TopSecretSplitController {
     /**
      * Endpoint POST para recibir la información de un satélite individual.
      *
-     * @param satelliteName El nombre del satélite (por ejemplo, "kenobi", "skywalker" o "sato").
-     * @param satellite     Objeto Satellite con la distancia y los fragmentos del mensaje.
+     * @param transmissionId Identificador de la transmisión a la que pertenece el fragmento.
+     * @param satelliteName  El nombre del satélite (por ejemplo, "kenobi", "skywalker" o "sato").
+     * @param satellite      Objeto Satellite con la distancia y los fragmentos del mensaje.
      * @return ResponseEntity con un mensaje de éxito en caso de guardar correctamente los datos.
      */
     @PostMapping("/{satellite_name}")
     @Operation(
             summary = "Servicio POST para enviar datos de un satélite individual.",
-            description = "Recibe el nombre del satélite en la URL y su información en el cuerpo de la petición, almacenándola para consolidar el mensaje.",
+            description = "Recibe el nombre del satélite en la URL y su información en el cuerpo de la petición, almacenándola para consolidar el mensaje. El encabezado opcional X-Transmission-Id separa los fragmentos de cada transmisión.",
             responses = {
                     @ApiResponse(
                             responseCode = "200",
@@ -75,10 +92,32 @@ public class TopSecretSplitController {
                     )
             }
     )
-    public ResponseEntity<?> postSatelliteData(@PathVariable("satellite_name") String satelliteName,
+    public ResponseEntity<?> postSatelliteData(@RequestHeader(value = TRANSMISSION_HEADER, defaultValue = DEFAULT_TRANSMISSION) String transmissionId,
+                                               @PathVariable("satellite_name") String satelliteName,
                                                @Valid @RequestBody Satellite satellite) {
-        ValidationUtil.validateSatelliteName(satelliteName);
-        topSecretSplitService.storeSatellite(satelliteName, satellite);
+        topSecretSplitService.storeSatellite(transmissionId, satelliteName, satellite);
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "fragmento guardado exitosamente");
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Endpoint POST para recibir la información de un satélite individual en formato binario.
+     *
+     * @param transmissionId Identificador de la transmisión a la que pertenece el fragmento.
+     * @param satelliteName  El nombre del satélite, que debe coincidir con el índice indicado en el frame.
+     * @param frame          Frame binario {@value SatelliteFrameCodec#MEDIA_TYPE} con un único satélite.
+     * @return ResponseEntity con un mensaje de éxito en caso de guardar correctamente los datos.
+     */
+    @PostMapping(value = "/{satellite_name}", consumes = SatelliteFrameCodec.MEDIA_TYPE)
+    @Operation(
+            summary = "Servicio POST para enviar datos de un satélite individual en formato binario.",
+            description = "Igual que el servicio JSON, pero el cuerpo es un frame binario con un único satélite cuyo índice corresponde al nombre de la URL."
+    )
+    public ResponseEntity<?> postSatelliteFrame(@RequestHeader(value = TRANSMISSION_HEADER, defaultValue = DEFAULT_TRANSMISSION) String transmissionId,
+                                                @PathVariable("satellite_name") String satelliteName,
+                                                @RequestBody SatelliteFrame frame) {
+        topSecretSplitService.storeSatellite(transmissionId, satelliteName, frame);
         Map<String, String> response = new HashMap<>();
         response.put("message", "fragmento guardado exitosamente");
         return ResponseEntity.ok(response);
@@ -87,12 +126,13 @@ public class TopSecretSplitController {
     /**
      * Endpoint GET para consolidar la información de los tres satélites y calcular la posición y el mensaje.
      *
+     * @param transmissionId Identificador de la transmisión a consolidar.
      * @return ResponseEntity con RebelResponse en caso de éxito, o un error en caso de información insuficiente.
      */
     @GetMapping
     @Operation(
             summary = "Servicio GET para consultar el mensaje secreto consolidado.",
-            description = "Consolida la información de los tres satélites para calcular la posición del emisor y reconstruir el mensaje.",
+            description = "Consolida la información de los tres satélites de la transmisión indicada en el encabezado opcional X-Transmission-Id para calcular la posición del emisor y reconstruir el mensaje.",
             responses = {
                     @ApiResponse(
                             responseCode = "200",
@@ -124,8 +164,58 @@ public class TopSecretSplitController {
                     )
             }
     )
-    public ResponseEntity<RebelResponse> getTopSecretSplit() {
-        RebelResponse response = topSecretSplitService.processStoredData();
+    public ResponseEntity<RebelResponse> getTopSecretSplit(@RequestHeader(value = TRANSMISSION_HEADER, defaultValue = DEFAULT_TRANSMISSION) String transmissionId) {
+        RebelResponse response = topSecretSplitService.processStoredData(transmissionId);
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Endpoint GET para suscribirse al resultado de una transmisión mediante Server-Sent Events.
+     * <p>
+     * Envía un único evento "result" con el RebelResponse en cuanto la transmisión tiene los tres satélites, o un
+     * evento "error" si la transmisión expira o no puede procesarse, y luego cierra la conexión.
+     * </p>
+     *
+     * @param transmissionId Identificador de la transmisión.
+     * @return SseEmitter por el que se envía el resultado.
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Servicio GET para recibir el mensaje secreto consolidado mediante Server-Sent Events.",
+            description = "Mantiene la conexión abierta hasta que la transmisión indicada en el encabezado opcional X-Transmission-Id tiene los tres satélites y envía el resultado como un evento, evitando consultar periódicamente el GET.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Flujo de eventos",
+                            content = @Content(
+                                    mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Ejemplo de evento",
+                                                    value = "event:result\ndata:{\"position\":{\"x\":\"valor de x\",\"y\":\"valor de y\"},\"message\":\"mensaje completo obtenido de los satélites\"}"
+                                            )
+                                    }
+                            )
+                    )
+            }
+    )
+    public SseEmitter subscribeTopSecretSplit(@RequestHeader(value = TRANSMISSION_HEADER, defaultValue = DEFAULT_TRANSMISSION) String transmissionId) {
+        SseEmitter emitter = new SseEmitter();
+        topSecretSplitService.awaitResult(transmissionId).whenComplete((response, error) -> {
+            try {
+                if (error == null) {
+                    emitter.send(SseEmitter.event().name("result").data(response, MediaType.APPLICATION_JSON));
+                } else {
+                    Throwable cause = error.getCause() != null ? error.getCause() : error;
+                    String message = cause instanceof TopsecretException ? cause.getMessage() : "Información insuficiente o error en la operación";
+                    emitter.send(SseEmitter.event().name("error").data(Map.of("message", message), MediaType.APPLICATION_JSON));
+                }
+                emitter.complete();
+            } catch (IOException | IllegalStateException ex) {
+                // El cliente cerró la conexión o el emisor ya expiró.
+                emitter.completeWithError(ex);
+            }
+        });
+        return emitter;
+    }
 }
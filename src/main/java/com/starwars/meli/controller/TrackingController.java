@@ -0,0 +1,116 @@
+package com.starwars.meli.controller;
+
+import com.starwars.meli.model.RebelRequest;
+import com.starwars.meli.model.TrackEstimate;
+import com.starwars.meli.service.ITrackingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * Controlador REST para el endpoint "/track".
+ * <p>
+ * Permite seguir a un emisor en movimiento: cada POST incorpora una nueva medición al seguimiento indicado en la
+ * URL y el GET devuelve su estado actual. La lógica de negocio se delega al servicio.
+ * </p>
+ */
+@RestController
+@RequestMapping("/track")
+public class TrackingController {
+
+    private final ITrackingService trackingService;
+
+    public TrackingController(ITrackingService trackingService) {
+        this.trackingService = trackingService;
+    }
+
+    /**
+     * Endpoint POST para incorporar una medición al seguimiento de un emisor.
+     *
+     * @param trackId   Identificador del seguimiento.
+     * @param timestamp Momento de la medición, en milisegundos desde la época; por defecto, el de su recepción.
+     * @param request   Objeto RebelRequest con la información de los satélites.
+     * @return ResponseEntity con el estado del seguimiento después de incorporar la medición.
+     */
+    @PostMapping("/{track_id}")
+    @Operation(
+            summary = "Servicio POST para incorporar una medición al seguimiento de un emisor.",
+            description = "Calcula la posición del emisor partiendo de la posición predicha por su seguimiento y la incorpora a un filtro de Kalman de velocidad constante. Crea el seguimiento si no existe. El parámetro opcional timestamp indica el momento de la medición en milisegundos desde la época.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Operación exitosa",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = TrackEstimate.class),
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Ejemplo de respuesta",
+                                                    value = "{\n  \"trackId\": \"emisor-1\",\n  \"position\": { \"x\": \"valor x\", \"y\": \"valor y\" },\n  \"velocity\": { \"x\": \"valor vx\", \"y\": \"valor vy\" },\n  \"accuracy\": { \"...\": \"covarianza y elipse de error\" },\n  \"updates\": 3,\n  \"updatedAt\": 1700000000000\n}"
+                                            )
+                                    }
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Bad Request",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = Map.class),
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Error Ejemplo",
+                                                    value = "{\n  \"message\": \"Información insuficiente o error en la operación\"\n}"
+                                            )
+                                    }
+                            )
+                    )
+            }
+    )
+    public ResponseEntity<TrackEstimate> updateTrack(@PathVariable("track_id") String trackId,
+                                                     @RequestParam(value = "timestamp", required = false) Long timestamp,
+                                                     @Valid @RequestBody RebelRequest request) {
+        long measuredAt = timestamp != null ? timestamp : System.currentTimeMillis();
+        return ResponseEntity.ok(trackingService.update(trackId, request, measuredAt));
+    }
+
+    /**
+     * Endpoint GET para consultar el estado actual del seguimiento de un emisor.
+     *
+     * @param trackId Identificador del seguimiento.
+     * @return ResponseEntity con el estado del seguimiento, o un error si no existe.
+     */
+    @GetMapping("/{track_id}")
+    @Operation(
+            summary = "Servicio GET para consultar el estado del seguimiento de un emisor.",
+            description = "Devuelve la posición y velocidad filtradas del emisor, con la precisión de la posición, tras su última medición.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Operación exitosa",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = TrackEstimate.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "El seguimiento no existe o expiró",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = Map.class)
+                            )
+                    )
+            }
+    )
+    public ResponseEntity<TrackEstimate> getTrack(@PathVariable("track_id") String trackId) {
+        return ResponseEntity.ok(trackingService.get(trackId));
+    }
+}
@@ -6,15 +6,40 @@ package com.starwars.meli.exception;
  * Se lanza cuando ocurre un error relacionado con la validación de datos o
  * el procesamiento de la información de los satélites.
  * </p>
+ * <p>
+ * Siempre se debe a los datos recibidos y se responde al cliente sin registrarse, así que no captura la pila de
+ * llamadas: rechazar una solicitud no cuesta más que procesarla. Los errores de mensaje fijo usan las instancias
+ * preasignadas {@link #INSUFFICIENT_DATA} e {@link #INVALID_DATA}, que se pueden lanzar desde varios hilos a la vez.
+ * </p>
  */
 public class TopsecretException extends RuntimeException {
 
+    /**
+     * Mensaje de error cuando la información recibida no alcanza para resolver la solicitud.
+     */
+    public static final String INSUFFICIENT_DATA_MESSAGE = "Información insuficiente o error en la operación";
+
+    /**
+     * Mensaje de error cuando los datos de un satélite no son válidos.
+     */
+    public static final String INVALID_DATA_MESSAGE = "Datos inválidos";
+
+    /**
+     * Error por información insuficiente o inconsistente.
+     */
+    public static final TopsecretException INSUFFICIENT_DATA = new TopsecretException(INSUFFICIENT_DATA_MESSAGE);
+
+    /**
+     * Error por datos inválidos de un satélite.
+     */
+    public static final TopsecretException INVALID_DATA = new TopsecretException(INVALID_DATA_MESSAGE);
+
     /**
      * Crea una nueva instancia de TopsecretException con el mensaje de error proporcionado.
      *
      * @param message El mensaje que describe la causa del error.
      */
     public TopsecretException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
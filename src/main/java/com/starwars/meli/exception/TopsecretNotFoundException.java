@@ -0,0 +1,23 @@
+package com.starwars.meli.exception;
+
+/**
+ * Excepción que indica que una transmisión de topsecret_split no tiene todavía la información necesaria para
+ * resolverse, o que no pudo resolverse. Se responde con 404 en lugar de 400.
+ */
+public class TopsecretNotFoundException extends TopsecretException {
+
+    /**
+     * Error por transmisión inexistente, incompleta o sin resultado.
+     */
+    public static final TopsecretNotFoundException INSUFFICIENT_DATA =
+            new TopsecretNotFoundException(INSUFFICIENT_DATA_MESSAGE);
+
+    /**
+     * Crea una nueva instancia de TopsecretNotFoundException con el mensaje de error proporcionado.
+     *
+     * @param message El mensaje que describe la causa del error.
+     */
+    public TopsecretNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,28 @@
+package com.starwars.meli.exception;
+
+/**
+ * Excepción que indica que el nodo dueño de una transmisión de topsecret_split no respondió. No se debe a los datos
+ * recibidos y se responde con 503, para que el cliente pueda reintentar.
+ */
+public class TopsecretUnavailableException extends TopsecretException {
+
+    /**
+     * Mensaje de error cuando el nodo dueño de la transmisión no está disponible.
+     */
+    public static final String NODE_UNAVAILABLE_MESSAGE = "Nodo de topsecret_split no disponible";
+
+    /**
+     * Error por nodo dueño no disponible.
+     */
+    public static final TopsecretUnavailableException NODE_UNAVAILABLE =
+            new TopsecretUnavailableException(NODE_UNAVAILABLE_MESSAGE);
+
+    /**
+     * Crea una nueva instancia de TopsecretUnavailableException con el mensaje de error proporcionado.
+     *
+     * @param message El mensaje que describe la causa del error.
+     */
+    public TopsecretUnavailableException(String message) {
+        super(message);
+    }
+}
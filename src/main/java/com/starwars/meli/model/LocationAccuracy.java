@@ -0,0 +1,73 @@
+package com.starwars.meli.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Clase que representa la precisión estimada de la posición del emisor: su matriz de covarianza y la elipse de
+ * error equivalente (a una desviación estándar).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LocationAccuracy {
+
+    /**
+     * Varianza de la coordenada x.
+     */
+    private double covarianceXX;
+
+    /**
+     * Covarianza entre las coordenadas x e y.
+     */
+    private double covarianceXY;
+
+    /**
+     * Varianza de la coordenada y.
+     */
+    private double covarianceYY;
+
+    /**
+     * Semieje mayor de la elipse de error.
+     */
+    private double semiMajorAxis;
+
+    /**
+     * Semieje menor de la elipse de error.
+     */
+    private double semiMinorAxis;
+
+    /**
+     * Ángulo del semieje mayor respecto del eje x, en grados.
+     */
+    private double orientation;
+
+    /**
+     * Satélites descartados como atípicos al calcular la posición.
+     */
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<String> discardedSatellites;
+
+    /**
+     * Crea la precisión a partir de la matriz de covarianza, calculando la elipse de error con sus valores y
+     * vectores propios.
+     *
+     * @param xx                  Varianza de x.
+     * @param xy                  Covarianza entre x e y.
+     * @param yy                  Varianza de y.
+     * @param discardedSatellites Satélites descartados como atípicos.
+     * @return La precisión de la posición.
+     */
+    public static LocationAccuracy fromCovariance(double xx, double xy, double yy, List<String> discardedSatellites) {
+        double mean = (xx + yy) / 2;
+        double radius = Math.sqrt((xx - yy) * (xx - yy) / 4 + xy * xy);
+        double semiMajor = Math.sqrt(Math.max(mean + radius, 0));
+        double semiMinor = Math.sqrt(Math.max(mean - radius, 0));
+        double orientation = Math.toDegrees(Math.atan2(2 * xy, xx - yy) / 2);
+        return new LocationAccuracy(xx, xy, yy, semiMajor, semiMinor, orientation, discardedSatellites);
+    }
+}
@@ -0,0 +1,45 @@
+package com.starwars.meli.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Clase que representa la calidad de la convergencia del cálculo de la posición: la vía que la resolvió, el residuo
+ * final y el trabajo del optimizador.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LocationDiagnostics {
+
+    /**
+     * Vía de resolución en forma cerrada.
+     */
+    public static final String CLOSED_FORM = "closed-form";
+
+    /**
+     * Vía de resolución con el optimizador Levenberg-Marquardt.
+     */
+    public static final String LEVENBERG_MARQUARDT = "levenberg-marquardt";
+
+    /**
+     * Vía que resolvió la posición: {@value #CLOSED_FORM} o {@value #LEVENBERG_MARQUARDT}.
+     */
+    private String solver;
+
+    /**
+     * Residuo RMS entre las distancias medidas y las distancias de la posición calculada a cada satélite usado.
+     */
+    private double rmsResidual;
+
+    /**
+     * Iteraciones del optimizador; 0 si la posición se resolvió en forma cerrada.
+     */
+    private int iterations;
+
+    /**
+     * Evaluaciones de la función de trilateración del optimizador; 0 si la posición se resolvió en forma cerrada.
+     */
+    private int evaluations;
+}
@@ -0,0 +1,28 @@
+package com.starwars.meli.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Clase que representa la posición calculada del emisor junto con su precisión estimada y la calidad de la
+ * convergencia del cálculo.
+ */
+@Data
+@AllArgsConstructor
+public class LocationEstimate {
+
+    /**
+     * Coordenadas calculadas del emisor.
+     */
+    private Position position;
+
+    /**
+     * Precisión de la posición, o null si la geometría no permite estimarla.
+     */
+    private LocationAccuracy accuracy;
+
+    /**
+     * Vía de resolución, residuo final y trabajo del optimizador.
+     */
+    private LocationDiagnostics diagnostics;
+}
@@ -0,0 +1,74 @@
+package com.starwars.meli.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.IOException;
+
+/**
+ * Clase que representa la respuesta de un lote de solicitudes topsecret.
+ * <p>
+ * Guarda los resultados como estructura de arreglos primitivos y se serializa directamente como un arreglo JSON
+ * de {@link RebelResponse}, sin crear un objeto {@link Position} por cada emisor. Los emisores que no pudieron
+ * resolverse se escriben como {@code {"message": ...}} con su error, igual que en el flujo NDJSON de /topsecret/.
+ * </p>
+ */
+@Getter
+@AllArgsConstructor
+@JsonSerialize(using = RebelBatchResponse.Serializer.class)
+public class RebelBatchResponse {
+
+    /**
+     * Coordenada x de cada emisor.
+     */
+    private final double[] xs;
+
+    /**
+     * Coordenada y de cada emisor.
+     */
+    private final double[] ys;
+
+    /**
+     * Mensaje reconstruido de cada emisor.
+     */
+    private final String[] messages;
+
+    /**
+     * Error de cada emisor que no pudo resolverse, o null si se resolvió.
+     */
+    private final String[] errors;
+
+    /**
+     * Serializador que escribe cada resultado con la misma forma que {@link RebelResponse}, o su error.
+     */
+    static class Serializer extends StdSerializer<RebelBatchResponse> {
+
+        Serializer() {
+            super(RebelBatchResponse.class);
+        }
+
+        @Override
+        public void serialize(RebelBatchResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartArray(value, value.messages.length);
+            for (int i = 0; i < value.messages.length; i++) {
+                gen.writeStartObject();
+                if (value.errors[i] != null) {
+                    gen.writeStringField("message", value.errors[i]);
+                    gen.writeEndObject();
+                    continue;
+                }
+                gen.writeObjectFieldStart("position");
+                gen.writeNumberField("x", value.xs[i]);
+                gen.writeNumberField("y", value.ys[i]);
+                gen.writeEndObject();
+                gen.writeStringField("message", value.messages[i]);
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+        }
+    }
+}
@@ -1,12 +1,15 @@
 package com.starwars.meli.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 /**
  * Clase que representa la respuesta, la cual contiene posicion del emisor y el mensaje que emite completo.
  */
 @Data
+@NoArgsConstructor
 @AllArgsConstructor
 public class RebelResponse {
     /**
@@ -18,4 +21,24 @@ public class RebelResponse {
      * Mensaje completo reconstruido a partir de los fragmentos recibidos.
      */
     private String message;
+
+    /**
+     * Precisión estimada de la posición (covarianza y elipse de error), cuando está disponible.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private LocationAccuracy accuracy;
+
+    /**
+     * Calidad de la convergencia del cálculo de la posición, si se activó {@code location.diagnostics.enabled}.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private LocationDiagnostics diagnostics;
+
+    public RebelResponse(Position position, String message) {
+        this(position, message, null, null);
+    }
+
+    public RebelResponse(Position position, String message, LocationAccuracy accuracy) {
+        this(position, message, accuracy, null);
+    }
 }
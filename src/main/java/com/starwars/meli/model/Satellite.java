@@ -1,7 +1,10 @@
 package com.starwars.meli.model;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.starwars.meli.codec.WordArrayDeserializer;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import lombok.Data;
 
 /**
@@ -20,10 +23,18 @@ public class Satellite {
     @NotNull(message = "La distancia es obligatoria")
     private Double distance;
 
+    /**
+     * Varianza opcional de la distancia medida por el satélite; las distancias con menor varianza pesan más al
+     * calcular la posición.
+     */
+    @Positive(message = "La varianza debe ser positiva")
+    private Double variance;
+
     /**
      * Array de fragmento del mensaje recibido por el satélite.
      */
     @NotNull(message = "El mensaje es obligatorio")
     @NotEmpty(message = "El mensaje no puede estar vacío")
+    @JsonDeserialize(using = WordArrayDeserializer.class)
     private String[] message;
 }
@@ -0,0 +1,64 @@
+package com.starwars.meli.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Clase que representa una operación de topsecret_split enviada al nodo dueño de la transmisión, dentro de un lote.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SplitOperation {
+
+    /**
+     * Tipo de operación.
+     */
+    public enum Type {
+        /**
+         * Guarda el fragmento de un satélite.
+         */
+        STORE,
+        /**
+         * Obtiene el resultado de la transmisión.
+         */
+        RESULT
+    }
+
+    private Type type;
+
+    /**
+     * Identificador de la transmisión.
+     */
+    private String transmissionId;
+
+    /**
+     * Índice del satélite en la constelación (solo en STORE).
+     */
+    private int slot;
+
+    /**
+     * Satélite con su nombre normalizado, distancia y fragmento del mensaje (solo en STORE).
+     */
+    private Satellite satellite;
+
+    /**
+     * Momento en que se recibió el fragmento, en milisegundos desde la época (solo en STORE).
+     */
+    private long timestamp;
+
+    /**
+     * Operación que guarda un fragmento.
+     */
+    public static SplitOperation store(String transmissionId, int slot, Satellite satellite, long timestamp) {
+        return new SplitOperation(Type.STORE, transmissionId, slot, satellite, timestamp);
+    }
+
+    /**
+     * Operación que obtiene el resultado de una transmisión.
+     */
+    public static SplitOperation result(String transmissionId) {
+        return new SplitOperation(Type.RESULT, transmissionId, 0, null, 0);
+    }
+}
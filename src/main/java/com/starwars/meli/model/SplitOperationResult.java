@@ -0,0 +1,46 @@
+package com.starwars.meli.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Clase que representa el resultado de una {@link SplitOperation} en el nodo dueño de la transmisión: el estado
+ * HTTP con el que se respondería la operación y, según el caso, la respuesta o el mensaje de error.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SplitOperationResult {
+
+    /**
+     * Estado HTTP de la operación: 200, o el de la excepción que produjo.
+     */
+    private int status;
+
+    /**
+     * Resultado de la transmisión (solo en RESULT exitoso).
+     */
+    private RebelResponse response;
+
+    /**
+     * Mensaje de error, si la operación falló.
+     */
+    private String message;
+
+    /**
+     * Resultado exitoso, con la respuesta de la transmisión si corresponde.
+     */
+    public static SplitOperationResult ok(RebelResponse response) {
+        return new SplitOperationResult(200, response, null);
+    }
+
+    /**
+     * Resultado fallido.
+     */
+    public static SplitOperationResult error(int status, String message) {
+        return new SplitOperationResult(status, null, message);
+    }
+}
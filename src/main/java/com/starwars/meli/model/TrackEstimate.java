@@ -0,0 +1,42 @@
+package com.starwars.meli.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Clase que representa el estado estimado de un emisor en seguimiento.
+ */
+@Data
+@AllArgsConstructor
+public class TrackEstimate {
+
+    /**
+     * Identificador del seguimiento.
+     */
+    private String trackId;
+
+    /**
+     * Posición filtrada del emisor.
+     */
+    private Position position;
+
+    /**
+     * Velocidad estimada del emisor, en unidades de distancia por segundo.
+     */
+    private Position velocity;
+
+    /**
+     * Precisión de la posición filtrada.
+     */
+    private LocationAccuracy accuracy;
+
+    /**
+     * Cantidad de mediciones incorporadas al seguimiento.
+     */
+    private long updates;
+
+    /**
+     * Momento de la medición más reciente, en milisegundos desde la época.
+     */
+    private long updatedAt;
+}
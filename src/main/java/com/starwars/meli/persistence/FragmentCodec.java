@@ -0,0 +1,153 @@
+package com.starwars.meli.persistence;
+
+import com.starwars.meli.model.Satellite;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32C;
+
+/**
+ * Formato binario de un fragmento en el diario y en las instantáneas.
+ * <p>
+ * Cada registro se escribe como [longitud][CRC32C][contenido]. El contenido guarda el momento de recepción, el
+ * identificador de la transmisión, el nombre del satélite, la distancia, la varianza y las palabras del mensaje.
+ * Una longitud 0 marca el final de los datos; un registro incompleto o con CRC inválido, escrito justo antes de
+ * una caída, también termina la lectura.
+ * </p>
+ * <p>
+ * Las cadenas se escriben en UTF-8 precedidas por su longitud en bytes, sin el límite de 64 KB de
+ * {@link DataOutputStream#writeUTF}.
+ * </p>
+ */
+final class FragmentCodec {
+
+    /**
+     * Tamaño del encabezado de cada registro: longitud y CRC.
+     */
+    static final int RECORD_HEADER = 8;
+
+    private static final int HAS_DISTANCE = 1;
+    private static final int HAS_VARIANCE = 2;
+    private static final int HAS_MESSAGE = 4;
+
+    private FragmentCodec() {
+    }
+
+    /**
+     * Codifica el contenido de un registro.
+     */
+    static byte[] encode(String transmissionId, Satellite satellite, long timestamp) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(timestamp);
+            writeString(out, transmissionId);
+            writeString(out, satellite.getName());
+            int flags = (satellite.getDistance() != null ? HAS_DISTANCE : 0)
+                    | (satellite.getVariance() != null ? HAS_VARIANCE : 0)
+                    | (satellite.getMessage() != null ? HAS_MESSAGE : 0);
+            out.writeByte(flags);
+            if (satellite.getDistance() != null) {
+                out.writeDouble(satellite.getDistance());
+            }
+            if (satellite.getVariance() != null) {
+                out.writeDouble(satellite.getVariance());
+            }
+            if (satellite.getMessage() != null) {
+                String[] words = satellite.getMessage();
+                out.writeInt(words.length);
+                for (String word : words) {
+                    out.writeBoolean(word != null);
+                    if (word != null) {
+                        writeString(out, word);
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Calcula el CRC32C del contenido de un registro.
+     */
+    static int checksum(byte[] payload, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload, offset, length);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Lee los registros válidos de un búfer, desde su posición actual, y los entrega al receptor.
+     *
+     * @param buffer Búfer posicionado en el primer registro.
+     * @param sink   Receptor de los fragmentos.
+     * @return La cantidad de registros leídos.
+     */
+    static int readAll(ByteBuffer buffer, FragmentSink sink) {
+        int count = 0;
+        while (buffer.remaining() >= RECORD_HEADER) {
+            int start = buffer.position();
+            int length = buffer.getInt(start);
+            if (length <= 0 || length > buffer.remaining() - RECORD_HEADER) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(start + RECORD_HEADER, payload);
+            if (checksum(payload, 0, length) != buffer.getInt(start + 4)) {
+                break;
+            }
+            decode(payload, sink);
+            buffer.position(start + RECORD_HEADER + length);
+            count++;
+        }
+        return count;
+    }
+
+    private static void decode(byte[] payload, FragmentSink sink) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            long timestamp = in.readLong();
+            String transmissionId = readString(in);
+            Satellite satellite = new Satellite();
+            satellite.setName(readString(in));
+            int flags = in.readByte();
+            if ((flags & HAS_DISTANCE) != 0) {
+                satellite.setDistance(in.readDouble());
+            }
+            if ((flags & HAS_VARIANCE) != 0) {
+                satellite.setVariance(in.readDouble());
+            }
+            if ((flags & HAS_MESSAGE) != 0) {
+                String[] words = new String[in.readInt()];
+                for (int i = 0; i < words.length; i++) {
+                    words[i] = in.readBoolean() ? readString(in) : null;
+                }
+                satellite.setMessage(words);
+            }
+            sink.accept(transmissionId, satellite, timestamp);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > in.available()) {
+            throw new EOFException("Cadena más larga que el registro");
+        }
+        return new String(in.readNBytes(length), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,20 @@
+package com.starwars.meli.persistence;
+
+import com.starwars.meli.model.Satellite;
+
+/**
+ * Receptor de fragmentos de topsecret_split, usado al recuperar el estado desde el diario y al tomar una
+ * instantánea del estado en memoria.
+ */
+@FunctionalInterface
+public interface FragmentSink {
+
+    /**
+     * Recibe un fragmento.
+     *
+     * @param transmissionId Identificador de la transmisión.
+     * @param satellite      Fragmento del satélite, con su nombre.
+     * @param timestamp      Momento en que se recibió, en milisegundos desde la época.
+     */
+    void accept(String transmissionId, Satellite satellite, long timestamp);
+}
@@ -0,0 +1,381 @@
+package com.starwars.meli.persistence;
+
+import com.starwars.meli.model.Satellite;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Diario persistente de los fragmentos de topsecret_split, en archivos locales.
+ * <p>
+ * Cada fragmento se agrega a un segmento del diario mapeado en memoria ({@code journal-<n>.log}): escribir es una
+ * copia en memoria, sin llamadas al sistema, y sobrevive a la caída del proceso porque las páginas pertenecen a la
+ * caché del sistema operativo. Un hilo aparte fuerza los segmentos a disco cada {@code split.journal.flush-interval},
+ * de modo que muchas escrituras comparten cada sincronización (group commit). Con {@code split.journal.sync=true},
+ * además, cada escritura espera la siguiente sincronización antes de retornar.
+ * </p>
+ * <p>
+ * Periódicamente el diario se compacta: se abre un segmento nuevo, se escribe una instantánea del estado en
+ * memoria ({@code snapshot-<n>.bin}, que cubre todos los segmentos anteriores a n) y se borran los archivos que
+ * quedan obsoletos. Al iniciar, el estado se reconstruye con la última instantánea y los segmentos posteriores.
+ * Volver a aplicar un fragmento no cambia el estado, por lo que no importa que un fragmento figure a la vez en la
+ * instantánea y en el segmento siguiente.
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "split.journal.enabled", havingValue = "true")
+public class SplitJournal implements DisposableBean {
+
+    private static final int JOURNAL_MAGIC = 0x514a4e31; // "QJN1"
+    private static final int SNAPSHOT_MAGIC = 0x51534e31; // "QSN1"
+    private static final int FILE_HEADER = 8;
+    private static final Pattern JOURNAL_FILE = Pattern.compile("journal-(\\d+)\\.log");
+    private static final Pattern SNAPSHOT_FILE = Pattern.compile("snapshot-(\\d+)\\.bin");
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long flushIntervalNanos;
+    private final boolean sync;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition flushRequested = lock.newCondition();
+    private final Condition flushCompleted = lock.newCondition();
+
+    /*
+     * Estado protegido por el bloqueo. Se usa ReentrantLock y no synchronized para no fijar los hilos virtuales a su
+     * portador mientras esperan.
+     */
+    private MappedByteBuffer segment;
+    private long sequence;
+    private final List<MappedByteBuffer> unflushed = new ArrayList<>();
+    private long written;
+    private long flushed;
+    private long compacted;
+    private boolean running;
+
+    private Consumer<FragmentSink> snapshotSource;
+    private Thread flusher;
+
+    public SplitJournal(@Value("${split.journal.directory:data/split-journal}") Path directory,
+                        @Value("${split.journal.segment-size:64MB}") DataSize segmentSize,
+                        @Value("${split.journal.flush-interval:10ms}") Duration flushInterval,
+                        @Value("${split.journal.sync:false}") boolean sync) {
+        this.directory = directory;
+        this.segmentSize = (int) Math.min(segmentSize.toBytes(), Integer.MAX_VALUE);
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.sync = sync;
+    }
+
+    /**
+     * Recupera el estado guardado y deja el diario listo para agregar fragmentos.
+     *
+     * @param recovery       Receptor de los fragmentos recuperados, en el orden en que se escribieron.
+     * @param snapshotSource Función que entrega todos los fragmentos del estado en memoria, usada al compactar.
+     */
+    public void open(FragmentSink recovery, Consumer<FragmentSink> snapshotSource) {
+        try {
+            Files.createDirectories(directory);
+            TreeMap<Long, Path> journals = list(JOURNAL_FILE);
+            TreeMap<Long, Path> snapshots = list(SNAPSHOT_FILE);
+            long from = 0;
+            int recovered = 0;
+            if (!snapshots.isEmpty()) {
+                from = snapshots.lastKey();
+                recovered += read(snapshots.lastEntry().getValue(), SNAPSHOT_MAGIC, recovery);
+            }
+            for (Path journal : journals.tailMap(from, true).values()) {
+                recovered += read(journal, JOURNAL_MAGIC, recovery);
+            }
+            // El final de los segmentos existentes puede estar incompleto, así que se escribe siempre en uno nuevo.
+            long next = Math.max(from, journals.isEmpty() ? 0 : journals.lastKey()) + 1;
+            lock.lock();
+            try {
+                this.snapshotSource = snapshotSource;
+                this.segment = map(next);
+                this.sequence = next;
+                this.running = true;
+            } finally {
+                lock.unlock();
+            }
+            log.info("Diario de topsecret_split recuperado desde {}: {} fragmentos", directory, recovered);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("No se pudo abrir el diario de topsecret_split", ex);
+        }
+        flusher = Thread.ofPlatform().daemon().name("split-journal-flusher").start(this::flushLoop);
+    }
+
+    /**
+     * Agrega un fragmento al diario.
+     *
+     * @param transmissionId Identificador de la transmisión.
+     * @param satellite      Fragmento del satélite, con su nombre.
+     * @param timestamp      Momento en que se recibió, en milisegundos desde la época.
+     * @throws IllegalArgumentException Si el fragmento no cabe en un segmento del diario.
+     */
+    public void append(String transmissionId, Satellite satellite, long timestamp) {
+        append(encode(transmissionId, satellite, timestamp));
+    }
+
+    /**
+     * Codifica un fragmento para {@link #append(byte[])}, sin escribirlo. Permite rechazar un fragmento que no puede
+     * registrarse antes de aplicarlo en memoria.
+     *
+     * @param transmissionId Identificador de la transmisión.
+     * @param satellite      Fragmento del satélite, con su nombre.
+     * @param timestamp      Momento en que se recibió, en milisegundos desde la época.
+     * @return El contenido del registro.
+     * @throws IllegalArgumentException Si el fragmento no cabe en un segmento del diario.
+     */
+    public byte[] encode(String transmissionId, Satellite satellite, long timestamp) {
+        byte[] payload = FragmentCodec.encode(transmissionId, satellite, timestamp);
+        if (FragmentCodec.RECORD_HEADER + payload.length > segmentSize - FILE_HEADER) {
+            throw new IllegalArgumentException("El fragmento no cabe en un segmento del diario");
+        }
+        return payload;
+    }
+
+    /**
+     * Agrega al diario un fragmento ya codificado con {@link #encode}.
+     *
+     * @param payload Contenido del registro.
+     */
+    public void append(byte[] payload) {
+        // El CRC se calcula fuera del bloqueo; dentro solo se copian los bytes.
+        int crc = FragmentCodec.checksum(payload, 0, payload.length);
+        int recordSize = FragmentCodec.RECORD_HEADER + payload.length;
+        lock.lock();
+        try {
+            if (!running) {
+                throw new IllegalStateException("El diario de topsecret_split no está abierto");
+            }
+            if (segment.remaining() < recordSize) {
+                roll();
+            }
+            int start = segment.position();
+            // La longitud se escribe al final: si el proceso cae a mitad del registro, la lectura se detiene ahí.
+            segment.putInt(start + 4, crc);
+            segment.put(start + FragmentCodec.RECORD_HEADER, payload);
+            segment.putInt(start, payload.length);
+            segment.position(start + recordSize);
+            written += recordSize;
+            if (sync) {
+                long ticket = written;
+                flushRequested.signal();
+                while (flushed < ticket && running) {
+                    flushCompleted.awaitUninterruptibly();
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("No se pudo escribir en el diario de topsecret_split", ex);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Compacta el diario: escribe una instantánea del estado en memoria y borra los segmentos que cubre.
+     */
+    @Scheduled(fixedDelayString = "${split.journal.compaction-interval:1m}",
+            initialDelayString = "${split.journal.compaction-interval:1m}")
+    public void compact() {
+        long snapshotSequence;
+        Consumer<FragmentSink> source;
+        lock.lock();
+        try {
+            if (!running || written == compacted) {
+                return;
+            }
+            compacted = written;
+            // Los fragmentos que se agreguen desde aquí van al segmento nuevo; los anteriores ya están en memoria.
+            roll();
+            snapshotSequence = sequence;
+            source = snapshotSource;
+        } catch (IOException ex) {
+            log.error("No se pudo compactar el diario de topsecret_split", ex);
+            return;
+        } finally {
+            lock.unlock();
+        }
+        try {
+            int fragments = writeSnapshot(snapshotSequence, source);
+            for (Path path : list(JOURNAL_FILE).headMap(snapshotSequence, false).values()) {
+                Files.deleteIfExists(path);
+            }
+            for (Path path : list(SNAPSHOT_FILE).headMap(snapshotSequence, false).values()) {
+                Files.deleteIfExists(path);
+            }
+            log.debug("Diario de topsecret_split compactado: {} fragmentos en la instantánea {}", fragments,
+                    snapshotSequence);
+        } catch (IOException | UncheckedIOException ex) {
+            log.error("No se pudo compactar el diario de topsecret_split", ex);
+        }
+    }
+
+    /**
+     * Detiene el hilo de sincronización y fuerza a disco lo pendiente.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        lock.lock();
+        try {
+            running = false;
+            flushRequested.signalAll();
+            flushCompleted.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        if (flusher != null) {
+            flusher.join();
+        }
+    }
+
+    /**
+     * Fuerza periódicamente a disco los segmentos con escrituras pendientes. Cada sincronización cubre todas las
+     * escrituras hechas hasta su inicio, y las que llegan mientras tanto esperan la siguiente.
+     */
+    private void flushLoop() {
+        lock.lock();
+        try {
+            while (true) {
+                boolean stopping = !running;
+                if (!stopping && written == flushed) {
+                    flushRequested.awaitNanos(flushIntervalNanos);
+                    continue;
+                }
+                long target = written;
+                MappedByteBuffer current = segment;
+                List<MappedByteBuffer> rolled = new ArrayList<>(unflushed);
+                unflushed.clear();
+                lock.unlock();
+                try {
+                    for (MappedByteBuffer buffer : rolled) {
+                        buffer.force();
+                    }
+                    current.force();
+                } finally {
+                    lock.lock();
+                }
+                flushed = target;
+                flushCompleted.signalAll();
+                if (stopping) {
+                    return;
+                }
+                if (!sync) {
+                    flushRequested.awaitNanos(flushIntervalNanos);
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Cierra el segmento actual y abre el siguiente. Debe llamarse con el bloqueo tomado.
+     */
+    private void roll() throws IOException {
+        unflushed.add(segment);
+        segment = map(sequence + 1);
+        sequence++;
+    }
+
+    private MappedByteBuffer map(long number) throws IOException {
+        Path path = directory.resolve("journal-" + number + ".log");
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            // El mapeo sigue siendo válido después de cerrar el canal.
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            buffer.putInt(0, JOURNAL_MAGIC);
+            buffer.position(FILE_HEADER);
+            return buffer;
+        }
+    }
+
+    private int writeSnapshot(long number, Consumer<FragmentSink> source) throws IOException {
+        Path target = directory.resolve("snapshot-" + number + ".bin");
+        Path temporary = directory.resolve("snapshot-" + number + ".tmp");
+        int[] count = {0};
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            OutputStream stream = Channels.newOutputStream(channel);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream, 64 * 1024));
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(0);
+            source.accept((transmissionId, satellite, timestamp) -> {
+                byte[] payload = FragmentCodec.encode(transmissionId, satellite, timestamp);
+                try {
+                    out.writeInt(payload.length);
+                    out.writeInt(FragmentCodec.checksum(payload, 0, payload.length));
+                    out.write(payload);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+                count[0]++;
+            });
+            out.writeInt(0);
+            out.flush();
+            channel.force(true);
+        }
+        // La instantánea solo es visible completa y ya sincronizada.
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return count[0];
+    }
+
+    private int read(Path path, int magic, FragmentSink sink) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < FILE_HEADER) {
+                return 0;
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt(0) != magic) {
+                log.warn("Se ignora {}: no es un archivo del diario", path);
+                return 0;
+            }
+            buffer.position(FILE_HEADER);
+            return FragmentCodec.readAll(buffer, sink);
+        }
+    }
+
+    private TreeMap<Long, Path> list(Pattern pattern) throws IOException {
+        TreeMap<Long, Path> files = new TreeMap<>();
+        try (Stream<Path> paths = Files.list(directory)) {
+            paths.forEach(path -> {
+                Matcher matcher = pattern.matcher(path.getFileName().toString());
+                if (matcher.matches()) {
+                    files.put(Long.parseLong(matcher.group(1)), path);
+                }
+            });
+        }
+        return files;
+    }
+}
@@ -0,0 +1,281 @@
+package com.starwars.meli.replay;
+
+import com.starwars.meli.codec.SatelliteFrameCodec;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Archivo de intercepciones leído mediante mapeo en memoria.
+ * <p>
+ * El archivo se mapea por ventanas de hasta {@link #WINDOW} bytes, porque un {@link MappedByteBuffer} no puede
+ * superar los 2 GB. Este hilo solo ubica los límites de cada registro, sin decodificarlos, y los entrega en
+ * {@link RecordChunk trozos} que referencian la ventana: la decodificación ocurre después, en paralelo, directamente
+ * sobre las páginas mapeadas. Un registro que queda cortado al final de una ventana se lee en la siguiente, que
+ * empieza en él. Una longitud de frame inválida impide ubicar los registros siguientes: desde ella, el resto del
+ * archivo se informa como un único registro inválido, igual en cualquier ventana.
+ * </p>
+ * <p>
+ * Formatos admitidos:
+ * </p>
+ * <ul>
+ *     <li>{@link Format#NDJSON}: un RebelRequest en JSON por línea. Las líneas vacías se ignoran.</li>
+ *     <li>{@link Format#BINARY}: una sucesión de frames de {@link SatelliteFrameCodec}, cada uno precedido por su
+ *     longitud en bytes como varint sin signo.</li>
+ * </ul>
+ */
+final class InterceptFile {
+
+    /**
+     * Tamaño máximo de cada ventana mapeada.
+     */
+    static final int WINDOW = 1 << 30;
+
+    /**
+     * Bytes máximos de la longitud de un frame.
+     */
+    private static final int MAX_VARINT = 5;
+
+    /**
+     * Formato de los registros del archivo.
+     */
+    enum Format {
+        NDJSON, BINARY;
+
+        /**
+         * Formato según la extensión del archivo: {@code .bin} o {@code .frames} para el binario y NDJSON para las
+         * demás.
+         */
+        static Format of(Path path) {
+            String name = path.getFileName().toString().toLowerCase();
+            return name.endsWith(".bin") || name.endsWith(".frames") ? BINARY : NDJSON;
+        }
+    }
+
+    private final Path path;
+    private final Format format;
+    private final int window;
+
+    InterceptFile(Path path, Format format) {
+        this(path, format, WINDOW);
+    }
+
+    InterceptFile(Path path, Format format, int window) {
+        this.path = path;
+        this.format = format;
+        this.window = window;
+    }
+
+    Format format() {
+        return format;
+    }
+
+    /**
+     * Recorre el archivo y entrega sus registros en orden, en trozos de hasta {@code chunkSize} registros.
+     *
+     * @return El tamaño del archivo en bytes.
+     * @throws IOException Si no se puede leer el archivo o un registro no cabe en una ventana.
+     */
+    long forEachChunk(int chunkSize, Consumer<RecordChunk> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long offset = 0;
+            long record = 0;
+            while (offset < size) {
+                int length = (int) Math.min(window, size - offset);
+                boolean last = offset + length == size;
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+                mapped.order(ByteOrder.LITTLE_ENDIAN);
+                Scanner scanner = new Scanner(mapped, last, chunkSize, record, consumer);
+                int consumed = format == Format.NDJSON ? scanner.lines() : scanner.frames();
+                if (consumed == 0 && !last) {
+                    throw new IOException("Registro de más de " + window + " bytes en la posición " + offset);
+                }
+                offset += consumed;
+                record = scanner.record;
+                if (last || scanner.corrupt) {
+                    break;
+                }
+            }
+            return size;
+        }
+    }
+
+    /**
+     * Ubica los registros de una ventana y los agrupa en trozos.
+     */
+    private static final class Scanner {
+
+        private final ByteBuffer buffer;
+        private final boolean last;
+        private final int chunkSize;
+        private final Consumer<RecordChunk> consumer;
+        private long record;
+        /**
+         * Indica si se encontró una longitud inválida, después de la cual no se pueden ubicar más registros.
+         */
+        private boolean corrupt;
+        private int[] offsets;
+        private int[] lengths;
+        private int count;
+
+        Scanner(ByteBuffer buffer, boolean last, int chunkSize, long record, Consumer<RecordChunk> consumer) {
+            this.buffer = buffer;
+            this.last = last;
+            this.chunkSize = chunkSize;
+            this.record = record;
+            this.consumer = consumer;
+            this.offsets = new int[chunkSize];
+            this.lengths = new int[chunkSize];
+        }
+
+        /**
+         * Ubica las líneas de la ventana.
+         *
+         * @return Los bytes consumidos: hasta el inicio de la última línea incompleta, o toda la ventana si es la
+         * última del archivo.
+         */
+        int lines() {
+            int limit = buffer.limit();
+            int start = 0;
+            for (int i = 0; i < limit; i++) {
+                if (buffer.get(i) == '\n') {
+                    line(start, i);
+                    start = i + 1;
+                }
+            }
+            if (last && start < limit) {
+                line(start, limit);
+                start = limit;
+            }
+            flush();
+            return start;
+        }
+
+        private void line(int start, int end) {
+            if (end > start && buffer.get(end - 1) == '\r') {
+                end--;
+            }
+            for (int i = start; i < end; i++) {
+                byte b = buffer.get(i);
+                if (b != ' ' && b != '\t') {
+                    add(start, end - start);
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Ubica los frames de la ventana.
+         *
+         * @return Los bytes consumidos: hasta el inicio del último frame incompleto. En la última ventana, un frame
+         * truncado se entrega igual como registro, para que se informe como inválido. Una longitud inválida se
+         * entrega con el resto de la ventana como un registro y marca el archivo como {@link #corrupt}.
+         */
+        int frames() {
+            int limit = buffer.limit();
+            int[] position = {0};
+            while (position[0] < limit) {
+                int start = position[0];
+                int length;
+                try {
+                    length = SatelliteFrameCodec.varint(buffer, position, limit);
+                } catch (IllegalArgumentException ex) {
+                    // Un varint ocupa a lo sumo 5 bytes: con menos antes del final de la ventana puede estar cortado y
+                    // se relee en la siguiente; con 5 o más es inválido.
+                    if (!last && limit - start < MAX_VARINT) {
+                        flush();
+                        return start;
+                    }
+                    corrupt = true;
+                    add(start, limit - start);
+                    position[0] = limit;
+                    break;
+                }
+                if (length > limit - position[0]) {
+                    if (!last) {
+                        flush();
+                        return start;
+                    }
+                    // Sin la longitud completa no se puede ubicar el registro siguiente: el resto es un solo registro.
+                    add(start, limit - start);
+                    position[0] = limit;
+                    break;
+                }
+                add(position[0], length);
+                position[0] += length;
+            }
+            flush();
+            return position[0];
+        }
+
+        private void add(int offset, int length) {
+            offsets[count] = offset;
+            lengths[count] = length;
+            if (++count == chunkSize) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (count == 0) {
+                return;
+            }
+            consumer.accept(new RecordChunk(buffer, record, Arrays.copyOf(offsets, count), Arrays.copyOf(lengths, count)));
+            record += count;
+            count = 0;
+        }
+    }
+
+    /**
+     * Registros consecutivos del archivo, como posiciones dentro de una ventana mapeada.
+     */
+    static final class RecordChunk {
+
+        private final ByteBuffer buffer;
+        private final long first;
+        private final int[] offsets;
+        private final int[] lengths;
+
+        RecordChunk(ByteBuffer buffer, long first, int[] offsets, int[] lengths) {
+            this.buffer = buffer;
+            this.first = first;
+            this.offsets = offsets;
+            this.lengths = lengths;
+        }
+
+        /**
+         * Ventana que contiene los registros. Se comparte entre trozos: solo debe leerse con acceso absoluto o a
+         * través de un {@link ByteBuffer#duplicate()}.
+         */
+        ByteBuffer buffer() {
+            return buffer;
+        }
+
+        /**
+         * Número de orden en el archivo del primer registro del trozo.
+         */
+        long first() {
+            return first;
+        }
+
+        int size() {
+            return offsets.length;
+        }
+
+        int offset(int index) {
+            return offsets[index];
+        }
+
+        int length(int index) {
+            return lengths[index];
+        }
+    }
+}
@@ -0,0 +1,343 @@
+package com.starwars.meli.replay;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.starwars.meli.codec.SatelliteFrame;
+import com.starwars.meli.codec.SatelliteFrameCodec;
+import com.starwars.meli.codec.WordDictionary;
+import com.starwars.meli.constellation.Constellation;
+import com.starwars.meli.constellation.ConstellationRegistry;
+import com.starwars.meli.exception.TopsecretException;
+import com.starwars.meli.model.Position;
+import com.starwars.meli.model.RebelRequest;
+import com.starwars.meli.model.RebelResponse;
+import com.starwars.meli.replay.InterceptFile.Format;
+import com.starwars.meli.replay.InterceptFile.RecordChunk;
+import com.starwars.meli.service.ILocationService;
+import com.starwars.meli.service.IMessageAssemblerService;
+import com.starwars.meli.validation.SatelliteReadings;
+import com.starwars.meli.validation.ValidationUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Reproducción de un archivo de intercepciones sin pasar por la API REST.
+ * <p>
+ * Lo ejecuta {@code ReplayApplication}, que levanta el contexto sin servidor web con {@code replay.enabled=true}.
+ * El archivo de {@code replay.input} se lee con {@link InterceptFile} y sus registros se resuelven por trozos de
+ * {@code replay.chunk-size} en {@code replay.parallelism} hilos (0 = núcleos disponibles). Cada trozo se valida
+ * contra la constelación vigente, se ubica con {@link ILocationService#calculateLocations} sobre arreglos primitivos
+ * y se ensambla con {@link IMessageAssemblerService}, igual que un lote de /topsecret/batch.
+ * </p>
+ * <p>
+ * Los resultados se escriben en {@code replay.output} como NDJSON, una línea por registro y en el orden del
+ * archivo, a medida que se completan los trozos: a lo sumo dos trozos por hilo esperan en memoria. Los registros
+ * que no pueden leerse o no superan la validación se responden con {@code {"message": ...}}, igual que en el flujo
+ * NDJSON de /topsecret/, y también aquellos cuya posición o mensaje no puede determinarse.
+ * </p>
+ * <p>
+ * Al terminar registra el rendimiento, la cantidad de registros inválidos y sin solución, y las estadísticas de
+ * convergencia del solver tomadas de sus métricas: posiciones resueltas en forma cerrada y con el optimizador, y
+ * promedio de iteraciones y de residuo RMS final del optimizador.
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "replay.enabled", havingValue = "true")
+public class ReplayRunner implements ApplicationRunner {
+
+    private final ILocationService locationService;
+    private final IMessageAssemblerService messageAssemblerService;
+    private final ConstellationRegistry constellationRegistry;
+    private final SatelliteFrameCodec codec;
+    private final ObjectReader requestReader;
+    private final ObjectWriter resultWriter;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final String input;
+    private final String output;
+    private final String format;
+    private final int parallelism;
+    private final int chunkSize;
+
+    public ReplayRunner(ILocationService locationService,
+                        IMessageAssemblerService messageAssemblerService,
+                        ConstellationRegistry constellationRegistry,
+                        WordDictionary dictionary,
+                        ObjectMapper objectMapper,
+                        MeterRegistry meterRegistry,
+                        @Value("${replay.input:}") String input,
+                        @Value("${replay.output:}") String output,
+                        @Value("${replay.format:auto}") String format,
+                        @Value("${replay.parallelism:0}") int parallelism,
+                        @Value("${replay.chunk-size:4096}") int chunkSize) {
+        this.locationService = locationService;
+        this.messageAssemblerService = messageAssemblerService;
+        this.constellationRegistry = constellationRegistry;
+        this.codec = new SatelliteFrameCodec(dictionary);
+        this.objectMapper = objectMapper;
+        this.requestReader = objectMapper.readerFor(RebelRequest.class);
+        this.resultWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.meterRegistry = meterRegistry;
+        this.input = input;
+        this.output = output;
+        this.format = format;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        if (input.isBlank()) {
+            throw new IllegalStateException("Falta el archivo de intercepciones (replay.input)");
+        }
+        Path inputPath = Path.of(input);
+        Path outputPath = output.isBlank()
+                ? inputPath.resolveSibling(inputPath.getFileName() + ".results.ndjson") : Path.of(output);
+        InterceptFile file = new InterceptFile(inputPath,
+                "auto".equalsIgnoreCase(format) ? Format.of(inputPath) : Format.valueOf(format.toUpperCase()));
+        log.info("Reproduciendo {} ({}) en {} hilos hacia {}", inputPath, file.format(), parallelism, outputPath);
+
+        double[] solverBefore = solverStatistics();
+        ChunkResult totals = new ChunkResult(null, 0, 0, 0, 0);
+        long start = System.nanoTime();
+        long bytes;
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(outputPath), 1 << 20)) {
+            ArrayDeque<CompletableFuture<ChunkResult>> pending = new ArrayDeque<>();
+            bytes = file.forEachChunk(chunkSize, chunk -> {
+                if (pending.size() >= 2 * parallelism) {
+                    write(pending.poll(), out, totals);
+                }
+                pending.add(CompletableFuture.supplyAsync(() -> process(chunk, file.format()), executor));
+            });
+            while (!pending.isEmpty()) {
+                write(pending.poll(), out, totals);
+            }
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        } finally {
+            executor.shutdownNow();
+        }
+        long elapsed = Math.max(System.nanoTime() - start, 1);
+        double[] solver = solverStatistics();
+        for (int i = 0; i < solver.length; i++) {
+            solver[i] -= solverBefore[i];
+        }
+
+        double seconds = elapsed / 1e9;
+        log.info("Reproducción completada: {} registros ({} MB) en {} s, {} registros/s, {} MB/s",
+                totals.records, format(bytes / 1e6), format(seconds), format(totals.records / seconds),
+                format(bytes / 1e6 / seconds));
+        log.info("Resueltos: {}, inválidos: {}{}, sin solución: {}",
+                totals.records - totals.malformed - totals.unsolved, totals.malformed,
+                totals.firstMalformed > 0 ? " (el primero es el registro n.º " + totals.firstMalformed + ")" : "",
+                totals.unsolved);
+        double solved = solver[0] + solver[1];
+        log.info("Solver: {} posiciones en forma cerrada y {} con Levenberg-Marquardt ({} %); el optimizador usó en "
+                        + "promedio {} iteraciones y terminó con un residuo RMS de {}",
+                (long) solver[0], (long) solver[1], format(solved == 0 ? 0 : 100 * solver[1] / solved),
+                format(solver[2] == 0 ? 0 : solver[3] / solver[2]), format(solver[4] == 0 ? 0 : solver[5] / solver[4]));
+    }
+
+    /**
+     * Espera el resultado de un trozo, lo escribe y lo suma a los totales.
+     */
+    private static void write(CompletableFuture<ChunkResult> future, OutputStream out, ChunkResult totals) {
+        ChunkResult result;
+        try {
+            result = future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+        try {
+            out.write(result.output);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        if (totals.firstMalformed == 0) {
+            totals.firstMalformed = result.firstMalformed;
+        }
+        totals.records += result.records;
+        totals.malformed += result.malformed;
+        totals.unsolved += result.unsolved;
+    }
+
+    /**
+     * Lee, valida y resuelve los registros de un trozo, y los serializa como NDJSON.
+     */
+    ChunkResult process(RecordChunk chunk, Format format) {
+        Constellation constellation = constellationRegistry.current();
+        int size = chunk.size();
+        int satelliteCount = constellation.size();
+        double[][] distances = new double[satelliteCount][size];
+        String[][][] fragments = new String[size][][];
+        String[] errors = new String[size];
+        int[] records = new int[size];
+        int valid = 0;
+        long firstMalformed = 0;
+
+        // Lectura y validación; la copia de la ventana permite fijar los límites de cada registro sin afectar a los
+        // demás trozos.
+        ByteBuffer buffer = chunk.buffer().duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        byte[] line = new byte[256];
+        SatelliteReadings readings = new SatelliteReadings();
+        for (int i = 0; i < size; i++) {
+            int offset = chunk.offset(i);
+            int length = chunk.length(i);
+            try {
+                if (format == Format.NDJSON) {
+                    if (line.length < length) {
+                        line = new byte[Math.max(length, 2 * line.length)];
+                    }
+                    buffer.get(offset, line, 0, length);
+                    RebelRequest request = requestReader.readValue(line, 0, length);
+                    if (request == null) {
+                        throw TopsecretException.INVALID_DATA;
+                    }
+                    ValidationUtil.validateRebelRequest(request, constellation, readings);
+                } else {
+                    buffer.clear().position(offset).limit(offset + length);
+                    SatelliteFrame frame = codec.decode(buffer);
+                    if (buffer.hasRemaining()) {
+                        throw new IllegalArgumentException("Datos sobrantes después del frame");
+                    }
+                    ValidationUtil.validateSatelliteFrame(frame, constellation, readings);
+                }
+            } catch (TopsecretException ex) {
+                errors[i] = ex.getMessage();
+            } catch (IOException | IllegalArgumentException ex) {
+                errors[i] = TopsecretException.INVALID_DATA_MESSAGE;
+            }
+            if (errors[i] != null) {
+                firstMalformed = firstMalformed == 0 ? chunk.first() + i + 1 : firstMalformed;
+                continue;
+            }
+            fragments[valid] = readings.messages().clone();
+            for (int s = 0; s < satelliteCount; s++) {
+                distances[s][valid] = readings.distances()[s];
+            }
+            records[valid++] = i;
+        }
+        readings.clear();
+        int malformed = size - valid;
+
+        // Los emisores sin solución quedan en NaN y se responden con su error en solve.
+        double[] xs = new double[valid];
+        double[] ys = new double[valid];
+        locationService.calculateLocations(distances, xs, ys, 0, valid);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(size * 96);
+        int unsolved = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+            for (int i = 0, k = 0; i < size; i++) {
+                Object result;
+                if (errors[i] != null) {
+                    result = Map.of("message", errors[i]);
+                } else {
+                    result = solve(xs[k], ys[k], fragments[k]);
+                    k++;
+                    if (!(result instanceof RebelResponse)) {
+                        unsolved++;
+                    }
+                }
+                resultWriter.writeValue(generator, result);
+                generator.writeRaw('\n');
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return new ChunkResult(out.toByteArray(), size, malformed, unsolved, firstMalformed);
+    }
+
+    /**
+     * Respuesta de un registro válido: la posición y el mensaje, o un error si alguno no pudo determinarse.
+     */
+    private Object solve(double x, double y, String[][] fragments) {
+        if (!Double.isFinite(x) || !Double.isFinite(y)) {
+            return Map.of("message", TopsecretException.INSUFFICIENT_DATA_MESSAGE);
+        }
+        try {
+            return new RebelResponse(new Position(x, y), messageAssemblerService.assembleMessage(Arrays.asList(fragments)));
+        } catch (TopsecretException ex) {
+            return Map.of("message", ex.getMessage());
+        }
+    }
+
+    /**
+     * Valores acumulados de las métricas del solver: posiciones en forma cerrada, posiciones con el optimizador, y
+     * cantidad y suma de las iteraciones y de los residuos del optimizador.
+     */
+    private double[] solverStatistics() {
+        Counter closedForm = meterRegistry.find("location.solutions").tag("solver", "closed-form").counter();
+        Counter optimizer = meterRegistry.find("location.solutions").tag("solver", "levenberg-marquardt").counter();
+        DistributionSummary iterations = meterRegistry.find("location.optimizer.iterations").summary();
+        DistributionSummary residual = meterRegistry.find("location.optimizer.residual").summary();
+        return new double[]{
+                closedForm == null ? 0 : closedForm.count(),
+                optimizer == null ? 0 : optimizer.count(),
+                iterations == null ? 0 : iterations.count(),
+                iterations == null ? 0 : iterations.totalAmount(),
+                residual == null ? 0 : residual.count(),
+                residual == null ? 0 : residual.totalAmount()
+        };
+    }
+
+    private static String format(double value) {
+        return String.format("%.2f", value);
+    }
+
+    /**
+     * Resultado serializado de un trozo y sus contadores; también acumula los totales de la reproducción.
+     */
+    static final class ChunkResult {
+
+        private final byte[] output;
+        private long records;
+        private long malformed;
+        private long unsolved;
+        /**
+         * Número de orden, desde 1, del primer registro inválido; 0 si no hay ninguno.
+         */
+        private long firstMalformed;
+
+        ChunkResult(byte[] output, long records, long malformed, long unsolved, long firstMalformed) {
+            this.output = output;
+            this.records = records;
+            this.malformed = malformed;
+            this.unsolved = unsolved;
+            this.firstMalformed = firstMalformed;
+        }
+    }
+}
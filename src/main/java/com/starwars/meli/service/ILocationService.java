@@ -1,5 +1,6 @@
 package com.starwars.meli.service;
 
+import com.starwars.meli.model.LocationEstimate;
 import com.starwars.meli.model.Position;
 
 /**
@@ -13,4 +14,38 @@ public interface ILocationService {
      * @return Un objeto {@link Position} que contiene las coordenadas (x, y) calculadas.
      */
     Position calculateLocation(double[] distances);
+
+    /**
+     * Calcula las coordenadas del emisor junto con su precisión, ponderando cada distancia según su varianza.
+     *
+     * @param distances Arreglo de distancias, una por satélite de la constelación.
+     * @param variances Varianza de cada distancia, o null si no se conocen; las posiciones NaN del arreglo usan la
+     *                  varianza por defecto.
+     * @return La posición calculada, su covarianza y elipse de error, y los datos de convergencia del cálculo.
+     */
+    LocationEstimate estimateLocation(double[] distances, double[] variances);
+
+    /**
+     * Igual que {@link #estimateLocation(double[], double[])}, pero con un punto de partida sugerido para el
+     * optimizador, por ejemplo la posición predicha de un emisor en seguimiento. El optimizador parte de ese punto
+     * cuando es más consistente con las distancias que la solución lineal.
+     *
+     * @param distances Arreglo de distancias, una por satélite de la constelación.
+     * @param variances Varianza de cada distancia, o null si no se conocen.
+     * @param start     Punto de partida sugerido {x, y}, o null para partir siempre de la solución lineal.
+     * @return La posición calculada, su covarianza y elipse de error, y los datos de convergencia del cálculo.
+     */
+    LocationEstimate estimateLocation(double[] distances, double[] variances, double[] start);
+
+    /**
+     * Calcula en lote las coordenadas de varios emisores sobre arreglos primitivos (estructura de arreglos).
+     * Los emisores que no tienen solución quedan con coordenadas NaN en lugar de interrumpir el lote.
+     *
+     * @param distances Distancias por satélite: {@code distances[satélite][i]} es la distancia del emisor i a ese satélite.
+     * @param xs        Arreglo donde se escribe la coordenada x de cada emisor.
+     * @param ys        Arreglo donde se escribe la coordenada y de cada emisor.
+     * @param from      Índice inicial (inclusivo) del rango a resolver.
+     * @param to        Índice final (exclusivo) del rango a resolver.
+     */
+    void calculateLocations(double[][] distances, double[] xs, double[] ys, int from, int to);
 }
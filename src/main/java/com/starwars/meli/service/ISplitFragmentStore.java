@@ -0,0 +1,44 @@
+package com.starwars.meli.service;
+
+import com.starwars.meli.model.RebelResponse;
+import com.starwars.meli.model.Satellite;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Define el contrato del almacenamiento de los fragmentos de topsecret_split.
+ * <p>
+ * Recibe fragmentos ya validados, con el satélite identificado por su índice en la constelación. La transmisión que
+ * queda completa se resuelve una sola vez, en el nodo que la almacena.
+ * </p>
+ */
+public interface ISplitFragmentStore {
+
+    /**
+     * Guarda el fragmento de un satélite en su transmisión.
+     *
+     * @param transmissionId Identificador de la transmisión.
+     * @param slot           Índice del satélite en la constelación.
+     * @param satellite      Satélite con su nombre normalizado, distancia y fragmento del mensaje.
+     * @param timestamp      Momento en que se recibió el fragmento, en milisegundos desde la época.
+     */
+    void store(String transmissionId, int slot, Satellite satellite, long timestamp);
+
+    /**
+     * Resultado de una transmisión completa.
+     *
+     * @param transmissionId Identificador de la transmisión.
+     * @return RebelResponse con la posición y el mensaje reconstruido.
+     * @throws com.starwars.meli.exception.TopsecretNotFoundException Si la transmisión no existe, está incompleta o
+     *                                                                no pudo resolverse.
+     */
+    RebelResponse result(String transmissionId);
+
+    /**
+     * Obtiene el resultado de una transmisión, que se completa en cuanto se reciben todos sus satélites.
+     *
+     * @param transmissionId Identificador de la transmisión.
+     * @return Un futuro con el RebelResponse de la transmisión, o completado con error si no puede calcularse.
+     */
+    CompletableFuture<RebelResponse> awaitResult(String transmissionId);
+}
@@ -1,10 +1,12 @@
 package com.starwars.meli.service;
 
+import com.starwars.meli.codec.SatelliteFrame;
+import com.starwars.meli.model.RebelBatchResponse;
 import com.starwars.meli.model.RebelRequest;
 import com.starwars.meli.model.RebelResponse;
 import com.starwars.meli.model.Satellite;
 
-import java.util.Map;
+import java.util.List;
 
 /**
  * Define el contrato para procesar la solicitud topsecret, calculando la ubicación
@@ -21,10 +23,27 @@ public interface ITopSecretService {
     RebelResponse processTopSecretRequest(RebelRequest request);
 
     /**
-     * Procesa la solicitud topsecret a partir de un mapa de satélites previamente almacenados.
+     * Procesa la solicitud topsecret a partir de los satélites ordenados por su índice en la constelación.
      *
-     * @param satelliteMap Mapa con los satélites y sus respectivas distancias y mensajes.
+     * @param satellites Arreglo con los satélites y sus respectivas distancias y mensajes.
      * @return Un objeto RebelResponse con la posición y el mensaje reconstruido.
      */
-    RebelResponse processTopSecretRequest(Map<String, Satellite> satelliteMap);
+    RebelResponse processTopSecretRequest(Satellite[] satellites);
+
+    /**
+     * Procesa la solicitud topsecret recibida en el formato binario, sin pasar por objetos Satellite.
+     *
+     * @param frame Satélites decodificados del formato binario, en cualquier orden.
+     * @return Un objeto RebelResponse con la posición y el mensaje reconstruido.
+     */
+    RebelResponse processTopSecretRequest(SatelliteFrame frame);
+
+    /**
+     * Procesa un lote de solicitudes topsecret, resolviéndolas en paralelo.
+     *
+     * @param requests Lista de solicitudes, cada una con la información de todos los satélites.
+     * @return Un objeto RebelBatchResponse con la posición y el mensaje de cada solicitud, en el mismo orden, o el
+     * error de las que no pudieron resolverse.
+     */
+    RebelBatchResponse processTopSecretBatch(List<RebelRequest> requests);
 }
@@ -1,22 +1,46 @@
 package com.starwars.meli.service;
 
+import com.starwars.meli.codec.SatelliteFrame;
 import com.starwars.meli.model.RebelResponse;
 import com.starwars.meli.model.Satellite;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface ITopSecretSplitService {
     /**
-     * Almacena la información de un satélite individual.
+     * Almacena la información de un satélite individual dentro de una transmisión.
      *
+     * @param transmissionId Identificador de la transmisión a la que pertenece el fragmento.
      * @param satelliteName Nombre del satélite (ej: "kenobi", "skywalker" o "sato").
      * @param satellite Objeto Satellite con la distancia y los fragmentos del mensaje.
      */
-    void storeSatellite(String satelliteName, Satellite satellite);
+    void storeSatellite(String transmissionId, String satelliteName, Satellite satellite);
+
+    /**
+     * Almacena la información de un satélite individual recibida en el formato binario.
+     *
+     * @param transmissionId Identificador de la transmisión a la que pertenece el fragmento.
+     * @param satelliteName Nombre del satélite, que debe coincidir con el índice indicado en el frame.
+     * @param frame Frame binario con un único satélite.
+     */
+    void storeSatellite(String transmissionId, String satelliteName, SatelliteFrame frame);
 
     /**
-     * Consolida la información de los satélites y procesa la solicitud para calcular la posición y ensamblar el mensaje.
+     * Consolida la información de los satélites de una transmisión y procesa la solicitud para calcular la posición
+     * y ensamblar el mensaje.
      *
+     * @param transmissionId Identificador de la transmisión.
      * @return RebelResponse con la posición y el mensaje reconstruido.
+     * @throws com.starwars.meli.exception.TopsecretNotFoundException Si la transmisión no existe, está incompleta o
+     *                                                                no pudo resolverse.
      */
+    RebelResponse processStoredData(String transmissionId);
 
-    RebelResponse processStoredData();
+    /**
+     * Obtiene el resultado de una transmisión, que se completa en cuanto se reciben todos sus satélites.
+     *
+     * @param transmissionId Identificador de la transmisión.
+     * @return Un futuro con el RebelResponse de la transmisión, o completado con error si no puede calcularse.
+     */
+    CompletableFuture<RebelResponse> awaitResult(String transmissionId);
 }
@@ -0,0 +1,32 @@
+package com.starwars.meli.service;
+
+import com.starwars.meli.model.RebelRequest;
+import com.starwars.meli.model.TrackEstimate;
+
+/**
+ * Interfaz para el seguimiento de emisores en movimiento a lo largo de varias mediciones.
+ */
+public interface ITrackingService {
+
+    /**
+     * Incorpora una nueva medición al seguimiento indicado, creándolo si no existe.
+     *
+     * @param trackId   Identificador del seguimiento (por ejemplo, el del emisor o la transmisión).
+     * @param request   Objeto RebelRequest con las distancias medidas por cada satélite.
+     * @param timestamp Momento de la medición, en milisegundos desde la época; el filtro predice el movimiento del
+     *                  emisor según el tiempo transcurrido entre mediciones.
+     * @return El estado del seguimiento después de incorporar la medición.
+     * @throws com.starwars.meli.exception.TopsecretException Si la medición no tiene solución o no pudo incorporarse
+     *                                                        al filtro; si era la primera, el seguimiento no se crea.
+     */
+    TrackEstimate update(String trackId, RebelRequest request, long timestamp);
+
+    /**
+     * Obtiene el estado actual de un seguimiento.
+     *
+     * @param trackId Identificador del seguimiento.
+     * @return El estado del seguimiento.
+     * @throws com.starwars.meli.exception.TopsecretNotFoundException Si el seguimiento no existe o expiró.
+     */
+    TrackEstimate get(String trackId);
+}
@@ -0,0 +1,76 @@
+package com.starwars.meli.service.impl;
+
+import com.starwars.meli.exception.TopsecretException;
+import com.starwars.meli.service.ILocationService;
+import com.starwars.meli.service.IMessageAssemblerService;
+
+import java.util.Arrays;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Tarea fork-join que resuelve un rango de un lote topsecret.
+ * <p>
+ * Divide el rango en mitades hasta llegar al umbral y, en cada hoja, calcula las posiciones sobre los arreglos
+ * primitivos y ensambla los mensajes correspondientes. Un emisor sin posición o cuyo mensaje no puede reconstruirse
+ * registra su error en {@code errors} sin interrumpir al resto del lote.
+ * </p>
+ */
+class BatchSolveTask extends RecursiveAction {
+
+    /**
+     * Cantidad de emisores por debajo de la cual el rango se resuelve en el hilo actual.
+     */
+    static final int SPLIT_THRESHOLD = 512;
+
+    private final ILocationService locationService;
+    private final IMessageAssemblerService messageAssemblerService;
+    private final double[][] distances;
+    private final String[][][] fragments;
+    private final double[] xs;
+    private final double[] ys;
+    private final String[] messages;
+    private final String[] errors;
+    private final int from;
+    private final int to;
+
+    BatchSolveTask(ILocationService locationService, IMessageAssemblerService messageAssemblerService,
+                   double[][] distances, String[][][] fragments,
+                   double[] xs, double[] ys, String[] messages, String[] errors, int from, int to) {
+        this.locationService = locationService;
+        this.messageAssemblerService = messageAssemblerService;
+        this.distances = distances;
+        this.fragments = fragments;
+        this.xs = xs;
+        this.ys = ys;
+        this.messages = messages;
+        this.errors = errors;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= SPLIT_THRESHOLD) {
+            locationService.calculateLocations(distances, xs, ys, from, to);
+            for (int i = from; i < to; i++) {
+                if (!Double.isFinite(xs[i]) || !Double.isFinite(ys[i])) {
+                    errors[i] = TopsecretException.INSUFFICIENT_DATA_MESSAGE;
+                    continue;
+                }
+                try {
+                    messages[i] = messageAssemblerService.assembleMessage(Arrays.asList(fragments[i]));
+                } catch (TopsecretException ex) {
+                    errors[i] = ex.getMessage();
+                }
+            }
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        invokeAll(
+                new BatchSolveTask(locationService, messageAssemblerService, distances, fragments, xs, ys, messages, errors,
+                        from, middle),
+                new BatchSolveTask(locationService, messageAssemblerService, distances, fragments, xs, ys, messages, errors,
+                        middle, to)
+        );
+    }
+}
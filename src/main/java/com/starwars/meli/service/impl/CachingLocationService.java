@@ -0,0 +1,171 @@
+package com.starwars.meli.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.starwars.meli.model.LocationEstimate;
+import com.starwars.meli.model.Position;
+import com.starwars.meli.service.ILocationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.util.Arrays;
+
+/**
+ * Implementación de {@link ILocationService} que memoriza los resultados de otro servicio de ubicación.
+ * <p>
+ * Las distancias se cuantizan a la precisión configurada y se empaquetan en un arreglo de {@code long}, de modo
+ * que las solicitudes con distancias iguales o casi iguales reutilizan la posición ya calculada. La caché está
+ * acotada y usa la política de expulsión W-TinyLFU de Caffeine.
+ * </p>
+ * <p>
+ * Se guarda la estimación completa (posición y precisión), de modo que ambas operaciones comparten las entradas.
+ * Las solicitudes que informan varianzas no se memorizan, porque la clave solo contempla las distancias.
+ * </p>
+ * <p>
+ * Como {@link MeterBinder}, publica el tamaño de la caché y la cantidad de aciertos y fallos.
+ * </p>
+ */
+public class CachingLocationService implements ILocationService, MeterBinder {
+
+    private final ILocationService delegate;
+    private final double inversePrecision;
+    private final Cache<DistanceKey, LocationEstimate> cache;
+
+    /**
+     * Crea el servicio con caché.
+     *
+     * @param delegate  Servicio que calcula las posiciones que no están en caché.
+     * @param precision Tamaño del paso de cuantización de las distancias.
+     * @param maxSize   Cantidad máxima de posiciones guardadas.
+     */
+    public CachingLocationService(ILocationService delegate, double precision, long maxSize) {
+        this.delegate = delegate;
+        this.inversePrecision = 1 / precision;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public Position calculateLocation(double[] distances) {
+        DistanceKey key = key(distances);
+        if (key == null) {
+            return delegate.calculateLocation(distances);
+        }
+        return cached(key, distances).getPosition();
+    }
+
+    @Override
+    public LocationEstimate estimateLocation(double[] distances, double[] variances) {
+        if (variances != null) {
+            for (double variance : variances) {
+                if (!Double.isNaN(variance)) {
+                    return delegate.estimateLocation(distances, variances);
+                }
+            }
+        }
+        DistanceKey key = key(distances);
+        if (key == null) {
+            return delegate.estimateLocation(distances, variances);
+        }
+        return cached(key, distances);
+    }
+
+    /**
+     * Busca la estimación en la caché o la calcula y la guarda.
+     * <p>
+     * El cálculo ocurre fuera del mapa, no dentro de {@link Cache#get}: Caffeine lo ejecutaría dentro del
+     * {@code computeIfAbsent} de su mapa, con el bucket de la clave bloqueado (un bloque synchronized) durante todo el
+     * ajuste de Levenberg-Marquardt. Eso fija los hilos virtuales a su portador y demora a las claves no relacionadas
+     * del mismo bucket. Si dos solicitudes iguales fallan a la vez, ambas calculan la misma estimación y la segunda
+     * reemplaza a la primera, sin efecto para los llamadores.
+     * </p>
+     */
+    private LocationEstimate cached(DistanceKey key, double[] distances) {
+        LocationEstimate estimate = cache.getIfPresent(key);
+        if (estimate == null) {
+            estimate = delegate.estimateLocation(distances, null);
+            cache.put(key, estimate);
+        }
+        return estimate;
+    }
+
+    @Override
+    public LocationEstimate estimateLocation(double[] distances, double[] variances, double[] start) {
+        // El punto de partida puede cambiar el resultado del optimizador, así que no se guarda en la caché.
+        return delegate.estimateLocation(distances, variances, start);
+    }
+
+    /**
+     * Cuantiza las distancias para formar la clave de la caché.
+     *
+     * @return La clave, o null si alguna distancia no es finita.
+     */
+    private DistanceKey key(double[] distances) {
+        long[] quantized = new long[distances.length];
+        for (int i = 0; i < distances.length; i++) {
+            // Las distancias no finitas se redondearían a valores válidos, así que no se memorizan.
+            if (!Double.isFinite(distances[i])) {
+                return null;
+            }
+            quantized[i] = Math.round(distances[i] * inversePrecision);
+        }
+        return new DistanceKey(quantized);
+    }
+
+    /**
+     * Los lotes ya se resuelven sobre arreglos primitivos, por lo que se delegan sin pasar por la caché.
+     */
+    @Override
+    public void calculateLocations(double[][] distances, double[] xs, double[] ys, int from, int to) {
+        delegate.calculateLocations(distances, xs, ys, from, to);
+    }
+
+    /**
+     * Descarta todas las posiciones guardadas, por ejemplo al cambiar la constelación.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Estadísticas de la caché, incluyendo la cantidad de aciertos y fallos.
+     *
+     * @return Las estadísticas acumuladas desde el inicio.
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "location");
+    }
+
+    /**
+     * Clave de la caché: distancias cuantizadas en un arreglo de {@code long}, con el hash precalculado.
+     */
+    private static final class DistanceKey {
+
+        private final long[] quantized;
+        private final int hash;
+
+        DistanceKey(long[] quantized) {
+            this.quantized = quantized;
+            this.hash = Arrays.hashCode(quantized);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof DistanceKey key && Arrays.equals(quantized, key.quantized);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
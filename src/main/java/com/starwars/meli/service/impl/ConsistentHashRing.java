@@ -0,0 +1,81 @@
+package com.starwars.meli.service.impl;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Anillo de hash consistente que asigna cada transmisión a un nodo.
+ * <p>
+ * Cada nodo ocupa {@code virtualNodes} puntos del anillo y una clave pertenece al primer punto igual o mayor que su
+ * hash. Así, agregar o quitar un nodo solo reasigna las claves de sus puntos. Los puntos se guardan ordenados en un
+ * arreglo primitivo y la búsqueda es binaria, sin objetos por consulta.
+ * </p>
+ * <p>
+ * El hash es FNV-1a de 64 bits sobre los caracteres de la clave, mezclado con el finalizador de MurmurHash3. No
+ * depende de la JVM, así que todos los nodos configurados con la misma lista calculan el mismo anillo.
+ * </p>
+ */
+final class ConsistentHashRing {
+
+    private final long[] points;
+    private final String[] owners;
+
+    /**
+     * @param nodes        Identificadores de los nodos, iguales en todos los nodos del grupo.
+     * @param virtualNodes Puntos del anillo por nodo.
+     */
+    ConsistentHashRing(List<String> nodes, int virtualNodes) {
+        if (nodes.isEmpty() || virtualNodes < 1) {
+            throw new IllegalArgumentException("El anillo necesita al menos un nodo y un punto por nodo");
+        }
+        int size = nodes.size() * virtualNodes;
+        long[] hashes = new long[size];
+        String[] nodeOf = new String[size];
+        Integer[] order = new Integer[size];
+        for (int n = 0; n < nodes.size(); n++) {
+            for (int v = 0; v < virtualNodes; v++) {
+                int i = n * virtualNodes + v;
+                hashes[i] = hash(nodes.get(n) + "#" + v);
+                nodeOf[i] = nodes.get(n);
+                order[i] = i;
+            }
+        }
+        // Los empates, improbables, se desempatan por nodo para que el orden no dependa de la lista.
+        Arrays.sort(order, Comparator.<Integer>comparingLong(i -> hashes[i]).thenComparing(i -> nodeOf[i]));
+        points = new long[size];
+        owners = new String[size];
+        for (int i = 0; i < size; i++) {
+            points[i] = hashes[order[i]];
+            owners[i] = nodeOf[order[i]];
+        }
+    }
+
+    /**
+     * Nodo al que pertenece la clave.
+     */
+    String owner(String key) {
+        int index = Arrays.binarySearch(points, hash(key));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    /**
+     * Hash de 64 bits de la clave, estable entre JVMs.
+     */
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,236 @@
+package com.starwars.meli.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.starwars.meli.constellation.Constellation;
+import com.starwars.meli.constellation.ConstellationRegistry;
+import com.starwars.meli.exception.TopsecretException;
+import com.starwars.meli.exception.TopsecretNotFoundException;
+import com.starwars.meli.model.RebelResponse;
+import com.starwars.meli.model.Satellite;
+import com.starwars.meli.persistence.FragmentSink;
+import com.starwars.meli.persistence.SplitJournal;
+import com.starwars.meli.service.ISplitFragmentStore;
+import com.starwars.meli.service.ITopSecretService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Implementación en proceso de {@link ISplitFragmentStore}: guarda las transmisiones en la memoria de este nodo.
+ * <p>
+ * Cada transmisión se guarda en una {@link SplitSession} independiente, de modo que los clientes no se pisan los
+ * fragmentos entre sí. Las sesiones expiran tras un tiempo sin recibir fragmentos y el total de memoria estimada
+ * está acotado; la caché aplica ambas políticas de forma incremental en sus propias operaciones, sin un hilo
+ * que recorra las sesiones.
+ * </p>
+ * <p>
+ * El resultado se calcula una sola vez, en el momento en que la transmisión queda completa, y se conserva hasta
+ * que cambie alguno de sus fragmentos. El cálculo se ejecuta en el ejecutor de tareas de la aplicación, que usa
+ * hilos virtuales con {@code spring.threads.virtual.enabled=true}.
+ * </p>
+ * <p>
+ * La caché guarda por transmisión una {@link AtomicReference} a la sesión vigente y cada fragmento la reemplaza con
+ * compareAndSet. Así, los fragmentos concurrentes de una misma transmisión nunca esperan un bloqueo ni fijan el
+ * hilo portador de un hilo virtual; la caché solo se toca para crear la transmisión y, después de cada fragmento,
+ * para renovar su expiración y su peso.
+ * </p>
+ * <p>
+ * Con {@code split.journal.enabled=true} cada fragmento se registra además en el {@link SplitJournal}, y al iniciar
+ * se recuperan las transmisiones que aún no expiraron.
+ * </p>
+ * <p>
+ * Publica como gauges la cantidad de transmisiones almacenadas y la memoria estimada que ocupan.
+ * </p>
+ */
+@Slf4j
+@Service
+public class LocalSplitFragmentStore implements ISplitFragmentStore {
+
+    private final Cache<String, AtomicReference<SplitSession>> sessions;
+    private final ITopSecretService topSecretService;
+    private final ConstellationRegistry constellationRegistry;
+    private final Executor executor;
+    private final SplitJournal journal;
+
+    public LocalSplitFragmentStore(ITopSecretService topSecretService,
+                                   ConstellationRegistry constellationRegistry,
+                                   @Qualifier("applicationTaskExecutor") Executor executor,
+                                   @Value("${split.session.ttl:10m}") Duration sessionTtl,
+                                   @Value("${split.session.max-memory:64MB}") DataSize maxMemory,
+                                   MeterRegistry meterRegistry,
+                                   ObjectProvider<SplitJournal> journal) {
+        this.topSecretService = topSecretService;
+        this.constellationRegistry = constellationRegistry;
+        this.executor = executor;
+        this.journal = journal.getIfAvailable();
+        this.sessions = Caffeine.newBuilder()
+                .expireAfterWrite(sessionTtl)
+                .maximumWeight(maxMemory.toBytes())
+                .weigher((String transmissionId, AtomicReference<SplitSession> session) -> session.get().estimatedSize())
+                // Notifica a los suscriptores de las transmisiones que expiran sin completarse.
+                .evictionListener((String transmissionId, AtomicReference<SplitSession> session, RemovalCause cause) ->
+                        session.get().result().completeExceptionally(TopsecretException.INSUFFICIENT_DATA))
+                .scheduler(Scheduler.systemScheduler())
+                .build();
+        Gauge.builder("topsecret.split.sessions", sessions, Cache::estimatedSize)
+                .description("Transmisiones de topsecret_split almacenadas")
+                .register(meterRegistry);
+        Gauge.builder("topsecret.split.memory", sessions,
+                        cache -> cache.policy().eviction().orElseThrow().weightedSize().orElse(0))
+                .description("Memoria estimada de las transmisiones de topsecret_split")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        if (this.journal != null) {
+            recover(sessionTtl);
+        }
+    }
+
+    @Override
+    public void store(String transmissionId, int slot, Satellite satellite, long timestamp) {
+        int satelliteCount = constellationRegistry.current().size();
+        // El índice puede venir de otro nodo, validado con una constelación que aquí ya no es la vigente.
+        if (slot < 0 || slot >= satelliteCount) {
+            throw TopsecretException.INVALID_DATA;
+        }
+        // El registro se codifica antes de aplicar el fragmento, para rechazar sin efectos uno que no puede
+        // registrarse.
+        byte[] record = null;
+        if (journal != null) {
+            try {
+                record = journal.encode(transmissionId, satellite, timestamp);
+            } catch (IllegalArgumentException ex) {
+                throw TopsecretException.INVALID_DATA;
+            }
+        }
+        SplitSession updated = apply(transmissionId, slot, satellite, timestamp, satelliteCount);
+        // El fragmento se registra después de aplicarlo en memoria, para que una instantánea tomada al compactar
+        // incluya todo lo escrito en los segmentos anteriores.
+        if (record != null) {
+            journal.append(record);
+        }
+        // Cada actualización que deja la transmisión completa tiene su propio futuro, que se resuelve una sola vez.
+        if (updated.isComplete()) {
+            SplitSession complete = updated;
+            executor.execute(() -> resolve(complete));
+        }
+    }
+
+    @Override
+    public RebelResponse result(String transmissionId) {
+        // Valida que existan los datos de todos los satélites.
+        AtomicReference<SplitSession> reference = sessions.getIfPresent(transmissionId);
+        SplitSession session = reference == null ? null : reference.get();
+        if (session == null || !session.isComplete()) {
+            throw TopsecretNotFoundException.INSUFFICIENT_DATA;
+        }
+        // Retorna el resultado calculado al recibir el último fragmento.
+        try {
+            return session.result().join();
+        } catch (CompletionException ex) {
+            // Una transmisión que no pudo resolverse se informa igual que una incompleta.
+            if (ex.getCause() instanceof TopsecretException cause) {
+                throw cause instanceof TopsecretNotFoundException ? cause : new TopsecretNotFoundException(cause.getMessage());
+            }
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    @Override
+    public CompletableFuture<RebelResponse> awaitResult(String transmissionId) {
+        return sessions.get(transmissionId,
+                        id -> new AtomicReference<>(new SplitSession(constellationRegistry.current().size())))
+                .get()
+                .result();
+    }
+
+    /**
+     * Aplica un fragmento a la sesión de su transmisión, creándola si no existe.
+     *
+     * @return La sesión actualizada.
+     */
+    private SplitSession apply(String transmissionId, int slot, Satellite satellite, long timestamp,
+                               int satelliteCount) {
+        while (true) {
+            AtomicReference<SplitSession> session = sessions.get(transmissionId,
+                    id -> new AtomicReference<>(new SplitSession(satelliteCount)));
+            SplitSession current;
+            SplitSession updated;
+            do {
+                current = session.get();
+                updated = current.with(slot, satellite, timestamp);
+            } while (!session.compareAndSet(current, updated));
+            // Renueva la expiración y el peso; si la transmisión expiró mientras tanto, se reintenta sobre una nueva.
+            if (sessions.asMap().replace(transmissionId, session, session)) {
+                return updated;
+            }
+        }
+    }
+
+    /**
+     * Reconstruye las transmisiones desde el diario, descartando los fragmentos más antiguos que el tiempo de vida
+     * de las sesiones, y calcula el resultado de las que quedan completas.
+     */
+    private void recover(Duration sessionTtl) {
+        Constellation constellation = constellationRegistry.current();
+        long oldest = System.currentTimeMillis() - sessionTtl.toMillis();
+        FragmentSink recovery = (transmissionId, satellite, timestamp) -> {
+            int slot = constellation.indexOf(satellite.getName());
+            if (timestamp >= oldest && slot >= 0) {
+                apply(transmissionId, slot, satellite, timestamp, constellation.size());
+            }
+        };
+        journal.open(recovery, this::snapshot);
+        sessions.asMap().values().forEach(session -> {
+            SplitSession recovered = session.get();
+            if (recovered.isComplete()) {
+                executor.execute(() -> resolve(recovered));
+            }
+        });
+        log.info("Transmisiones de topsecret_split recuperadas: {}", sessions.estimatedSize());
+    }
+
+    /**
+     * Entrega todos los fragmentos almacenados, para la instantánea del diario.
+     */
+    private void snapshot(FragmentSink sink) {
+        sessions.asMap().forEach((transmissionId, reference) -> {
+            SplitSession session = reference.get();
+            for (Satellite satellite : session.satellites()) {
+                if (satellite != null) {
+                    sink.accept(transmissionId, satellite, session.updatedAt());
+                }
+            }
+        });
+    }
+
+    /**
+     * Calcula el resultado de una transmisión completa y lo publica en su futuro.
+     *
+     * @param session Sesión con todos los satélites.
+     */
+    private void resolve(SplitSession session) {
+        try {
+            // Usa el servicio compartido
+            session.result().complete(topSecretService.processTopSecretRequest(session.satellites()));
+        } catch (RuntimeException ex) {
+            session.result().completeExceptionally(ex);
+        }
+    }
+}
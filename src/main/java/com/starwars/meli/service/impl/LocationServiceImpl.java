@@ -1,52 +1,521 @@
 package com.starwars.meli.service.impl;
 
-import com.lemmingapex.trilateration.NonLinearLeastSquaresSolver;
 import com.lemmingapex.trilateration.TrilaterationFunction;
+import com.starwars.meli.constellation.BatchPrecision;
+import com.starwars.meli.constellation.Constellation;
+import com.starwars.meli.constellation.ConstellationRegistry;
+import com.starwars.meli.constellation.LinearBatchSolver;
+import com.starwars.meli.exception.TopsecretException;
+import com.starwars.meli.model.LocationAccuracy;
+import com.starwars.meli.model.LocationDiagnostics;
+import com.starwars.meli.model.LocationEstimate;
 import com.starwars.meli.model.Position;
 import com.starwars.meli.service.ILocationService;
-import org.apache.commons.math3.fitting.leastsquares.LevenbergMarquardtOptimizer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.math3.exception.ConvergenceException;
+import org.apache.commons.math3.exception.MaxCountExceededException;
+import org.apache.commons.math3.fitting.leastsquares.LeastSquaresFactory;
 import org.apache.commons.math3.fitting.leastsquares.LeastSquaresOptimizer.Optimum;
+import org.apache.commons.math3.fitting.leastsquares.LeastSquaresProblem;
+import org.apache.commons.math3.fitting.leastsquares.LevenbergMarquardtOptimizer;
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.DiagonalMatrix;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Implementación de {@link ILocationService} que utiliza trilateración para calcular la ubicación.
  * <p>
- * Usa la librería de trilateración de lemmingapex junto con el optimizador Levenberg-Marquardt para
- * resolver el sistema de ecuaciones basado en las distancias medidas desde los satélites.
+ * Resuelve primero el sistema linealizado con la pseudo-inversa precalculada por la {@link Constellation} vigente.
+ * Solo cuando el residuo de esa solución supera el umbral configurado (distancias ruidosas o inconsistentes)
+ * recurre a la librería de trilateración de lemmingapex junto con el optimizador Levenberg-Marquardt.
+ * </p>
+ * <p>
+ * El optimizador trabaja con los límites de evaluaciones e iteraciones y las tolerancias de
+ * {@link OptimizerProperties}. Antes de ejecutarlo se descartan los emisores con distancias no finitas y, si se
+ * configura {@code location.optimizer.rejection-residual}, aquellos cuyas distancias garantizan por la desigualdad
+ * triangular un residuo mayor ({@link Constellation#minimumResidual}): ninguna posición puede explicarlas y el emisor
+ * se rechaza sin iterar. Un emisor que agota los límites también se rechaza.
+ * </p>
+ * <p>
+ * Cuenta cuántas posiciones se resuelven por cada vía y cuántos emisores se rechazan por cada motivo y, para el
+ * optimizador, registra la distribución de iteraciones y del residuo RMS final en unidades de distancia.
+ * {@link #estimateLocation} devuelve además esos datos de convergencia en {@link LocationDiagnostics}.
+ * </p>
+ * <p>
+ * {@link #estimateLocation} admite cualquier cantidad de satélites con varianzas distintas: resuelve las
+ * ecuaciones normales ponderadas, usa el optimizador solo para refinar esa solución y estima la covarianza de la
+ * posición. Con {@code location.outlier-rejection.enabled=true} descarta iterativamente el satélite que resulta
+ * inconsistente con los demás mientras supere el umbral y queden al menos tres satélites.
+ * </p>
+ * <p>
+ * {@link #calculateLocations} resuelve el sistema linealizado de todo el rango con la vía indicada por
+ * {@code location.batch.precision}: escalar, o vectorizada con {@link BatchPrecision#solver()} en carriles de doble o de
+ * simple precisión. Si la JVM no tiene el módulo {@code jdk.incubator.vector}, las vías vectorizadas recurren a la
+ * escalar.
  * </p>
  */
+@Slf4j
 @Service
 public class LocationServiceImpl implements ILocationService {
 
     /**
-     * Posiciones fijas de los satélites.
-     * Cada subarreglo contiene las coordenadas [x, y] de un satélite.
+     * Arreglos de trabajo de {@link #estimateLocation(double[], double[], double[])}, reutilizados por hilo para no
+     * reservarlos en cada solicitud. Solo retienen arreglos primitivos del tamaño de la constelación.
+     */
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private final ConstellationRegistry constellationRegistry;
+
+    /**
+     * Residuo RMS máximo (en unidades de distancia) aceptado para la solución en forma cerrada.
+     */
+    private final double maxClosedFormResidual;
+
+    /**
+     * Varianza asumida para las distancias que no informan la suya.
+     */
+    private final double defaultVariance;
+
+    private final boolean outlierRejection;
+
+    /**
+     * Residuo normalizado (en desviaciones estándar) a partir del cual un satélite se considera atípico.
+     */
+    private final double outlierThreshold;
+
+    /**
+     * Resolución vectorizada del lote, o null en la vía escalar.
      */
-    private static final double[][] SATELLITE_POSITIONS = {
-            {-500, -200},  // Kenobi
-            {100, -100},   // Skywalker
-            {500, 100}     // Sato
-    };
+    private final LinearBatchSolver batchSolver;
+
+    /**
+     * Optimizador con las tolerancias configuradas; es inmutable y puede compartirse entre hilos.
+     */
+    private final LevenbergMarquardtOptimizer optimizer;
+    private final int maxEvaluations;
+    private final int maxIterations;
+
+    /**
+     * Cota del residuo RMS a partir de la cual las distancias se consideran inconsistentes.
+     */
+    private final double rejectionResidual;
+
+    private final Counter closedFormCounter;
+    private final Counter optimizerCounter;
+    private final Counter inconsistentCounter;
+    private final Counter budgetCounter;
+    private final DistributionSummary optimizerIterations;
+    private final DistributionSummary optimizerResidual;
+
+    public LocationServiceImpl(ConstellationRegistry constellationRegistry,
+                               @Value("${location.closed-form.max-residual:0.01}") double maxClosedFormResidual,
+                               @Value("${location.default-variance:1.0}") double defaultVariance,
+                               @Value("${location.outlier-rejection.enabled:false}") boolean outlierRejection,
+                               @Value("${location.outlier-rejection.threshold:3.0}") double outlierThreshold,
+                               @Value("${location.batch.precision:scalar}") BatchPrecision batchPrecision,
+                               OptimizerProperties optimizerProperties,
+                               MeterRegistry meterRegistry) {
+        this.constellationRegistry = constellationRegistry;
+        this.maxClosedFormResidual = maxClosedFormResidual;
+        this.defaultVariance = defaultVariance;
+        this.outlierRejection = outlierRejection;
+        this.outlierThreshold = outlierThreshold;
+        if (!batchPrecision.isSupported()) {
+            log.warn("location.batch.precision={} requiere --add-modules jdk.incubator.vector; los lotes se resuelven "
+                    + "en forma escalar", batchPrecision.name().toLowerCase());
+            batchPrecision = BatchPrecision.SCALAR;
+        }
+        this.batchSolver = batchPrecision == BatchPrecision.SCALAR ? null : batchPrecision.solver();
+        this.optimizer = new LevenbergMarquardtOptimizer()
+                .withCostRelativeTolerance(optimizerProperties.getCostRelativeTolerance())
+                .withParameterRelativeTolerance(optimizerProperties.getParameterRelativeTolerance())
+                .withOrthoTolerance(optimizerProperties.getOrthogonalityTolerance());
+        this.maxEvaluations = optimizerProperties.getMaxEvaluations();
+        this.maxIterations = optimizerProperties.getMaxIterations();
+        this.rejectionResidual = optimizerProperties.getRejectionResidual();
+        this.closedFormCounter = Counter.builder("location.solutions")
+                .description("Posiciones calculadas por cada vía de resolución")
+                .tag("solver", LocationDiagnostics.CLOSED_FORM)
+                .register(meterRegistry);
+        this.optimizerCounter = Counter.builder("location.solutions")
+                .description("Posiciones calculadas por cada vía de resolución")
+                .tag("solver", LocationDiagnostics.LEVENBERG_MARQUARDT)
+                .register(meterRegistry);
+        this.inconsistentCounter = Counter.builder("location.rejections")
+                .description("Emisores rechazados sin posición por cada motivo")
+                .tag("reason", "inconsistent")
+                .register(meterRegistry);
+        this.budgetCounter = Counter.builder("location.rejections")
+                .description("Emisores rechazados sin posición por cada motivo")
+                .tag("reason", "optimizer-budget")
+                .register(meterRegistry);
+        this.optimizerIterations = DistributionSummary.builder("location.optimizer.iterations")
+                .description("Iteraciones del optimizador Levenberg-Marquardt por posición")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.optimizerResidual = DistributionSummary.builder("location.optimizer.residual")
+                .description("Residuo RMS final de las distancias en las posiciones del optimizador Levenberg-Marquardt")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
 
     /**
      * Calcula las coordenadas del emisor basándose en las distancias.
      *
      * @param distances Arreglo de distancias desde el emisor a cada satélite.
      * @return Un objeto {@link Position} con las coordenadas (x, y) calculadas.
+     * @throws TopsecretException Si la cantidad de distancias no coincide con la de satélites, o si las distancias
+     *                            son inconsistentes o el optimizador agota sus límites.
      */
     @Override
     public Position calculateLocation(double[] distances) {
-        // Crea la función de trilateración utilizando las posiciones de los satélites y las distancias proporcionadas.
-        TrilaterationFunction function = new TrilaterationFunction(SATELLITE_POSITIONS, distances);
-        // Configura el solver utilizando el optimizador Levenberg-Marquardt para minimizar el error.
-        NonLinearLeastSquaresSolver solver = new NonLinearLeastSquaresSolver(
-                function,
-                new LevenbergMarquardtOptimizer()
-        );
-        // Resuelve el sistema de ecuaciones y obtiene las coordenadas óptimas.
-        Optimum optimum = solver.solve();
+        Constellation constellation = constellationRegistry.current();
+        if (distances.length != constellation.size()) {
+            throw TopsecretException.INSUFFICIENT_DATA;
+        }
+        if (outlierRejection) {
+            // El descarte de atípicos solo lo implementa la vía ponderada.
+            return estimateLocation(distances, null).getPosition();
+        }
+        // Solución en forma cerrada: O(N) multiplicaciones y sumas.
+        double[] point = new double[2];
+        constellation.solveLinear(distances, point);
+        // Un residuo NaN (distancias no finitas) no cumple la condición y también pasa al optimizador.
+        if (constellation.residual(point[0], point[1], distances) <= maxClosedFormResidual) {
+            closedFormCounter.increment();
+            return new Position(point[0], point[1]);
+        }
+        return solveWithOptimizer(constellation, distances);
+    }
+
+    /**
+     * Calcula las coordenadas del emisor y su precisión por mínimos cuadrados ponderados.
+     *
+     * @param distances Arreglo de distancias, una por satélite de la constelación.
+     * @param variances Varianza de cada distancia (NaN si no se conoce), o null si no se conoce ninguna.
+     * @return La posición calculada y su precisión; la precisión es null si la geometría no permite estimarla.
+     * @throws TopsecretException Si la cantidad de distancias no coincide con la de satélites o si, tras descartar
+     *                            los satélites atípicos, la posición queda indeterminada.
+     */
+    @Override
+    public LocationEstimate estimateLocation(double[] distances, double[] variances) {
+        return estimateLocation(distances, variances, null);
+    }
+
+    /**
+     * Calcula las coordenadas del emisor y su precisión por mínimos cuadrados ponderados, con un punto de partida
+     * sugerido para el optimizador.
+     *
+     * @param distances Arreglo de distancias, una por satélite de la constelación.
+     * @param variances Varianza de cada distancia (NaN si no se conoce), o null si no se conoce ninguna.
+     * @param start     Punto de partida sugerido {x, y}, o null para partir de la solución lineal.
+     * @return La posición calculada y su precisión; la precisión es null si la geometría no permite estimarla.
+     * @throws TopsecretException Si la cantidad de distancias no coincide con la de satélites, si tras descartar
+     *                            los satélites atípicos la posición queda indeterminada, o si las distancias son
+     *                            inconsistentes o el optimizador agota sus límites.
+     */
+    @Override
+    public LocationEstimate estimateLocation(double[] distances, double[] variances, double[] start) {
+        Constellation constellation = constellationRegistry.current();
+        int size = constellation.size();
+        if (distances.length != size || (variances != null && variances.length != size)) {
+            throw TopsecretException.INSUFFICIENT_DATA;
+        }
+        Scratch scratch = SCRATCH.get();
+        double[] weights = scratch.weights(size);
+        boolean uniform = true;
+        for (int i = 0; i < size; i++) {
+            double variance = variances == null ? Double.NaN : variances[i];
+            uniform &= Double.isNaN(variance);
+            weights[i] = 1 / (Double.isNaN(variance) ? defaultVariance : variance);
+        }
+
+        double[] point = scratch.point;
+        if (uniform) {
+            // Con pesos iguales sirve la pseudo-inversa precalculada, igual que en calculateLocation.
+            constellation.solveLinear(distances, point);
+        } else if (!constellation.solveWeighted(distances, weights, point)) {
+            throw TopsecretException.INSUFFICIENT_DATA;
+        }
+
+        List<String> discarded = outlierRejection
+                ? discardOutliers(constellation, distances, weights, point, scratch.candidate)
+                : List.of();
+
+        LocationDiagnostics diagnostics;
+        double residual = constellation.residual(point[0], point[1], distances, weights);
+        if (residual <= maxClosedFormResidual) {
+            closedFormCounter.increment();
+            diagnostics = new LocationDiagnostics(LocationDiagnostics.CLOSED_FORM, residual, 0, 0);
+        } else {
+            diagnostics = refineWithOptimizer(constellation, distances, weights, point, start);
+        }
+
+        double[] covariance = scratch.covariance;
+        LocationAccuracy accuracy = constellation.covariance(point[0], point[1], weights, covariance)
+                ? LocationAccuracy.fromCovariance(covariance[0], covariance[1], covariance[2], discarded)
+                : null;
+        return new LocationEstimate(new Position(point[0], point[1]), accuracy, diagnostics);
+    }
+
+    /**
+     * Reponderación iterativa: mientras queden más de tres satélites, busca aquel cuya exclusión deja a los demás
+     * más consistentes entre sí y, si su error respecto de esa solución supera el umbral, anula su peso.
+     * <p>
+     * Comparar contra la solución sin el satélite evita que un atípico reparta su error entre los demás y termine
+     * descartándose un satélite correcto.
+     * </p>
+     *
+     * @return Los nombres de los satélites descartados; la lista solo se crea si se descarta alguno.
+     */
+    private List<String> discardOutliers(Constellation constellation, double[] distances, double[] weights,
+                                         double[] point, double[] candidate) {
+        List<String> discarded = List.of();
+        int active = weights.length;
+        while (active > 3) {
+            int worst = -1;
+            double worstConsistency = Double.POSITIVE_INFINITY;
+            double worstScore = 0;
+            for (int i = 0; i < weights.length; i++) {
+                double weight = weights[i];
+                if (weight <= 0) {
+                    continue;
+                }
+                weights[i] = 0;
+                if (constellation.solveWeighted(distances, weights, candidate)) {
+                    double consistency = chiSquare(constellation, distances, weights, candidate);
+                    if (consistency < worstConsistency) {
+                        worst = i;
+                        worstConsistency = consistency;
+                        worstScore = Math.abs(constellation.rangeError(candidate[0], candidate[1], i, distances[i]))
+                                * Math.sqrt(weight);
+                    }
+                }
+                weights[i] = weight;
+            }
+            if (worst < 0 || worstScore <= outlierThreshold) {
+                return discarded;
+            }
+            weights[worst] = 0;
+            active--;
+            if (discarded.isEmpty()) {
+                discarded = new ArrayList<>(2);
+            }
+            discarded.add(constellation.name(worst));
+            constellation.solveWeighted(distances, weights, point);
+        }
+        return discarded;
+    }
+
+    /**
+     * Suma de los residuos al cuadrado normalizados por su varianza, sobre los satélites con peso positivo.
+     */
+    private static double chiSquare(Constellation constellation, double[] distances, double[] weights,
+                                    double[] point) {
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            if (weights[i] > 0) {
+                double error = constellation.rangeError(point[0], point[1], i, distances[i]);
+                sum += weights[i] * error * error;
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Calcula en lote las coordenadas de varios emisores.
+     * <p>
+     * Cada emisor se resuelve en forma cerrada directamente sobre los arreglos primitivos; solo los que superan
+     * el residuo máximo pasan por el optimizador. En las vías vectorizadas, la forma cerrada de todo el rango se
+     * calcula primero y los emisores que marcó como rechazados se optimizan después. Un emisor que el optimizador
+     * rechaza queda con coordenadas NaN sin interrumpir el resto del rango.
+     * </p>
+     */
+    @Override
+    public void calculateLocations(double[][] distances, double[] xs, double[] ys, int from, int to) {
+        Constellation constellation = constellationRegistry.current();
+        if (distances.length != constellation.size()) {
+            throw TopsecretException.INSUFFICIENT_DATA;
+        }
+        int optimized = 0;
+        if (batchSolver == null) {
+            double[] point = new double[2];
+            for (int i = from; i < to; i++) {
+                constellation.solveLinear(distances, i, point);
+                double x = point[0];
+                double y = point[1];
+                if (!(constellation.residual(x, y, distances, i) <= maxClosedFormResidual)) {
+                    Position position = solveWithOptimizer(constellation, distances, i);
+                    x = position == null ? Double.NaN : position.getX();
+                    y = position == null ? Double.NaN : position.getY();
+                    optimized++;
+                }
+                xs[i] = x;
+                ys[i] = y;
+            }
+        } else {
+            batchSolver.solve(constellation, distances, xs, ys, from, to, maxClosedFormResidual);
+            for (int i = from; i < to; i++) {
+                if (Double.isNaN(xs[i])) {
+                    Position position = solveWithOptimizer(constellation, distances, i);
+                    xs[i] = position == null ? Double.NaN : position.getX();
+                    ys[i] = position == null ? Double.NaN : position.getY();
+                    optimized++;
+                }
+            }
+        }
+        // Un solo incremento por rango mantiene el contador fuera del ciclo.
+        closedFormCounter.increment(to - from - optimized);
+    }
+
+    /**
+     * Resuelve con el optimizador el emisor {@code index} de un lote.
+     *
+     * @return La posición, o null si el emisor se rechazó.
+     */
+    private Position solveWithOptimizer(Constellation constellation, double[][] distances, int index) {
+        double[] fix = new double[distances.length];
+        for (int s = 0; s < fix.length; s++) {
+            fix[s] = distances[s][index];
+        }
+        try {
+            return solveWithOptimizer(constellation, fix);
+        } catch (TopsecretException ex) {
+            // Ya se contó en location.rejections; el rechazo queda en el emisor y no afecta al resto del lote.
+            return null;
+        }
+    }
+
+    /**
+     * Resuelve el sistema no lineal mediante el optimizador Levenberg-Marquardt, partiendo del centroide de los
+     * satélites.
+     */
+    private Position solveWithOptimizer(Constellation constellation, double[] distances) {
+        checkConsistency(constellation, distances, null);
+        // La función de trilateración trabaja con r_i^2, cuyo error crece con 2 r_i: cada ecuación se pondera por
+        // 1 / r_i^2.
+        double[] weights = new double[distances.length];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = 1 / Math.max(distances[i] * distances[i], 1e-12);
+        }
+        Optimum optimum = optimize(constellation, distances, weights, centroid(constellation));
         double[] calculatedPosition = optimum.getPoint().toArray();
-        // Retorna las coordenadas encapsuladas en un objeto Coordinates.
+        record(optimum, constellation.residual(calculatedPosition[0], calculatedPosition[1], distances));
         return new Position(calculatedPosition[0], calculatedPosition[1]);
     }
+
+    /**
+     * Refina la solución lineal con el optimizador Levenberg-Marquardt, con los mismos pesos.
+     * <p>
+     * La función de trilateración trabaja con r_i^2, cuyo error crece con 2 r_i, por lo que cada peso se divide
+     * por r_i^2. El optimizador parte de la solución lineal o, si tiene menor residuo, del punto sugerido; si el
+     * punto de partida no es finito se usa el centroide de los satélites.
+     * </p>
+     *
+     * @return Los datos de convergencia del optimizador.
+     */
+    private LocationDiagnostics refineWithOptimizer(Constellation constellation, double[] distances,
+                                                    double[] weights, double[] point, double[] hint) {
+        checkConsistency(constellation, distances, weights);
+        int size = distances.length;
+        double[] squaredWeights = new double[size];
+        for (int i = 0; i < size; i++) {
+            squaredWeights[i] = weights[i] / Math.max(distances[i] * distances[i], 1e-12);
+        }
+        double[] start = point;
+        // Si la solución lineal no es finita su residuo es NaN, la comparación falla y se parte del punto sugerido.
+        if (hint != null && !(constellation.residual(point[0], point[1], distances, weights)
+                <= constellation.residual(hint[0], hint[1], distances, weights))) {
+            start = hint;
+        }
+        if (!Double.isFinite(start[0]) || !Double.isFinite(start[1])) {
+            start = centroid(constellation);
+        }
+        Optimum optimum = optimize(constellation, distances, squaredWeights, start);
+        double[] refined = optimum.getPoint().toArray();
+        point[0] = refined[0];
+        point[1] = refined[1];
+        double residual = constellation.residual(point[0], point[1], distances, weights);
+        record(optimum, residual);
+        return new LocationDiagnostics(LocationDiagnostics.LEVENBERG_MARQUARDT, residual, optimum.getIterations(),
+                optimum.getEvaluations());
+    }
+
+    /**
+     * Rechaza el emisor si alguna de sus distancias no es finita o si garantizan un residuo mayor que el máximo, antes
+     * de ejecutar el optimizador.
+     *
+     * @throws TopsecretException Si ninguna posición puede explicar las distancias.
+     */
+    private void checkConsistency(Constellation constellation, double[] distances, double[] weights) {
+        double bound = constellation.minimumResidual(distances, weights);
+        // La cota es infinita para distancias no finitas, que se rechazan aunque el umbral también lo sea.
+        if (!Double.isFinite(bound) || bound > rejectionResidual) {
+            inconsistentCounter.increment();
+            throw TopsecretException.INSUFFICIENT_DATA;
+        }
+    }
+
+    /**
+     * Ejecuta el optimizador sobre la función de trilateración, con los límites y tolerancias configurados.
+     *
+     * @throws TopsecretException Si el optimizador agota sus evaluaciones o iteraciones sin converger.
+     */
+    private Optimum optimize(Constellation constellation, double[] distances, double[] weights, double[] start) {
+        LeastSquaresProblem problem = LeastSquaresFactory.create(
+                new TrilaterationFunction(constellation.positions(), distances),
+                new ArrayRealVector(distances.length),
+                new ArrayRealVector(start, false),
+                new DiagonalMatrix(weights),
+                null,
+                maxEvaluations,
+                maxIterations);
+        try {
+            return optimizer.optimize(problem);
+        } catch (MaxCountExceededException | ConvergenceException ex) {
+            budgetCounter.increment();
+            throw TopsecretException.INSUFFICIENT_DATA;
+        }
+    }
+
+    private void record(Optimum optimum, double residual) {
+        optimizerCounter.increment();
+        optimizerIterations.record(optimum.getIterations());
+        optimizerResidual.record(residual);
+    }
+
+    private static double[] centroid(Constellation constellation) {
+        double[] centroid = new double[2];
+        double[][] positions = constellation.positions();
+        for (double[] position : positions) {
+            centroid[0] += position[0] / positions.length;
+            centroid[1] += position[1] / positions.length;
+        }
+        return centroid;
+    }
+
+    /**
+     * Arreglos de trabajo de un hilo. Los pesos se vuelven a reservar solo si cambia la cantidad de satélites.
+     */
+    private static final class Scratch {
+
+        private double[] weights = new double[0];
+        private final double[] point = new double[2];
+        private final double[] candidate = new double[2];
+        private final double[] covariance = new double[3];
+
+        double[] weights(int size) {
+            if (weights.length != size) {
+                weights = new double[size];
+            }
+            return weights;
+        }
+    }
 }
@@ -1,11 +1,10 @@
 package com.starwars.meli.service.impl;
 
 import com.starwars.meli.service.IMessageAssemblerService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.Arrays;
-import java.util.stream.Collectors;
 
 /**
  * Implementación de {@link IMessageAssemblerService} que ensambla el mensaje completo a partir de fragmentos.
@@ -13,10 +12,32 @@ import java.util.stream.Collectors;
  * Recorre cada posición de los arreglos de mensajes y selecciona la primera palabra no vacía encontrada,
  * concatenándolas para formar el mensaje final.
  * </p>
+ * <p>
+ * Las palabras se escriben en una sola pasada sobre un {@link StringBuilder} reutilizado por hilo, por lo que la
+ * única reserva de memoria por llamada es la cadena resultante.
+ * </p>
+ * <p>
+ * Es el ensamblador por defecto ({@code message.assembler=index}).
+ * </p>
  */
 @Service
+@ConditionalOnProperty(name = "message.assembler", havingValue = "index", matchIfMissing = true)
 public class MessageAssemblerServiceImpl implements IMessageAssemblerService {
 
+    /**
+     * Capacidad inicial del StringBuilder de cada hilo.
+     */
+    private static final int INITIAL_CAPACITY = 256;
+
+    /**
+     * Capacidad por encima de la cual el StringBuilder no se conserva, para no retener la memoria de un mensaje
+     * excepcionalmente largo.
+     */
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+    private static final ThreadLocal<StringBuilder> BUILDER =
+            ThreadLocal.withInitial(() -> new StringBuilder(INITIAL_CAPACITY));
+
     /**
      * Ensambla el mensaje completo a partir de una lista de arreglos de cadenas.
      *
@@ -25,29 +46,34 @@ public class MessageAssemblerServiceImpl implements IMessageAssemblerService {
      */
     @Override
     public String assembleMessage(List<String[]> messages) {
+        int count = messages.size();
         int maxLength = 0;
         // Determina la longitud máxima entre todos los arreglos de mensajes.
-        for (String[] msg : messages) {
-            if (msg.length > maxLength) {
-                maxLength = msg.length;
+        for (int m = 0; m < count; m++) {
+            int length = messages.get(m).length;
+            if (length > maxLength) {
+                maxLength = length;
             }
         }
-        String[] result = new String[maxLength];
-        // Para cada posición, selecciona la primera palabra no vacía.
+        StringBuilder builder = BUILDER.get();
+        builder.setLength(0);
+        // Para cada posición, agrega la primera palabra no vacía separada por un espacio.
         for (int i = 0; i < maxLength; i++) {
-            for (String[] msg : messages) {
+            for (int m = 0; m < count; m++) {
+                String[] msg = messages.get(m);
                 if (i < msg.length && msg[i] != null && !msg[i].isEmpty()) {
-                    result[i] = msg[i];
+                    if (builder.length() > 0) {
+                        builder.append(' ');
+                    }
+                    builder.append(msg[i]);
                     break;
                 }
             }
-            if (result[i] == null) {
-                result[i] = "";
-            }
         }
-        // Une las palabras no vacías con un espacio y retorna el mensaje completo.
-        return Arrays.stream(result)
-                .filter(s -> !s.isEmpty())
-                .collect(Collectors.joining(" "));
+        String message = builder.toString();
+        if (builder.capacity() > MAX_RETAINED_CAPACITY) {
+            BUILDER.set(new StringBuilder(INITIAL_CAPACITY));
+        }
+        return message;
     }
 }
@@ -0,0 +1,51 @@
+package com.starwars.meli.service.impl;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuración del optimizador Levenberg-Marquardt de {@link LocationServiceImpl} ({@code location.optimizer.*}).
+ * <p>
+ * Los límites de evaluaciones e iteraciones acotan el trabajo que puede consumir un emisor con distancias
+ * degeneradas: al agotarlos el emisor se rechaza en lugar de seguir iterando. Las tolerancias son las del
+ * optimizador de Commons Math y determinan cuándo se considera que convergió.
+ * </p>
+ */
+@Data
+@ConfigurationProperties(prefix = "location.optimizer")
+public class OptimizerProperties {
+
+    /**
+     * Evaluaciones máximas de la función de trilateración por emisor.
+     */
+    private int maxEvaluations = 500;
+
+    /**
+     * Iteraciones máximas por emisor.
+     */
+    private int maxIterations = 500;
+
+    /**
+     * Reducción relativa del costo por debajo de la cual el optimizador se detiene.
+     */
+    private double costRelativeTolerance = 1e-10;
+
+    /**
+     * Cambio relativo de la posición por debajo del cual el optimizador se detiene.
+     */
+    private double parameterRelativeTolerance = 1e-10;
+
+    /**
+     * Ortogonalidad entre el residuo y el jacobiano por debajo de la cual el optimizador se detiene.
+     */
+    private double orthogonalityTolerance = 1e-10;
+
+    /**
+     * Residuo RMS que las distancias garantizan como mínimo (ver
+     * {@link com.starwars.meli.constellation.Constellation#minimumResidual}) a partir del cual el emisor se rechaza
+     * sin ejecutar el optimizador, porque ninguna posición puede explicarlas. Por defecto es infinito y solo se
+     * rechazan las distancias no finitas: las mediciones reales, como las del ejemplo de la documentación, pueden
+     * violar la desigualdad triangular por cientos de unidades y aun así tener un ajuste útil.
+     */
+    private double rejectionResidual = Double.POSITIVE_INFINITY;
+}
@@ -0,0 +1,121 @@
+package com.starwars.meli.service.impl;
+
+import com.starwars.meli.constellation.Constellation;
+import com.starwars.meli.model.RebelResponse;
+import com.starwars.meli.validation.SatelliteReadings;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Agrupa las solicitudes idénticas que se resuelven al mismo tiempo (single-flight).
+ * <p>
+ * La primera solicitud con unas lecturas dadas registra un {@link CompletableFuture} y calcula la respuesta en su
+ * propio hilo; las idénticas que llegan mientras tanto esperan ese mismo futuro en lugar de repetir el cálculo. Al
+ * terminar, la primera retira su entrada con {@link ConcurrentHashMap#remove(Object, Object)}, que solo bloquea el
+ * bucket de la clave: las solicitudes posteriores vuelven a calcular. No hay caché de resultados.
+ * </p>
+ * <p>
+ * La clave copia las lecturas, porque el contenedor se reutiliza por hilo, y precalcula un hash barato de las
+ * distancias, varianzas y fragmentos. Dos claves solo son iguales si todas sus lecturas lo son y pertenecen a la misma
+ * constelación, así que una colisión de hash nunca comparte una respuesta ajena.
+ * </p>
+ */
+final class RequestCoalescer {
+
+    private final ConcurrentHashMap<Key, CompletableFuture<RebelResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Counter coalesced;
+
+    RequestCoalescer(MeterRegistry meterRegistry) {
+        this.coalesced = Counter.builder("topsecret.coalesced")
+                .description("Solicitudes resueltas con la respuesta de otra idéntica en curso")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Resuelve las lecturas o espera a la solicitud idéntica que ya se está resolviendo.
+     *
+     * @param constellation Constelación con la que se validaron las lecturas.
+     * @param readings      Lecturas validadas de la solicitud.
+     * @param solver        Cálculo de la respuesta, que solo se ejecuta si no hay otra solicitud idéntica en curso.
+     * @return La respuesta calculada por esta solicitud o por la idéntica en curso.
+     */
+    RebelResponse resolve(Constellation constellation, SatelliteReadings readings,
+                          Function<SatelliteReadings, RebelResponse> solver) {
+        Key key = new Key(constellation, readings);
+        CompletableFuture<RebelResponse> own = new CompletableFuture<>();
+        CompletableFuture<RebelResponse> existing = inFlight.putIfAbsent(key, own);
+        if (existing != null) {
+            coalesced.increment();
+            try {
+                return existing.join();
+            } catch (CompletionException ex) {
+                // Se relanza el error original (por ejemplo, una TopsecretException o un StackOverflowError) para
+                // responder igual que la primera solicitud.
+                if (ex.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                if (ex.getCause() instanceof Error cause) {
+                    throw cause;
+                }
+                throw ex;
+            }
+        }
+        try {
+            RebelResponse response = solver.apply(readings);
+            own.complete(response);
+            return response;
+        } catch (Throwable ex) {
+            // También ante un Error: si el futuro no se completara, las solicitudes que ya lo esperan quedarían
+            // bloqueadas para siempre.
+            own.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    /**
+     * Copia inmutable de las lecturas de una solicitud, con su hash precalculado.
+     */
+    private static final class Key {
+
+        private final Constellation constellation;
+        private final double[] distances;
+        private final double[] variances;
+        private final String[][] messages;
+        private final int hash;
+
+        Key(Constellation constellation, SatelliteReadings readings) {
+            this.constellation = constellation;
+            this.distances = readings.distances().clone();
+            this.variances = readings.variances() == null ? null : readings.variances().clone();
+            this.messages = readings.messages().clone();
+            int h = System.identityHashCode(constellation);
+            h = 31 * h + Arrays.hashCode(distances);
+            h = 31 * h + Arrays.hashCode(variances);
+            h = 31 * h + Arrays.deepHashCode(messages);
+            this.hash = h;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Key other
+                    && hash == other.hash
+                    && constellation == other.constellation
+                    && Arrays.equals(distances, other.distances)
+                    && Arrays.equals(variances, other.variances)
+                    && Arrays.deepEquals(messages, other.messages);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.starwars.meli.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.starwars.meli.model.RebelResponse;
+import com.starwars.meli.model.Satellite;
+import com.starwars.meli.model.SplitOperation;
+import com.starwars.meli.model.SplitOperationResult;
+import com.starwars.meli.service.ISplitFragmentStore;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Implementación de {@link ISplitFragmentStore} repartida entre varios nodos.
+ * <p>
+ * Cada transmisión tiene un nodo dueño, elegido con un {@link ConsistentHashRing} sobre su identificador, que guarda
+ * todos sus fragmentos en su {@link LocalSplitFragmentStore} y calcula su resultado. Las operaciones de este nodo
+ * sobre sus propias transmisiones no salen del proceso; las demás se envían al dueño a través de su
+ * {@link SplitPeer}, que las agrupa en lotes.
+ * </p>
+ * <p>
+ * Todos los nodos deben configurarse con la misma lista de nodos. Un cambio en la lista reasigna parte de las
+ * transmisiones, y los fragmentos ya guardados en su dueño anterior no se migran.
+ * </p>
+ */
+public class ShardedSplitFragmentStore implements ISplitFragmentStore {
+
+    private final String self;
+    private final ConsistentHashRing ring;
+    private final ISplitFragmentStore local;
+    private final Map<String, SplitPeer> peers = new HashMap<>();
+
+    /**
+     * @param self         URL base de este nodo, tal como figura en {@code nodes}.
+     * @param nodes        URL base de todos los nodos del grupo, incluido este.
+     * @param virtualNodes Puntos del anillo por nodo.
+     * @param local        Almacenamiento de las transmisiones de las que este nodo es dueño.
+     * @param timeout      Tiempo máximo de espera de cada lote enviado a otro nodo.
+     * @param maxBatch     Cantidad máxima de operaciones por lote.
+     */
+    public ShardedSplitFragmentStore(String self, List<String> nodes, int virtualNodes, ISplitFragmentStore local,
+                                     ObjectMapper objectMapper, Duration timeout, int maxBatch,
+                                     MeterRegistry meterRegistry) {
+        if (!nodes.contains(self)) {
+            throw new IllegalStateException("El nodo " + self + " no figura en la lista de nodos " + nodes);
+        }
+        this.self = self;
+        this.ring = new ConsistentHashRing(nodes, virtualNodes);
+        this.local = local;
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+        for (String node : nodes) {
+            if (!node.equals(self)) {
+                peers.put(node, new SplitPeer(node, client, objectMapper, timeout, maxBatch, meterRegistry));
+            }
+        }
+    }
+
+    @Override
+    public void store(String transmissionId, int slot, Satellite satellite, long timestamp) {
+        SplitPeer owner = owner(transmissionId);
+        if (owner == null) {
+            local.store(transmissionId, slot, satellite, timestamp);
+        } else {
+            join(owner.submit(SplitOperation.store(transmissionId, slot, satellite, timestamp)));
+        }
+    }
+
+    @Override
+    public RebelResponse result(String transmissionId) {
+        SplitPeer owner = owner(transmissionId);
+        return owner == null ? local.result(transmissionId)
+                : join(owner.submit(SplitOperation.result(transmissionId))).getResponse();
+    }
+
+    @Override
+    public CompletableFuture<RebelResponse> awaitResult(String transmissionId) {
+        SplitPeer owner = owner(transmissionId);
+        return owner == null ? local.awaitResult(transmissionId)
+                : owner.await(transmissionId).thenApply(result -> checked(result).getResponse());
+    }
+
+    /**
+     * Nodo dueño de la transmisión, o null si es este nodo.
+     */
+    private SplitPeer owner(String transmissionId) {
+        String node = ring.owner(transmissionId);
+        return node.equals(self) ? null : peers.get(node);
+    }
+
+    /**
+     * Espera el resultado de una operación remota y relanza el error que haya informado el nodo dueño.
+     */
+    private static SplitOperationResult join(CompletableFuture<SplitOperationResult> result) {
+        try {
+            return checked(result.join());
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private static SplitOperationResult checked(SplitOperationResult result) {
+        if (result.getStatus() != 200) {
+            throw SplitPeer.toException(result);
+        }
+        return result;
+    }
+}
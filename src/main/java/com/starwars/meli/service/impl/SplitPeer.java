@@ -0,0 +1,217 @@
+package com.starwars.meli.service.impl;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.starwars.meli.exception.TopsecretException;
+import com.starwars.meli.exception.TopsecretNotFoundException;
+import com.starwars.meli.exception.TopsecretUnavailableException;
+import com.starwars.meli.model.SplitOperation;
+import com.starwars.meli.model.SplitOperationResult;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Cliente de otro nodo del grupo de topsecret_split, que agrupa en lotes las operaciones dirigidas a él.
+ * <p>
+ * Las operaciones se encolan y viajan en una sola petición a {@code /internal/split/batch}. Hay a lo sumo una
+ * petición en curso por nodo: las operaciones que llegan mientras tanto forman el lote siguiente, de modo que con
+ * poca carga cada operación sale sin esperar y con mucha carga el tamaño del lote crece solo, sin un temporizador.
+ * </p>
+ * <p>
+ * Las suscripciones a un resultado ({@link #await(String)}) no se agrupan: cada una mantiene abierta su petición a
+ * {@code /internal/split/await} hasta que el nodo dueño resuelve la transmisión.
+ * </p>
+ */
+@Slf4j
+final class SplitPeer {
+
+    private static final TypeReference<List<SplitOperationResult>> RESULTS = new TypeReference<>() {
+    };
+
+    private final String node;
+    private final URI batchUri;
+    private final URI awaitUri;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper;
+    private final Duration timeout;
+    private final int maxBatch;
+    private final ConcurrentLinkedQueue<Pending> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean sending = new AtomicBoolean();
+    private final DistributionSummary batchSize;
+
+    /**
+     * @param node     URL base del nodo, por ejemplo {@code http://10.0.0.2:8080}.
+     * @param maxBatch Cantidad máxima de operaciones por petición.
+     */
+    SplitPeer(String node, HttpClient client, ObjectMapper objectMapper, Duration timeout, int maxBatch,
+              MeterRegistry meterRegistry) {
+        this.node = node;
+        this.batchUri = URI.create(node + "/internal/split/batch");
+        this.awaitUri = URI.create(node + "/internal/split/await");
+        this.client = client;
+        this.objectMapper = objectMapper;
+        this.timeout = timeout;
+        this.maxBatch = maxBatch;
+        this.batchSize = DistributionSummary.builder("topsecret.split.peer.batch")
+                .description("Operaciones de topsecret_split enviadas por petición a otro nodo")
+                .tag("node", node)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Encola una operación para el próximo lote.
+     *
+     * @return Un futuro con el resultado de la operación en el nodo dueño, o completado con
+     * {@link TopsecretUnavailableException} si el nodo no respondió.
+     */
+    CompletableFuture<SplitOperationResult> submit(SplitOperation operation) {
+        Pending pending = new Pending(operation);
+        queue.add(pending);
+        flush();
+        return pending.result;
+    }
+
+    /**
+     * Se suscribe al resultado de una transmisión en el nodo dueño.
+     *
+     * @return Un futuro con el resultado, que se completa cuando el nodo dueño resuelve la transmisión.
+     */
+    CompletableFuture<SplitOperationResult> await(String transmissionId) {
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(awaitUri)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(
+                            objectMapper.writeValueAsBytes(SplitOperation.result(transmissionId))))
+                    .build();
+        } catch (IOException ex) {
+            return CompletableFuture.failedFuture(TopsecretUnavailableException.NODE_UNAVAILABLE);
+        }
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .handle((response, error) -> {
+                    if (error != null || response.statusCode() != 200) {
+                        log.warn("El nodo {} no respondió la suscripción: {}", node,
+                                error != null ? error.getMessage() : response.statusCode());
+                        throw TopsecretUnavailableException.NODE_UNAVAILABLE;
+                    }
+                    try {
+                        return objectMapper.readValue(response.body(), SplitOperationResult.class);
+                    } catch (IOException ex) {
+                        throw TopsecretUnavailableException.NODE_UNAVAILABLE;
+                    }
+                });
+    }
+
+    /**
+     * Envía el siguiente lote si no hay otro en curso.
+     */
+    private void flush() {
+        while (sending.compareAndSet(false, true)) {
+            List<Pending> batch = new ArrayList<>();
+            Pending next;
+            while (batch.size() < maxBatch && (next = queue.poll()) != null) {
+                batch.add(next);
+            }
+            if (!batch.isEmpty()) {
+                send(batch);
+                return;
+            }
+            // Una operación encolada después del último poll debe enviarla este hilo o el que tome el turno.
+            sending.set(false);
+            if (queue.isEmpty()) {
+                return;
+            }
+        }
+    }
+
+    private void send(List<Pending> batch) {
+        batchSize.record(batch.size());
+        List<SplitOperation> operations = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            operations.add(pending.operation);
+        }
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(batchUri)
+                    .timeout(timeout)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(operations)))
+                    .build();
+        } catch (IOException ex) {
+            complete(batch, null, ex);
+            return;
+        }
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((response, error) -> complete(batch, response, error));
+    }
+
+    /**
+     * Publica los resultados del lote y libera el turno para el siguiente.
+     */
+    private void complete(List<Pending> batch, HttpResponse<byte[]> response, Throwable error) {
+        try {
+            List<SplitOperationResult> results = null;
+            if (error == null && response.statusCode() == 200) {
+                try {
+                    results = objectMapper.readValue(response.body(), RESULTS);
+                } catch (IOException ex) {
+                    error = ex;
+                }
+            }
+            if (results == null || results.size() != batch.size()) {
+                log.warn("El nodo {} no respondió un lote de {} operaciones: {}", node, batch.size(),
+                        error != null ? error.getMessage() : response.statusCode());
+                batch.forEach(pending -> pending.result.completeExceptionally(
+                        TopsecretUnavailableException.NODE_UNAVAILABLE));
+                return;
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result.complete(results.get(i));
+            }
+        } finally {
+            sending.set(false);
+            flush();
+        }
+    }
+
+    /**
+     * Excepción equivalente al error que informó el nodo dueño, para responder igual que si la operación fuera local.
+     */
+    static TopsecretException toException(SplitOperationResult result) {
+        String message = result.getMessage();
+        return switch (result.getStatus()) {
+            case 404 -> TopsecretException.INSUFFICIENT_DATA_MESSAGE.equals(message)
+                    ? TopsecretNotFoundException.INSUFFICIENT_DATA : new TopsecretNotFoundException(message);
+            case 503 -> TopsecretUnavailableException.NODE_UNAVAILABLE;
+            default -> TopsecretException.INVALID_DATA_MESSAGE.equals(message) ? TopsecretException.INVALID_DATA
+                    : TopsecretException.INSUFFICIENT_DATA_MESSAGE.equals(message) ? TopsecretException.INSUFFICIENT_DATA
+                    : new TopsecretException(message);
+        };
+    }
+
+    /**
+     * Operación encolada y el futuro de su resultado.
+     */
+    private static final class Pending {
+
+        private final SplitOperation operation;
+        private final CompletableFuture<SplitOperationResult> result = new CompletableFuture<>();
+
+        Pending(SplitOperation operation) {
+            this.operation = operation;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.starwars.meli.service.impl;
+
+import com.starwars.meli.model.RebelResponse;
+import com.starwars.meli.model.Satellite;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Estado de una transmisión de topsecret_split.
+ * <p>
+ * Guarda los satélites recibidos en posiciones fijas, según su índice en la constelación, en lugar de un mapa. Es inmutable:
+ * cada fragmento nuevo produce una copia, de modo que la caché puede recalcular su peso en cada actualización.
+ * </p>
+ * <p>
+ * El resultado de la transmisión se publica en un {@link CompletableFuture}. Mientras faltan satélites, todas las
+ * copias comparten el mismo futuro pendiente para que los suscriptores reciban el resultado en cuanto se complete;
+ * una vez completa, cualquier fragmento nuevo invalida el resultado y crea un futuro nuevo.
+ * </p>
+ */
+final class SplitSession {
+
+    /*
+     * Estimación aproximada, en bytes, de las cabeceras de objetos y referencias usadas por el cálculo del peso.
+     */
+    private static final int SESSION_OVERHEAD = 64;
+    private static final int SATELLITE_OVERHEAD = 64;
+    private static final int WORD_OVERHEAD = 48;
+
+    private final Satellite[] slots;
+    private final CompletableFuture<RebelResponse> result;
+    private final long updatedAt;
+
+    SplitSession(int satelliteCount) {
+        this(new Satellite[satelliteCount], new CompletableFuture<>(), System.currentTimeMillis());
+    }
+
+    private SplitSession(Satellite[] slots, CompletableFuture<RebelResponse> result, long updatedAt) {
+        this.slots = slots;
+        this.result = result;
+        this.updatedAt = updatedAt;
+    }
+
+    /**
+     * Crea una copia de la sesión con el satélite indicado en su posición.
+     *
+     * @param slot      Posición del satélite.
+     * @param satellite Información del satélite.
+     * @return La nueva sesión.
+     */
+    SplitSession with(int slot, Satellite satellite) {
+        return with(slot, satellite, System.currentTimeMillis());
+    }
+
+    /**
+     * Crea una copia de la sesión con el satélite indicado en su posición, recibido en el momento indicado.
+     *
+     * @param slot      Posición del satélite.
+     * @param satellite Información del satélite.
+     * @param timestamp Momento en que se recibió el fragmento, en milisegundos desde la época.
+     * @return La nueva sesión.
+     */
+    SplitSession with(int slot, Satellite satellite, long timestamp) {
+        // Si la constelación creció después de crear la sesión, se amplían las posiciones.
+        Satellite[] copy = Arrays.copyOf(slots, Math.max(slots.length, slot + 1));
+        copy[slot] = satellite;
+        return new SplitSession(copy, isComplete() ? new CompletableFuture<>() : result,
+                Math.max(updatedAt, timestamp));
+    }
+
+    /**
+     * Indica si ya se recibieron todos los satélites de la transmisión.
+     */
+    boolean isComplete() {
+        for (Satellite satellite : slots) {
+            if (satellite == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Momento en que se recibió el último fragmento, en milisegundos desde la época.
+     */
+    long updatedAt() {
+        return updatedAt;
+    }
+
+    /**
+     * Resultado de la transmisión, pendiente hasta que se reciban todos los satélites.
+     */
+    CompletableFuture<RebelResponse> result() {
+        return result;
+    }
+
+    /**
+     * Retorna una copia de los satélites en el orden de sus posiciones.
+     */
+    Satellite[] satellites() {
+        return slots.clone();
+    }
+
+    /**
+     * Estima la memoria ocupada por la sesión, usada como peso para limitar el tamaño total de la caché.
+     *
+     * @return El tamaño aproximado en bytes.
+     */
+    int estimatedSize() {
+        long size = SESSION_OVERHEAD;
+        for (Satellite satellite : slots) {
+            if (satellite != null && satellite.getMessage() != null) {
+                size += SATELLITE_OVERHEAD;
+                for (String word : satellite.getMessage()) {
+                    size += WORD_OVERHEAD + (word == null ? 0 : word.length());
+                }
+            }
+        }
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,93 @@
+package com.starwars.meli.service.impl;
+
+import com.starwars.meli.exception.TopsecretException;
+import com.starwars.meli.service.IMessageAssemblerService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Implementación de {@link IMessageAssemblerService} que tolera desfases entre los fragmentos de cada satélite.
+ * <p>
+ * Los satélites pueden recibir el mensaje con huecos iniciales de distinta longitud, por lo que los fragmentos se
+ * alinean por el final: la longitud del mensaje es la del fragmento más corto y el sobrante inicial de los demás
+ * debe estar vacío. Si dos satélites reportan palabras distintas en la misma posición, o hay palabras en el
+ * sobrante inicial, el mensaje se rechaza indicando la posición en conflicto.
+ * </p>
+ * <p>
+ * Recorre cada palabra una sola vez, por lo que el costo es lineal en el total de palabras recibidas. Se activa con
+ * la propiedad {@code message.assembler=suffix}.
+ * </p>
+ */
+@Service
+@ConditionalOnProperty(name = "message.assembler", havingValue = "suffix")
+public class SuffixAlignedMessageAssemblerServiceImpl implements IMessageAssemblerService {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+    private static final ThreadLocal<StringBuilder> BUILDER =
+            ThreadLocal.withInitial(() -> new StringBuilder(INITIAL_CAPACITY));
+
+    /**
+     * Ensambla el mensaje completo alineando los fragmentos por el final.
+     *
+     * @param messages Lista de arreglos de cadenas, donde cada arreglo representa el mensaje parcial recibido de un satélite.
+     * @return El mensaje completo ensamblado como una cadena de texto.
+     * @throws TopsecretException Si los fragmentos tienen palabras en conflicto.
+     */
+    @Override
+    public String assembleMessage(List<String[]> messages) {
+        int count = messages.size();
+        if (count == 0) {
+            return "";
+        }
+        // La longitud del mensaje es la del fragmento más corto.
+        int length = Integer.MAX_VALUE;
+        for (int m = 0; m < count; m++) {
+            length = Math.min(length, messages.get(m).length);
+        }
+        // El sobrante inicial de los fragmentos más largos corresponde al desfase y no debe contener palabras.
+        for (int m = 0; m < count; m++) {
+            String[] msg = messages.get(m);
+            for (int i = 0; i < msg.length - length; i++) {
+                if (isWord(msg[i])) {
+                    throw new TopsecretException("Mensaje inconsistente: hay palabras antes del inicio del mensaje");
+                }
+            }
+        }
+        StringBuilder builder = BUILDER.get();
+        builder.setLength(0);
+        for (int j = 0; j < length; j++) {
+            String selected = null;
+            for (int m = 0; m < count; m++) {
+                String[] msg = messages.get(m);
+                String word = msg[msg.length - length + j];
+                if (isWord(word)) {
+                    if (selected == null) {
+                        selected = word;
+                    } else if (!selected.equals(word)) {
+                        throw new TopsecretException("Mensaje inconsistente: palabras en conflicto en la posición " + j);
+                    }
+                }
+            }
+            if (selected != null) {
+                if (builder.length() > 0) {
+                    builder.append(' ');
+                }
+                builder.append(selected);
+            }
+        }
+        String message = builder.toString();
+        if (builder.capacity() > MAX_RETAINED_CAPACITY) {
+            BUILDER.set(new StringBuilder(INITIAL_CAPACITY));
+        }
+        return message;
+    }
+
+    private static boolean isWord(String word) {
+        return word != null && !word.isEmpty();
+    }
+}
@@ -1,63 +1,184 @@
 package com.starwars.meli.service.impl;
 
-import com.starwars.meli.model.Position;
+import com.starwars.meli.codec.SatelliteFrame;
+import com.starwars.meli.constellation.Constellation;
+import com.starwars.meli.constellation.ConstellationRegistry;
+import com.starwars.meli.exception.TopsecretException;
+import com.starwars.meli.model.LocationEstimate;
+import com.starwars.meli.model.RebelBatchResponse;
 import com.starwars.meli.model.RebelRequest;
 import com.starwars.meli.model.RebelResponse;
 import com.starwars.meli.model.Satellite;
 import com.starwars.meli.service.ILocationService;
 import com.starwars.meli.service.IMessageAssemblerService;
 import com.starwars.meli.service.ITopSecretService;
+import com.starwars.meli.validation.SatelliteReadings;
 import com.starwars.meli.validation.ValidationUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Implementación de ITopSecretService que procesa la solicitud para calcular la ubicación
  * y ensamblar el mensaje a partir de la información de los satélites.
+ * <p>
+ * Registra la duración de cada etapa (validación, ubicación y ensamblaje del mensaje) en temporizadores con
+ * histograma de percentiles.
+ * </p>
+ * <p>
+ * Con {@code topsecret.coalescing.enabled} las solicitudes idénticas que llegan mientras otra se resuelve esperan su
+ * respuesta en lugar de recalcularla (ver {@link RequestCoalescer}). Los lotes no se agrupan.
+ * </p>
+ * <p>
+ * Con {@code location.diagnostics.enabled} cada respuesta incluye la vía que resolvió la posición, su residuo RMS y
+ * las iteraciones y evaluaciones del optimizador. Los lotes responden solo las coordenadas.
+ * </p>
+ * <p>
+ * En un lote, las solicitudes inválidas rechazan el lote completo, pero las que no tienen solución se responden con
+ * su propio error sin afectar a las demás.
+ * </p>
  */
 @Service
 public class TopSecretServiceImpl implements ITopSecretService {
 
+    /**
+     * Lecturas validadas de la solicitud en curso, reutilizadas por hilo para no reservar arreglos en cada
+     * solicitud. Solo retienen arreglos primitivos del tamaño de la constelación: los mensajes se descartan al
+     * terminar.
+     */
+    private static final ThreadLocal<SatelliteReadings> READINGS = ThreadLocal.withInitial(SatelliteReadings::new);
+
     private final ILocationService locationService;
     private final IMessageAssemblerService messageAssemblerService;
+    private final ConstellationRegistry constellationRegistry;
+    private final Timer validationTimer;
+    private final Timer locationTimer;
+    private final Timer assemblyTimer;
+
+    /**
+     * Agrupador de solicitudes idénticas en curso, o null si está desactivado.
+     */
+    private final RequestCoalescer coalescer;
+
+    /**
+     * Indica si las respuestas incluyen los datos de convergencia del cálculo de la posición.
+     */
+    private final boolean diagnostics;
 
-    public TopSecretServiceImpl(ILocationService locationService, IMessageAssemblerService messageAssemblerService) {
+    public TopSecretServiceImpl(ILocationService locationService, IMessageAssemblerService messageAssemblerService,
+                                ConstellationRegistry constellationRegistry, MeterRegistry meterRegistry,
+                                @Value("${topsecret.coalescing.enabled:false}") boolean coalescing,
+                                @Value("${location.diagnostics.enabled:false}") boolean diagnostics) {
         this.locationService = locationService;
         this.messageAssemblerService = messageAssemblerService;
+        this.constellationRegistry = constellationRegistry;
+        this.validationTimer = stageTimer(meterRegistry, "validation");
+        this.locationTimer = stageTimer(meterRegistry, "location");
+        this.assemblyTimer = stageTimer(meterRegistry, "assembly");
+        this.coalescer = coalescing ? new RequestCoalescer(meterRegistry) : null;
+        this.diagnostics = diagnostics;
+    }
+
+    private static Timer stageTimer(MeterRegistry meterRegistry, String stage) {
+        return Timer.builder("topsecret.stage")
+                .description("Duración de cada etapa del procesamiento de una solicitud topsecret")
+                .tag("stage", stage)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 
     @Override
     public RebelResponse processTopSecretRequest(RebelRequest request) {
-        // Valida y mapea la solicitud.
-        Map<String, Satellite> satelliteMap = ValidationUtil.validateAndMapRebelRequest(request);
-        return processTopSecretRequest(satelliteMap);
+        // Valida y ordena los satélites según la constelación.
+        long start = System.nanoTime();
+        Constellation constellation = constellationRegistry.current();
+        SatelliteReadings readings = ValidationUtil.validateRebelRequest(request, constellation, READINGS.get());
+        validationTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return process(constellation, readings);
     }
 
     @Override
-    public RebelResponse processTopSecretRequest(Map<String, Satellite> satelliteMap) {
-        // Extrae los satélites requeridos
-        List<Satellite> satellites = ValidationUtil.extractRequiredSatellites(satelliteMap);
-
-        // Calcula la ubicación usando las distancias de los satélites.
-        double[] distances = new double[]{
-                satellites.get(0).getDistance(),
-                satellites.get(1).getDistance(),
-                satellites.get(2).getDistance()
-        };
-        Position coordinate = locationService.calculateLocation(distances);
+    public RebelResponse processTopSecretRequest(Satellite[] satellites) {
+        Constellation constellation = constellationRegistry.current();
+        return process(constellation, ValidationUtil.validateSatellites(satellites, constellation, READINGS.get()));
+    }
+
+    @Override
+    public RebelResponse processTopSecretRequest(SatelliteFrame frame) {
+        long start = System.nanoTime();
+        Constellation constellation = constellationRegistry.current();
+        SatelliteReadings readings = ValidationUtil.validateSatelliteFrame(frame, constellation, READINGS.get());
+        validationTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return process(constellation, readings);
+    }
+
+    /**
+     * Resuelve las lecturas ya validadas, agrupándolas con una solicitud idéntica en curso si está activado.
+     */
+    private RebelResponse process(Constellation constellation, SatelliteReadings readings) {
+        try {
+            return coalescer == null ? solve(readings) : coalescer.resolve(constellation, readings, this::solve);
+        } finally {
+            readings.clear();
+        }
+    }
+
+    /**
+     * Calcula la ubicación y ensambla el mensaje a partir de las lecturas ya validadas.
+     */
+    private RebelResponse solve(SatelliteReadings readings) {
+        long start = System.nanoTime();
+        LocationEstimate estimate = locationService.estimateLocation(readings.distances(), readings.variances());
+        long located = System.nanoTime();
+        locationTimer.record(located - start, TimeUnit.NANOSECONDS);
 
         // Ensambla el mensaje a partir de los fragmentos de los satélites.
-        String message = messageAssemblerService.assembleMessage(
-                Arrays.asList(
-                        satellites.get(0).getMessage(),
-                        satellites.get(1).getMessage(),
-                        satellites.get(2).getMessage()
-                )
-        );
-
-        return new RebelResponse(coordinate, message);
+        String message = messageAssemblerService.assembleMessage(Arrays.asList(readings.messages()));
+        assemblyTimer.record(System.nanoTime() - located, TimeUnit.NANOSECONDS);
+
+        return new RebelResponse(estimate.getPosition(), message, estimate.getAccuracy(),
+                diagnostics ? estimate.getDiagnostics() : null);
+    }
+
+    @Override
+    public RebelBatchResponse processTopSecretBatch(List<RebelRequest> requests) {
+        if (requests == null) {
+            throw TopsecretException.INSUFFICIENT_DATA;
+        }
+        Constellation constellation = constellationRegistry.current();
+        int size = requests.size();
+        int satelliteCount = constellation.size();
+        // Distancias por satélite (estructura de arreglos) y fragmentos de mensaje por solicitud.
+        double[][] distances = new double[satelliteCount][size];
+        String[][][] fragments = new String[size][][];
+        SatelliteReadings readings = READINGS.get();
+        try {
+            for (int i = 0; i < size; i++) {
+                ValidationUtil.validateRebelRequest(requests.get(i), constellation, readings);
+                fragments[i] = readings.messages().clone();
+                for (int s = 0; s < satelliteCount; s++) {
+                    distances[s][i] = readings.distances()[s];
+                }
+            }
+        } finally {
+            readings.clear();
+        }
+
+        // Resuelve el lote repartiéndolo entre los núcleos disponibles. Es trabajo de cómputo, así que se queda en el
+        // ForkJoinPool común también con hilos virtuales: el hilo de la solicitud espera estacionado, sin ocupar su
+        // hilo portador.
+        double[] xs = new double[size];
+        double[] ys = new double[size];
+        String[] messages = new String[size];
+        String[] errors = new String[size];
+        ForkJoinPool.commonPool().invoke(new BatchSolveTask(
+                locationService, messageAssemblerService, distances, fragments, xs, ys, messages, errors, 0, size));
+        return new RebelBatchResponse(xs, ys, messages, errors);
     }
 }
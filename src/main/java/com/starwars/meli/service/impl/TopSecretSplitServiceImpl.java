@@ -1,48 +1,62 @@
 package com.starwars.meli.service.impl;
 
+import com.starwars.meli.codec.SatelliteFrame;
+import com.starwars.meli.constellation.Constellation;
+import com.starwars.meli.constellation.ConstellationRegistry;
 import com.starwars.meli.exception.TopsecretException;
-import com.starwars.meli.model.Position;
 import com.starwars.meli.model.RebelResponse;
 import com.starwars.meli.model.Satellite;
-import com.starwars.meli.service.ILocationService;
-import com.starwars.meli.service.IMessageAssemblerService;
-import com.starwars.meli.service.ITopSecretService;
+import com.starwars.meli.service.ISplitFragmentStore;
 import com.starwars.meli.service.ITopSecretSplitService;
 import com.starwars.meli.validation.ValidationUtil;
 import org.springframework.stereotype.Service;
-import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Implementación de ITopSecretSplitService que almacena datos de satélites y procesa la información consolidada.
+ * <p>
+ * Valida cada fragmento contra la constelación vigente y lo delega, con el satélite identificado por su índice, en
+ * el {@link ISplitFragmentStore} configurado: por defecto {@link LocalSplitFragmentStore}, que guarda las
+ * transmisiones en este nodo, o {@link ShardedSplitFragmentStore} con {@code split.cluster.enabled=true}, que las
+ * reparte entre varios nodos.
+ * </p>
  */
 @Service
 public class TopSecretSplitServiceImpl implements ITopSecretSplitService {
 
-    private final Map<String, Satellite> satelliteData = new ConcurrentHashMap<>();
-    private final ITopSecretService topSecretService;
+    private final ISplitFragmentStore store;
+    private final ConstellationRegistry constellationRegistry;
 
-    public TopSecretSplitServiceImpl(ILocationService locationService,
-                                     IMessageAssemblerService messageAssemblerService,
-                                     ITopSecretService topSecretService) {
-        this.topSecretService = topSecretService;
+    public TopSecretSplitServiceImpl(ISplitFragmentStore store, ConstellationRegistry constellationRegistry) {
+        this.store = store;
+        this.constellationRegistry = constellationRegistry;
     }
 
     @Override
-    public void storeSatellite(String satelliteName, Satellite satellite) {
+    public void storeSatellite(String transmissionId, String satelliteName, Satellite satellite) {
         if (satellite == null) {
-            throw new TopsecretException("Datos inválidos");
+            throw TopsecretException.INVALID_DATA;
         }
-        satellite.setName(satelliteName.toLowerCase());
-        satelliteData.put(satelliteName.toLowerCase(), satellite);
-        ValidationUtil.validateSatelliteName(satelliteName);
+        Constellation constellation = constellationRegistry.current();
+        int slot = ValidationUtil.satelliteIndex(satelliteName, constellation);
+        satellite.setName(constellation.name(slot));
+        store.store(transmissionId, slot, satellite, System.currentTimeMillis());
+    }
+
+    @Override
+    public void storeSatellite(String transmissionId, String satelliteName, SatelliteFrame frame) {
+        Satellite satellite = ValidationUtil.validateAndMapSplitFrame(frame, satelliteName, constellationRegistry.current());
+        storeSatellite(transmissionId, satelliteName, satellite);
+    }
+
+    @Override
+    public RebelResponse processStoredData(String transmissionId) {
+        return store.result(transmissionId);
     }
 
     @Override
-    public RebelResponse processStoredData() {
-        // Valida que existan los datos de los tres satélites.
-        Map<String, Satellite> validatedData = ValidationUtil.validateSatelliteData(satelliteData);
-        // Usa el servicio compartido
-        return topSecretService.processTopSecretRequest(validatedData);
+    public CompletableFuture<RebelResponse> awaitResult(String transmissionId) {
+        return store.awaitResult(transmissionId);
     }
 }
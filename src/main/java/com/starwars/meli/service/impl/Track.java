@@ -0,0 +1,197 @@
+package com.starwars.meli.service.impl;
+
+import com.starwars.meli.model.LocationAccuracy;
+import com.starwars.meli.model.Position;
+import com.starwars.meli.model.TrackEstimate;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Estado de un emisor en seguimiento: filtro de Kalman 2D de velocidad constante.
+ * <p>
+ * El estado es (x, y, vx, vy) y su covarianza, una matriz simétrica de 4x4 de la que se guardan sus diez elementos
+ * distintos. Todo vive en campos primitivos y cada medición se incorpora con un número fijo de operaciones, sin
+ * reservar memoria ni invertir matrices de más de 2x2.
+ * </p>
+ * <p>
+ * El ruido de proceso modela una aceleración blanca de densidad espectral q por eje. La medición es la posición
+ * calculada por trilateración, con la covarianza que informa esa solución. No es seguro para uso concurrente: el
+ * llamador debe tomar {@link #lock()}.
+ * </p>
+ */
+final class Track {
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private double x;
+    private double y;
+    private double vx;
+    private double vy;
+
+    /*
+     * Covarianza del estado, en el orden (x, y, vx, vy).
+     */
+    private double pxx;
+    private double pxy;
+    private double pyy;
+    private double pxvx;
+    private double pxvy;
+    private double pyvx;
+    private double pyvy;
+    private double pvxvx;
+    private double pvxvy;
+    private double pvyvy;
+
+    private long updatedAt;
+    private long updates;
+
+    /**
+     * Bloqueo que serializa las mediciones y consultas del seguimiento. Es un ReentrantLock para no fijar los hilos
+     * virtuales a su portador mientras esperan.
+     */
+    ReentrantLock lock() {
+        return lock;
+    }
+
+    /**
+     * Indica si el seguimiento ya recibió alguna medición.
+     */
+    boolean isInitialized() {
+        return updates > 0;
+    }
+
+    /**
+     * Inicia el seguimiento con la primera medición, con velocidad nula y la incertidumbre indicada.
+     *
+     * @param zx               Coordenada x medida.
+     * @param zy               Coordenada y medida.
+     * @param rxx              Varianza de x medida.
+     * @param rxy              Covarianza entre x e y medidas.
+     * @param ryy              Varianza de y medida.
+     * @param velocityVariance Varianza inicial de cada componente de la velocidad.
+     * @param timestamp        Momento de la medición, en milisegundos desde la época.
+     */
+    void initialize(double zx, double zy, double rxx, double rxy, double ryy, double velocityVariance,
+                    long timestamp) {
+        x = zx;
+        y = zy;
+        vx = 0;
+        vy = 0;
+        pxx = rxx;
+        pxy = rxy;
+        pyy = ryy;
+        pxvx = 0;
+        pxvy = 0;
+        pyvx = 0;
+        pyvy = 0;
+        pvxvx = velocityVariance;
+        pvxvy = 0;
+        pvyvy = velocityVariance;
+        updatedAt = timestamp;
+        updates = 1;
+    }
+
+    /**
+     * Avanza el estado hasta el momento indicado: x' = F x y P' = F P F^T + Q. Una medición anterior a la última
+     * incorporada se trata como simultánea a ella.
+     *
+     * @param timestamp    Momento de la nueva medición, en milisegundos desde la época.
+     * @param processNoise Densidad espectral q de la aceleración, por eje.
+     * @param predicted    Arreglo donde se escribe la posición predicha {x, y}.
+     */
+    void predict(long timestamp, double processNoise, double[] predicted) {
+        double dt = Math.max(timestamp - updatedAt, 0) / 1000.0;
+        double dt2 = dt * dt;
+        updatedAt = Math.max(updatedAt, timestamp);
+
+        x += vx * dt;
+        y += vy * dt;
+
+        // F P F^T, con F = [[I, dt I], [0, I]]. Los bloques de posición usan los valores previos de los cruzados.
+        pxx += dt * 2 * pxvx + dt2 * pvxvx;
+        pxy += dt * (pxvy + pyvx) + dt2 * pvxvy;
+        pyy += dt * 2 * pyvy + dt2 * pvyvy;
+        pxvx += dt * pvxvx;
+        pxvy += dt * pvxvy;
+        pyvx += dt * pvxvy;
+        pyvy += dt * pvyvy;
+
+        // Q de una aceleración blanca: q dt^3/3 en la posición, q dt^2/2 en el cruce y q dt en la velocidad.
+        pxx += processNoise * dt2 * dt / 3;
+        pyy += processNoise * dt2 * dt / 3;
+        pxvx += processNoise * dt2 / 2;
+        pyvy += processNoise * dt2 / 2;
+        pvxvx += processNoise * dt;
+        pvyvy += processNoise * dt;
+
+        predicted[0] = x;
+        predicted[1] = y;
+    }
+
+    /**
+     * Incorpora una medición de posición, con H = [I, 0], en el momento de la última predicción.
+     *
+     * @param zx  Coordenada x medida.
+     * @param zy  Coordenada y medida.
+     * @param rxx Varianza de x medida.
+     * @param rxy Covarianza entre x e y medidas.
+     * @param ryy Varianza de y medida.
+     * @return false si la covarianza de la innovación es singular y la medición se descartó.
+     */
+    boolean correct(double zx, double zy, double rxx, double rxy, double ryy) {
+        // S = H P H^T + R y su inversa.
+        double sxx = pxx + rxx;
+        double sxy = pxy + rxy;
+        double syy = pyy + ryy;
+        double det = sxx * syy - sxy * sxy;
+        if (!(det > 0)) {
+            return false;
+        }
+        double ixx = syy / det;
+        double ixy = -sxy / det;
+        double iyy = sxx / det;
+
+        // Columnas de P H^T: a = P[:, x] y b = P[:, y].
+        double ax = pxx, ay = pxy, avx = pxvx, avy = pxvy;
+        double bx = pxy, by = pyy, bvx = pyvx, bvy = pyvy;
+
+        // Ganancia K = P H^T S^-1, una fila por componente del estado.
+        double kxx = ax * ixx + bx * ixy, kxy = ax * ixy + bx * iyy;
+        double kyx = ay * ixx + by * ixy, kyy = ay * ixy + by * iyy;
+        double kvxx = avx * ixx + bvx * ixy, kvxy = avx * ixy + bvx * iyy;
+        double kvyx = avy * ixx + bvy * ixy, kvyy = avy * ixy + bvy * iyy;
+
+        double ex = zx - x;
+        double ey = zy - y;
+        x += kxx * ex + kxy * ey;
+        y += kyx * ex + kyy * ey;
+        vx += kvxx * ex + kvxy * ey;
+        vy += kvyx * ex + kvyy * ey;
+
+        // P = P - K (P H^T)^T, elemento a elemento: P_ij -= K_i · (a_j, b_j).
+        pxx -= kxx * ax + kxy * bx;
+        pxy -= kxx * ay + kxy * by;
+        pyy -= kyx * ay + kyy * by;
+        pxvx -= kxx * avx + kxy * bvx;
+        pxvy -= kxx * avy + kxy * bvy;
+        pyvx -= kyx * avx + kyy * bvx;
+        pyvy -= kyx * avy + kyy * bvy;
+        pvxvx -= kvxx * avx + kvxy * bvx;
+        pvxvy -= kvxx * avy + kvxy * bvy;
+        pvyvy -= kvyx * avy + kvyy * bvy;
+
+        updates++;
+        return true;
+    }
+
+    /**
+     * Copia el estado actual del seguimiento.
+     *
+     * @param trackId Identificador del seguimiento.
+     */
+    TrackEstimate estimate(String trackId) {
+        return new TrackEstimate(trackId, new Position(x, y), new Position(vx, vy),
+                LocationAccuracy.fromCovariance(pxx, pxy, pyy, List.of()), updates, updatedAt);
+    }
+}
@@ -0,0 +1,168 @@
+package com.starwars.meli.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.starwars.meli.constellation.ConstellationRegistry;
+import com.starwars.meli.exception.TopsecretException;
+import com.starwars.meli.exception.TopsecretNotFoundException;
+import com.starwars.meli.model.LocationAccuracy;
+import com.starwars.meli.model.LocationEstimate;
+import com.starwars.meli.model.RebelRequest;
+import com.starwars.meli.model.TrackEstimate;
+import com.starwars.meli.service.ILocationService;
+import com.starwars.meli.service.ITrackingService;
+import com.starwars.meli.validation.SatelliteReadings;
+import com.starwars.meli.validation.ValidationUtil;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Implementación de {@link ITrackingService} con un filtro de Kalman de velocidad constante por seguimiento.
+ * <p>
+ * Cada medición se resuelve con {@link ILocationService#estimateLocation(double[], double[], double[])} usando como
+ * punto de partida del optimizador la posición predicha por el filtro, que para un emisor en movimiento suele estar
+ * más cerca de la solución que la linealización de una medición ruidosa. La posición calculada y su covarianza se
+ * incorporan luego al filtro, que acumula la historia del emisor en unos pocos campos primitivos.
+ * </p>
+ * <p>
+ * Los seguimientos se guardan en una caché acotada y expiran tras {@code tracking.ttl} sin mediciones ni
+ * consultas. Las mediciones de un mismo seguimiento se incorporan de a una, en el orden en que toman su bloqueo.
+ * </p>
+ * <p>
+ * Un seguimiento se crea recién cuando su primera medición tiene solución. Una medición que no puede resolverse, o
+ * cuya innovación tiene covarianza singular, se rechaza con {@link TopsecretException#INSUFFICIENT_DATA}; el filtro
+ * conserva la predicción hasta su momento, pero no la medición.
+ * </p>
+ */
+@Service
+public class TrackingServiceImpl implements ITrackingService {
+
+    /**
+     * Lecturas validadas de la medición en curso, reutilizadas por hilo.
+     */
+    private static final ThreadLocal<SatelliteReadings> READINGS = ThreadLocal.withInitial(SatelliteReadings::new);
+
+    private final ILocationService locationService;
+    private final ConstellationRegistry constellationRegistry;
+    private final Cache<String, Track> tracks;
+
+    /**
+     * Densidad espectral de la aceleración del emisor, por eje (unidades de distancia^2 / s^3).
+     */
+    private final double processNoise;
+
+    /**
+     * Varianza inicial de cada componente de la velocidad (unidades de distancia^2 / s^2).
+     */
+    private final double initialVelocityVariance;
+
+    /**
+     * Varianza asumida para la posición medida cuando la geometría no permite estimar su covarianza.
+     */
+    private final double defaultVariance;
+
+    public TrackingServiceImpl(ILocationService locationService,
+                               ConstellationRegistry constellationRegistry,
+                               @Value("${tracking.process-noise:1.0}") double processNoise,
+                               @Value("${tracking.initial-velocity-variance:100.0}") double initialVelocityVariance,
+                               @Value("${location.default-variance:1.0}") double defaultVariance,
+                               @Value("${tracking.ttl:10m}") Duration ttl,
+                               @Value("${tracking.max-tracks:100000}") long maxTracks,
+                               MeterRegistry meterRegistry) {
+        this.locationService = locationService;
+        this.constellationRegistry = constellationRegistry;
+        this.processNoise = processNoise;
+        this.initialVelocityVariance = initialVelocityVariance;
+        this.defaultVariance = defaultVariance;
+        this.tracks = Caffeine.newBuilder()
+                .expireAfterAccess(ttl)
+                .maximumSize(maxTracks)
+                .build();
+        Gauge.builder("tracking.tracks", tracks, Cache::estimatedSize)
+                .description("Emisores en seguimiento")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public TrackEstimate update(String trackId, RebelRequest request, long timestamp) {
+        SatelliteReadings readings = ValidationUtil.validateRebelRequest(request, constellationRegistry.current(),
+                READINGS.get());
+        try {
+            Track track = tracks.getIfPresent(trackId);
+            if (track == null) {
+                // La primera medición se resuelve antes de crear el seguimiento, para que una medición rechazada no
+                // deje un seguimiento vacío en la caché.
+                LocationEstimate estimate = locationService.estimateLocation(readings.distances(),
+                        readings.variances(), null);
+                track = tracks.get(trackId, id -> new Track());
+                track.lock().lock();
+                try {
+                    if (track.isInitialized()) {
+                        // Otra medición creó el seguimiento mientras tanto: esta se incorpora después de ella.
+                        track.predict(timestamp, processNoise, new double[2]);
+                    }
+                    return incorporate(trackId, track, estimate, timestamp);
+                } finally {
+                    track.lock().unlock();
+                }
+            }
+            track.lock().lock();
+            try {
+                double[] predicted = null;
+                if (track.isInitialized()) {
+                    predicted = new double[2];
+                    track.predict(timestamp, processNoise, predicted);
+                }
+                LocationEstimate estimate = locationService.estimateLocation(readings.distances(),
+                        readings.variances(), predicted);
+                return incorporate(trackId, track, estimate, timestamp);
+            } finally {
+                track.lock().unlock();
+            }
+        } finally {
+            readings.clear();
+        }
+    }
+
+    /**
+     * Inicia el seguimiento con la posición calculada o la incorpora al filtro ya predicho. Debe llamarse con el
+     * bloqueo del seguimiento tomado.
+     *
+     * @throws TopsecretException Si la covarianza de la innovación es singular y la medición no pudo incorporarse.
+     */
+    private TrackEstimate incorporate(String trackId, Track track, LocationEstimate estimate, long timestamp) {
+        double zx = estimate.getPosition().getX();
+        double zy = estimate.getPosition().getY();
+        LocationAccuracy accuracy = estimate.getAccuracy();
+        double rxx = accuracy == null ? defaultVariance : accuracy.getCovarianceXX();
+        double rxy = accuracy == null ? 0 : accuracy.getCovarianceXY();
+        double ryy = accuracy == null ? defaultVariance : accuracy.getCovarianceYY();
+        if (!track.isInitialized()) {
+            track.initialize(zx, zy, rxx, rxy, ryy, initialVelocityVariance, timestamp);
+        } else if (!track.correct(zx, zy, rxx, rxy, ryy)) {
+            throw TopsecretException.INSUFFICIENT_DATA;
+        }
+        return track.estimate(trackId);
+    }
+
+    @Override
+    public TrackEstimate get(String trackId) {
+        Track track = tracks.getIfPresent(trackId);
+        if (track == null) {
+            throw TopsecretNotFoundException.INSUFFICIENT_DATA;
+        }
+        track.lock().lock();
+        try {
+            if (!track.isInitialized()) {
+                throw TopsecretNotFoundException.INSUFFICIENT_DATA;
+            }
+            return track.estimate(trackId);
+        } finally {
+            track.lock().unlock();
+        }
+    }
+}
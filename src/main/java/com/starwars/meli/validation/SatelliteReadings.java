@@ -0,0 +1,85 @@
+package com.starwars.meli.validation;
+
+import java.util.Arrays;
+
+/**
+ * Lecturas validadas de los satélites de una solicitud, en el orden de sus índices en la constelación.
+ * <p>
+ * Es un contenedor reutilizable: {@link #reset(int)} lo prepara para una nueva solicitud sin reservar memoria
+ * mientras no cambie la cantidad de satélites. Las distancias y varianzas se guardan en arreglos primitivos y los
+ * mensajes, como referencias a los arreglos recibidos. No es seguro para uso concurrente.
+ * </p>
+ */
+public final class SatelliteReadings {
+
+    private double[] distances = new double[0];
+    private double[] variances = new double[0];
+    private String[][] messages = new String[0][];
+    private boolean hasVariances;
+
+    /**
+     * Prepara el contenedor para una solicitud con la cantidad de satélites indicada.
+     *
+     * @param size Cantidad de satélites de la constelación.
+     */
+    public void reset(int size) {
+        if (distances.length != size) {
+            distances = new double[size];
+            variances = new double[size];
+            messages = new String[size][];
+        } else {
+            Arrays.fill(messages, null);
+        }
+        hasVariances = false;
+    }
+
+    /**
+     * Indica si ya se registró el satélite con el índice indicado.
+     */
+    boolean isSet(int index) {
+        return messages[index] != null;
+    }
+
+    /**
+     * Registra la lectura de un satélite.
+     *
+     * @param index    Índice del satélite en la constelación.
+     * @param distance Distancia medida.
+     * @param variance Varianza de la distancia, o NaN si no se informa.
+     * @param message  Fragmento del mensaje recibido.
+     */
+    void set(int index, double distance, double variance, String[] message) {
+        distances[index] = distance;
+        variances[index] = variance;
+        messages[index] = message;
+        hasVariances |= !Double.isNaN(variance);
+    }
+
+    /**
+     * Descarta las referencias a los mensajes para no retenerlos mientras el contenedor no se usa.
+     */
+    public void clear() {
+        Arrays.fill(messages, null);
+    }
+
+    /**
+     * Distancia medida por cada satélite.
+     */
+    public double[] distances() {
+        return distances;
+    }
+
+    /**
+     * Varianza de cada distancia (NaN si el satélite no la informa), o null si ningún satélite la informa.
+     */
+    public double[] variances() {
+        return hasVariances ? variances : null;
+    }
+
+    /**
+     * Fragmento del mensaje recibido por cada satélite.
+     */
+    public String[][] messages() {
+        return messages;
+    }
+}
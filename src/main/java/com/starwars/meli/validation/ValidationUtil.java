@@ -1,74 +1,155 @@
 package com.starwars.meli.validation;
 
+import com.starwars.meli.codec.SatelliteFrame;
+import com.starwars.meli.constellation.Constellation;
 import com.starwars.meli.exception.TopsecretException;
 import com.starwars.meli.model.RebelRequest;
 import com.starwars.meli.model.Satellite;
-import java.util.Map;
 import java.util.List;
-import java.util.Arrays;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Clase de utilidades para validar y mapear la información de los satélites.
+ * <p>
+ * Los satélites se identifican por su índice dentro de la {@link Constellation} vigente; el nombre solo se
+ * resuelve aquí, una vez por satélite recibido.
+ * </p>
  */
 public class ValidationUtil {
 
     /**
-     * Valida que el RebelRequest contenga exactamente 3 satélites y que estén presentes
-     * los satélites "kenobi", "skywalker" y "sato". Luego, mapea los satélites usando sus nombres en minúsculas.
+     * Valida en una sola pasada que el RebelRequest contenga exactamente un satélite por cada satélite de la
+     * constelación, sin repetidos y con distancia y mensaje, y escribe sus lecturas en el contenedor según su índice.
      *
-     * @param request Objeto RebelRequest con la información de los satélites.
-     * @return Un mapa con los satélites.
-     * @throws TopsecretException Si la solicitud no contiene exactamente 3 satélites o si falta alguno de los satélites requeridos.
+     * @param request       Objeto RebelRequest con la información de los satélites.
+     * @param constellation Constelación vigente.
+     * @param readings      Contenedor donde se escriben las lecturas; se reinicia antes de usarlo.
+     * @return El mismo contenedor, con las lecturas en el orden de los índices de los satélites.
+     * @throws TopsecretException Si la solicitud no contiene exactamente los satélites de la constelación o a alguno
+     *                            le faltan datos.
      */
-    public static Map<String, Satellite> validateAndMapRebelRequest(RebelRequest request) {
-        if (request.getSatellites() == null || request.getSatellites().size() != 3) {
-            throw new TopsecretException("Información insuficiente o error en la operación");
+    public static SatelliteReadings validateRebelRequest(RebelRequest request, Constellation constellation,
+                                                         SatelliteReadings readings) {
+        List<Satellite> satellites = request.getSatellites();
+        int size = constellation.size();
+        if (satellites == null || satellites.size() != size) {
+            throw TopsecretException.INSUFFICIENT_DATA;
         }
-        Map<String, Satellite> satelliteMap = request.getSatellites().stream()
-                .collect(Collectors.toMap(s -> s.getName().toLowerCase(), s -> s));
-        if (!(satelliteMap.containsKey("kenobi") &&
-                satelliteMap.containsKey("skywalker") &&
-                satelliteMap.containsKey("sato"))) {
-            throw new TopsecretException("Información insuficiente o error en la operación");
+        readings.reset(size);
+        for (int i = 0; i < size; i++) {
+            Satellite satellite = satellites.get(i);
+            int index = satellite == null ? -1 : constellation.indexOf(satellite.getName());
+            if (index < 0 || readings.isSet(index)) {
+                throw TopsecretException.INSUFFICIENT_DATA;
+            }
+            set(readings, index, satellite);
         }
-        return satelliteMap;
+        return readings;
     }
 
     /**
-     * Extrae los satélites requeridos ("kenobi", "skywalker" y "sato") del mapa validado.
+     * Valida los satélites de una transmisión de topsecret_split, ya ordenados por su índice, y escribe sus
+     * lecturas en el contenedor.
      *
-     * @param satelliteMap Mapa que contiene los satélites.
-     * @return Una lista de satélites en el orden: kenobi, skywalker y sato.
-     * @throws TopsecretException Si alguno de los satélites requeridos es nulo.
+     * @param satellites    Satélites en el orden de sus índices.
+     * @param constellation Constelación vigente.
+     * @param readings      Contenedor donde se escriben las lecturas; se reinicia antes de usarlo.
+     * @return El mismo contenedor, con las lecturas en el orden de los índices de los satélites.
+     * @throws TopsecretException Si falta alguno de los satélites o a alguno le faltan datos.
      */
-    public static List<Satellite> extractRequiredSatellites(Map<String, Satellite> satelliteMap) {
-        Satellite kenobi = satelliteMap.get("kenobi");
-        Satellite skywalker = satelliteMap.get("skywalker");
-        Satellite sato = satelliteMap.get("sato");
-        if (kenobi == null || skywalker == null || sato == null) {
-            throw new TopsecretException("Información insuficiente o error en la operación");
+    public static SatelliteReadings validateSatellites(Satellite[] satellites, Constellation constellation,
+                                                       SatelliteReadings readings) {
+        int size = constellation.size();
+        if (satellites.length != size) {
+            throw TopsecretException.INSUFFICIENT_DATA;
         }
-        return Arrays.asList(kenobi, skywalker, sato);
+        readings.reset(size);
+        for (int i = 0; i < size; i++) {
+            set(readings, i, satellites[i]);
+        }
+        return readings;
     }
 
-    public static Map<String, Satellite> validateSatelliteData(Map<String, Satellite> satelliteData) {
-        if (!(satelliteData.containsKey("kenobi") &&
-                satelliteData.containsKey("skywalker") &&
-                satelliteData.containsKey("sato"))) {
-            throw new TopsecretException("Información insuficiente o error en la operación");
+    /**
+     * Valida un frame binario y escribe sus lecturas en el contenedor según el índice de cada satélite.
+     *
+     * @param frame         Satélites decodificados del formato binario.
+     * @param constellation Constelación vigente.
+     * @param readings      Contenedor donde se escriben las lecturas; se reinicia antes de usarlo.
+     * @return El mismo contenedor, con las lecturas en el orden de los índices de los satélites.
+     * @throws TopsecretException Si el frame no contiene exactamente los satélites de la constelación, o alguna
+     *                            distancia o varianza no es válida.
+     */
+    public static SatelliteReadings validateSatelliteFrame(SatelliteFrame frame, Constellation constellation,
+                                                           SatelliteReadings readings) {
+        int size = constellation.size();
+        if (frame.size() != size) {
+            throw TopsecretException.INSUFFICIENT_DATA;
+        }
+        readings.reset(size);
+        for (int i = 0; i < size; i++) {
+            int index = frame.getSatellites()[i];
+            if (index < 0 || index >= size || readings.isSet(index) || !isValid(frame, i)) {
+                throw TopsecretException.INSUFFICIENT_DATA;
+            }
+            readings.set(index, frame.getDistances()[i], frame.getVariances()[i], frame.getMessages()[i]);
         }
-        return satelliteData;
+        return readings;
     }
 
-    private static final Set<String> VALID_NAMES = Set.of("kenobi", "skywalker", "sato");
+    /**
+     * Valida los datos de un satélite y registra su lectura.
+     */
+    private static void set(SatelliteReadings readings, int index, Satellite satellite) {
+        if (satellite == null || satellite.getDistance() == null || satellite.getMessage() == null
+                || (satellite.getVariance() != null && !(satellite.getVariance() > 0))) {
+            throw TopsecretException.INSUFFICIENT_DATA;
+        }
+        Double variance = satellite.getVariance();
+        readings.set(index, satellite.getDistance(), variance == null ? Double.NaN : variance, satellite.getMessage());
+    }
 
-    public static void validateSatelliteName(String name) {
-        if (name == null || !VALID_NAMES.contains(name.toLowerCase())) {
-            throw new TopsecretException("Nombre de satélite inválido: " + name);
+    /**
+     * Convierte el único satélite de un frame binario de topsecret_split en un {@link Satellite}.
+     *
+     * @param frame         Satélites decodificados del formato binario.
+     * @param satelliteName Nombre del satélite indicado en la ruta.
+     * @param constellation Constelación vigente.
+     * @return El satélite, con su nombre.
+     * @throws TopsecretException Si el frame no contiene un único satélite válido que coincida con el nombre.
+     */
+    public static Satellite validateAndMapSplitFrame(SatelliteFrame frame, String satelliteName,
+                                                     Constellation constellation) {
+        int index = satelliteIndex(satelliteName, constellation);
+        if (frame.size() != 1 || frame.getSatellites()[0] != index || !isValid(frame, 0)) {
+            throw TopsecretException.INSUFFICIENT_DATA;
         }
+        Satellite satellite = new Satellite();
+        satellite.setName(constellation.name(index));
+        satellite.setDistance(frame.getDistances()[0]);
+        double variance = frame.getVariances()[0];
+        satellite.setVariance(Double.isNaN(variance) ? null : variance);
+        satellite.setMessage(frame.getMessages()[0]);
+        return satellite;
     }
 
+    private static boolean isValid(SatelliteFrame frame, int i) {
+        double variance = frame.getVariances()[i];
+        return Double.isFinite(frame.getDistances()[i]) && (Double.isNaN(variance) || variance > 0);
+    }
 
+    /**
+     * Obtiene el índice de un satélite dentro de la constelación.
+     *
+     * @param name          Nombre del satélite, sin distinguir mayúsculas y minúsculas.
+     * @param constellation Constelación vigente.
+     * @return El índice del satélite.
+     * @throws TopsecretException Si el nombre no corresponde a ninguno de los satélites.
+     */
+    public static int satelliteIndex(String name, Constellation constellation) {
+        int index = constellation.indexOf(name);
+        if (index < 0) {
+            throw new TopsecretException("Nombre de satélite inválido: " + name);
+        }
+        return index;
+    }
 }
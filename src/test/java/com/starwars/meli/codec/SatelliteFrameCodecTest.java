@@ -0,0 +1,133 @@
+package com.starwars.meli.codec;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Pruebas de {@link SatelliteFrameCodec}: ida y vuelta del formato binario y rechazo de frames mal formados.
+ */
+class SatelliteFrameCodecTest {
+
+    private final SatelliteFrameCodec codec = new SatelliteFrameCodec(new WordDictionary(false, 0));
+
+    @Test
+    void roundTripsSatellites() {
+        byte[] frame = SatelliteFrameCodec.encode(
+                new int[]{2, 0, 1},
+                new double[]{142.7, 100.0, 115.5},
+                new double[]{Double.NaN, 0.25, 4.0},
+                new String[][]{{"", "", "un", ""}, {"este", "", "", "mensaje"}, {"", "es", "", "mensaje"}});
+
+        ByteBuffer buffer = ByteBuffer.wrap(frame);
+        SatelliteFrame decoded = codec.decode(buffer);
+
+        assertThat(buffer.hasRemaining()).isFalse();
+        assertThat(decoded.size()).isEqualTo(3);
+        assertThat(decoded.getSatellites()).containsExactly(2, 0, 1);
+        assertThat(decoded.getDistances()).containsExactly(142.7, 100.0, 115.5);
+        assertThat(decoded.getVariances()[0]).isNaN();
+        assertThat(decoded.getVariances()[1]).isEqualTo(0.25);
+        assertThat(decoded.getVariances()[2]).isEqualTo(4.0);
+        assertThat(decoded.getMessages()).isEqualTo(
+                new String[][]{{"", "", "un", ""}, {"este", "", "", "mensaje"}, {"", "es", "", "mensaje"}});
+        // Cada palabra distinta viaja una sola vez por frame.
+        assertThat(decoded.getMessages()[1][3]).isSameAs(decoded.getMessages()[2][3]);
+    }
+
+    @Test
+    void roundTripsWithoutVariancesAndNonAsciiWords() {
+        byte[] frame = SatelliteFrameCodec.encode(
+                new int[]{0},
+                new double[]{-0.5},
+                null,
+                new String[][]{{"señal", null, "通信"}});
+
+        SatelliteFrame decoded = codec.decode(ByteBuffer.wrap(frame));
+
+        assertThat(decoded.getVariances()[0]).isNaN();
+        assertThat(decoded.getDistances()).containsExactly(-0.5);
+        // Una palabra nula se envía como vacía.
+        assertThat(decoded.getMessages()[0]).containsExactly("señal", "", "通信");
+    }
+
+    @Test
+    void decodesConsecutiveFrames() {
+        byte[] first = SatelliteFrameCodec.encode(new int[]{0}, new double[]{1}, null, new String[][]{{"a"}});
+        byte[] second = SatelliteFrameCodec.encode(new int[]{1}, new double[]{2}, null, new String[][]{{"b"}});
+        ByteBuffer buffer = ByteBuffer.allocate(first.length + second.length).put(first).put(second).flip();
+
+        assertThat(codec.decode(buffer).getMessages()[0]).containsExactly("a");
+        assertThat(buffer.position()).isEqualTo(first.length);
+        assertThat(codec.decode(buffer).getMessages()[0]).containsExactly("b");
+        assertThat(buffer.hasRemaining()).isFalse();
+    }
+
+    @Test
+    void reusesDictionaryWordsAcrossFrames() {
+        SatelliteFrameCodec dictionaryCodec = new SatelliteFrameCodec(new WordDictionary(true, 16));
+        byte[] frame = SatelliteFrameCodec.encode(new int[]{0}, new double[]{1}, null, new String[][]{{"mensaje"}});
+
+        String first = dictionaryCodec.decode(ByteBuffer.wrap(frame)).getMessages()[0][0];
+        String second = dictionaryCodec.decode(ByteBuffer.wrap(frame)).getMessages()[0][0];
+
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void rejectsEveryTruncatedPrefix() {
+        byte[] frame = SatelliteFrameCodec.encode(
+                new int[]{0, 1},
+                new double[]{100.0, 115.5},
+                new double[]{1.0, Double.NaN},
+                new String[][]{{"este", "", "mensaje"}, {"", "es", ""}});
+
+        for (int length = 0; length < frame.length; length++) {
+            ByteBuffer prefix = ByteBuffer.wrap(Arrays.copyOf(frame, length));
+            assertThatThrownBy(() -> codec.decode(prefix)).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void rejectsUnsupportedVersion() {
+        byte[] frame = SatelliteFrameCodec.encode(new int[]{0}, new double[]{1}, null, new String[][]{{"a"}});
+        frame[0] = SatelliteFrameCodec.VERSION + 1;
+
+        assertThatThrownBy(() -> codec.decode(ByteBuffer.wrap(frame)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Versión");
+    }
+
+    @Test
+    void rejectsReferenceToMissingWord() {
+        // Sin palabras, pero el mensaje del satélite referencia la primera.
+        ByteBuffer frame = ByteBuffer.allocate(32).order(ByteOrder.LITTLE_ENDIAN);
+        frame.put((byte) SatelliteFrameCodec.VERSION).put((byte) 0).put((byte) 1)
+                .put((byte) 0).put((byte) 0).putDouble(100.0)
+                .put((byte) 1).put((byte) 1)
+                .flip();
+
+        assertThatThrownBy(() -> codec.decode(frame)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsCountsLargerThanTheFrame() {
+        // Declara 100 palabras en un frame de tres bytes: se rechaza antes de reservar el arreglo.
+        ByteBuffer frame = ByteBuffer.wrap(new byte[]{SatelliteFrameCodec.VERSION, 100, 0});
+
+        assertThatThrownBy(() -> codec.decode(frame)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsVarintsThatDoNotFitAnInt() {
+        ByteBuffer frame = ByteBuffer.wrap(new byte[]{
+                SatelliteFrameCodec.VERSION, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0x7F});
+
+        assertThatThrownBy(() -> codec.decode(frame)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,178 @@
+package com.starwars.meli.constellation;
+
+import com.lemmingapex.trilateration.NonLinearLeastSquaresSolver;
+import com.lemmingapex.trilateration.TrilaterationFunction;
+import org.apache.commons.math3.fitting.leastsquares.LevenbergMarquardtOptimizer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Pruebas de exactitud de las vías vectorizadas de {@link BatchPrecision}: con distancias exactas se comparan con
+ * Levenberg-Marquardt partiendo de la solución lineal, que converge a la posición verdadera, y con distancias
+ * ruidosas, con la vía escalar, incluidos los emisores marcados para el optimizador. Los rangos no son múltiplos de la
+ * cantidad de carriles, para que la cola escalar de cada bloque también se compare.
+ */
+class VectorLinearSolverTest {
+
+    /**
+     * Distancia máxima admitida entre la posición calculada y la de referencia, con emisores a hasta 1000 unidades
+     * del origen.
+     */
+    private static final double DOUBLE_TOLERANCE = 1e-9;
+    private static final double FLOAT_TOLERANCE = 5e-3;
+
+    /**
+     * Rangos [from, to) del lote: menos emisores que carriles (todo por la vía escalar), un bloque completo y varios
+     * bloques que empiezan desplazados y terminan con una cola.
+     */
+    private static final int[][] RANGES = {{0, 5}, {0, 256}, {7, 7 + 2 * 256 + 13}};
+    private static final int FIXES = 7 + 2 * 256 + 13 + 3;
+
+    private final Constellation constellation = new ConstellationRegistry(new ConstellationProperties()).current();
+
+    @Test
+    void solveDoubleMatchesLevenbergMarquardtWithExactDistances() {
+        matchesLevenbergMarquardt(BatchPrecision.DOUBLE, DOUBLE_TOLERANCE);
+    }
+
+    @Test
+    void solveFloatMatchesLevenbergMarquardtWithExactDistances() {
+        matchesLevenbergMarquardt(BatchPrecision.FLOAT, FLOAT_TOLERANCE);
+    }
+
+    @Test
+    void solveDoubleMatchesScalarPathWithNoisyDistances() {
+        matchesScalarPath(BatchPrecision.DOUBLE, DOUBLE_TOLERANCE);
+    }
+
+    @Test
+    void solveFloatMatchesScalarPathWithNoisyDistances() {
+        matchesScalarPath(BatchPrecision.FLOAT, FLOAT_TOLERANCE);
+    }
+
+    @Test
+    void negativeMaxResidualRejectsEverySolution() {
+        for (BatchPrecision precision : new BatchPrecision[]{BatchPrecision.DOUBLE, BatchPrecision.FLOAT}) {
+            assumeTrue(precision.isSupported(), "requiere --add-modules jdk.incubator.vector");
+            double[][] distances = distances(0, 42);
+            for (int[] range : RANGES) {
+                double[] xs = new double[FIXES];
+                double[] ys = new double[FIXES];
+                precision.solver().solve(constellation, distances, xs, ys, range[0], range[1], -1);
+
+                for (int i = range[0]; i < range[1]; i++) {
+                    assertThat(xs[i]).as("%s, emisor %d", precision, i).isNaN();
+                }
+            }
+        }
+    }
+
+    @Test
+    void scalarPathHasNoVectorSolver() {
+        assertThat(BatchPrecision.SCALAR.isSupported()).isTrue();
+        assertThatThrownBy(BatchPrecision.SCALAR::solver).isInstanceOf(IllegalStateException.class);
+    }
+
+    private void matchesLevenbergMarquardt(BatchPrecision precision, double tolerance) {
+        assumeTrue(precision.isSupported(), "requiere --add-modules jdk.incubator.vector");
+        double[][] distances = distances(0, 42);
+        double[] expectedXs = new double[FIXES];
+        double[] expectedYs = new double[FIXES];
+        double[] fix = new double[constellation.size()];
+        double[] weights = new double[constellation.size()];
+        Arrays.fill(weights, 1);
+        double[] point = new double[2];
+        for (int i = 0; i < FIXES; i++) {
+            for (int s = 0; s < fix.length; s++) {
+                fix[s] = distances[s][i];
+            }
+            constellation.solveLinear(fix, point);
+            double[] expected = new NonLinearLeastSquaresSolver(
+                    new TrilaterationFunction(constellation.positions(), fix), new LevenbergMarquardtOptimizer())
+                    .solve(new double[fix.length], weights, point)
+                    .getPoint().toArray();
+            expectedXs[i] = expected[0];
+            expectedYs[i] = expected[1];
+        }
+
+        for (int[] range : RANGES) {
+            double[] xs = new double[FIXES];
+            double[] ys = new double[FIXES];
+            // Con distancias exactas ninguna solución debe quedar para el optimizador.
+            precision.solver().solve(constellation, distances, xs, ys, range[0], range[1], 1);
+
+            assertWithin(precision, range, xs, ys, expectedXs, expectedYs, tolerance);
+        }
+    }
+
+    private void matchesScalarPath(BatchPrecision precision, double tolerance) {
+        assumeTrue(precision.isSupported(), "requiere --add-modules jdk.incubator.vector");
+        double[][] distances = distances(5, 7);
+        // Con ruido de ±5 el residuo de casi todos los emisores es del orden de la unidad, lejos de ambos límites.
+        for (double maxResidual : new double[]{0.01, 100}) {
+            double[] expectedXs = new double[FIXES];
+            double[] expectedYs = new double[FIXES];
+            double[] point = new double[2];
+            for (int i = 0; i < FIXES; i++) {
+                constellation.solveLinear(distances, i, point);
+                boolean accepted = constellation.residual(point[0], point[1], distances, i) <= maxResidual;
+                expectedXs[i] = accepted ? point[0] : Double.NaN;
+                expectedYs[i] = point[1];
+            }
+
+            for (int[] range : RANGES) {
+                double[] xs = new double[FIXES];
+                double[] ys = new double[FIXES];
+                precision.solver().solve(constellation, distances, xs, ys, range[0], range[1], maxResidual);
+
+                assertWithin(precision, range, xs, ys, expectedXs, expectedYs, tolerance);
+            }
+        }
+    }
+
+    /**
+     * Comprueba que los emisores del rango coincidan con la referencia, con NaN en los mismos emisores, y que los de
+     * fuera del rango no se hayan escrito.
+     */
+    private static void assertWithin(BatchPrecision precision, int[] range, double[] xs, double[] ys,
+                                     double[] expectedXs, double[] expectedYs, double tolerance) {
+        for (int i = 0; i < xs.length; i++) {
+            String description = precision + " en [" + range[0] + ", " + range[1] + "), emisor " + i;
+            if (i < range[0] || i >= range[1]) {
+                assertThat(xs[i]).as(description).isEqualTo(0.0);
+                assertThat(ys[i]).as(description).isEqualTo(0.0);
+            } else if (Double.isNaN(expectedXs[i])) {
+                assertThat(xs[i]).as(description).isNaN();
+            } else {
+                assertThat(Math.hypot(xs[i] - expectedXs[i], ys[i] - expectedYs[i])).as(description)
+                        .isLessThanOrEqualTo(tolerance);
+            }
+        }
+    }
+
+    /**
+     * Genera distancias desde emisores aleatorios a hasta 1000 unidades del origen, por satélite.
+     *
+     * @param noise Ruido máximo agregado a cada distancia (0 para distancias exactas).
+     */
+    private double[][] distances(double noise, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        double[][] positions = constellation.positions();
+        double[][] distances = new double[positions.length][FIXES];
+        for (int i = 0; i < FIXES; i++) {
+            double x = random.nextDouble(-1000, 1000);
+            double y = random.nextDouble(-1000, 1000);
+            for (int s = 0; s < positions.length; s++) {
+                double error = noise == 0 ? 0 : random.nextDouble(-noise, noise);
+                distances[s][i] = Math.hypot(x - positions[s][0], y - positions[s][1]) + error;
+            }
+        }
+        return distances;
+    }
+}
@@ -0,0 +1,254 @@
+package com.starwars.meli.persistence;
+
+import com.starwars.meli.model.Satellite;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Pruebas de recuperación de {@link SplitJournal}: registros escritos a medias o dañados antes de una caída, e
+ * instantáneas seguidas de segmentos posteriores.
+ */
+class SplitJournalTest {
+
+    private static final long TIMESTAMP = 1_700_000_000_000L;
+
+    @TempDir
+    Path directory;
+
+    private final List<SplitJournal> journals = new ArrayList<>();
+
+    @AfterEach
+    void closeJournals() throws InterruptedException {
+        for (SplitJournal journal : journals) {
+            journal.destroy();
+        }
+    }
+
+    @Test
+    void recoversFragmentsInOrder() throws InterruptedException {
+        SplitJournal journal = open(new ArrayList<>(), sink -> {
+        });
+        journal.append("t1", satellite("kenobi", 100.0, "este", "", "mensaje"), TIMESTAMP);
+        journal.append("t1", satellite("skywalker", 115.5, "", "es", ""), TIMESTAMP + 1);
+        journal.append("t2", satellite("sato", 142.7, "", "", "un"), TIMESTAMP + 2);
+        journal.destroy();
+
+        List<String> recovered = new ArrayList<>();
+        open(recovered, sink -> {
+        });
+
+        assertThat(recovered).containsExactly(
+                "t1/kenobi/100.0/null/[este, , mensaje]@" + TIMESTAMP,
+                "t1/skywalker/115.5/null/[, es, ]@" + (TIMESTAMP + 1),
+                "t2/sato/142.7/null/[, , un]@" + (TIMESTAMP + 2));
+    }
+
+    @Test
+    void stopsAtRecordWhoseLengthWasNotWritten() throws IOException, InterruptedException {
+        SplitJournal journal = open(new ArrayList<>(), sink -> {
+        });
+        int[] offsets = appendThree(journal);
+        journal.destroy();
+        // La longitud se escribe al final: una caída a mitad del tercer registro la deja en 0.
+        write(directory.resolve("journal-1.log"), offsets[2], new byte[4]);
+
+        List<String> recovered = new ArrayList<>();
+        open(recovered, sink -> {
+        });
+
+        assertThat(recovered).extracting(SplitJournalTest::name).containsExactly("kenobi", "skywalker");
+    }
+
+    @Test
+    void stopsAtTruncatedRecord() throws IOException, InterruptedException {
+        SplitJournal journal = open(new ArrayList<>(), sink -> {
+        });
+        int[] offsets = appendThree(journal);
+        journal.destroy();
+        try (FileChannel channel = FileChannel.open(directory.resolve("journal-1.log"), StandardOpenOption.WRITE)) {
+            channel.truncate(offsets[2] + FragmentCodec.RECORD_HEADER + 5);
+        }
+
+        List<String> recovered = new ArrayList<>();
+        open(recovered, sink -> {
+        });
+
+        assertThat(recovered).extracting(SplitJournalTest::name).containsExactly("kenobi", "skywalker");
+    }
+
+    @Test
+    void stopsAtCorruptRecordAndKeepsLaterSegments() throws IOException, InterruptedException {
+        SplitJournal journal = open(new ArrayList<>(), sink -> {
+        });
+        int[] offsets = appendThree(journal);
+        journal.destroy();
+        // Un byte cambiado en el contenido del segundo registro invalida su CRC.
+        Path segment = directory.resolve("journal-1.log");
+        int corrupted = offsets[1] + FragmentCodec.RECORD_HEADER + 10;
+        write(segment, corrupted, new byte[]{(byte) ~read(segment, corrupted)});
+
+        List<String> recovered = new ArrayList<>();
+        SplitJournal reopened = open(recovered, sink -> {
+        });
+        assertThat(recovered).extracting(SplitJournalTest::name).containsExactly("kenobi");
+
+        // Lo escrito después de la recuperación va a un segmento nuevo y se recupera en el siguiente inicio.
+        reopened.append("t3", satellite("kenobi", 90.0, "otro"), TIMESTAMP + 3);
+        reopened.destroy();
+        List<String> again = new ArrayList<>();
+        open(again, sink -> {
+        });
+        assertThat(again).containsExactly(
+                "t1/kenobi/100.0/null/[este, , mensaje]@" + TIMESTAMP,
+                "t3/kenobi/90.0/null/[otro]@" + (TIMESTAMP + 3));
+    }
+
+    @Test
+    void recoversFromSnapshotAndLaterSegments() throws InterruptedException {
+        // Estado en memoria que el diario copia en la instantánea.
+        List<Object[]> state = new ArrayList<>();
+        Consumer<FragmentSink> snapshotSource = sink -> state.forEach(fragment ->
+                sink.accept((String) fragment[0], (Satellite) fragment[1], (Long) fragment[2]));
+        SplitJournal journal = open(new ArrayList<>(), snapshotSource);
+        appendTo(journal, state, "t1", satellite("kenobi", 100.0, "este", ""), TIMESTAMP);
+        appendTo(journal, state, "t1", satellite("skywalker", 115.5, "", "es"), TIMESTAMP + 1);
+
+        journal.compact();
+        assertThat(directory.resolve("snapshot-2.bin")).exists();
+        assertThat(directory.resolve("journal-1.log")).doesNotExist();
+
+        appendTo(journal, state, "t1", satellite("sato", 142.7, "", ""), TIMESTAMP + 2);
+        journal.destroy();
+
+        List<String> recovered = new ArrayList<>();
+        open(recovered, sink -> {
+        });
+
+        assertThat(recovered).containsExactly(
+                "t1/kenobi/100.0/null/[este, ]@" + TIMESTAMP,
+                "t1/skywalker/115.5/null/[, es]@" + (TIMESTAMP + 1),
+                "t1/sato/142.7/null/[, ]@" + (TIMESTAMP + 2));
+    }
+
+    @Test
+    void compactionWithoutNewFragmentsKeepsFiles() {
+        SplitJournal journal = open(new ArrayList<>(), sink -> {
+        });
+        journal.compact();
+
+        assertThat(directory.resolve("journal-1.log")).exists();
+        assertThat(directory.resolve("snapshot-2.bin")).doesNotExist();
+    }
+
+    @Test
+    void roundTripsStringsLongerThan64Kilobytes() throws InterruptedException {
+        String word = "ñ".repeat(40_000);
+        String transmissionId = "t".repeat(70_000);
+        SplitJournal journal = open(new ArrayList<>(), sink -> {
+        });
+        journal.append(transmissionId, satellite("kenobi", 100.0, word, ""), TIMESTAMP);
+        journal.destroy();
+
+        List<String> recovered = new ArrayList<>();
+        open(recovered, sink -> {
+        });
+
+        assertThat(recovered).containsExactly(
+                transmissionId + "/kenobi/100.0/null/[" + word + ", ]@" + TIMESTAMP);
+    }
+
+    @Test
+    void rejectsFragmentLargerThanSegmentBeforeWriting() {
+        SplitJournal journal = open(new ArrayList<>(), sink -> {
+        }, DataSize.ofKilobytes(64));
+
+        assertThatThrownBy(() -> journal.encode("t1", satellite("kenobi", 100.0, "x".repeat(70_000)), TIMESTAMP))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private SplitJournal open(List<String> recovered, Consumer<FragmentSink> snapshotSource) {
+        return open(recovered, snapshotSource, DataSize.ofMegabytes(1));
+    }
+
+    private SplitJournal open(List<String> recovered, Consumer<FragmentSink> snapshotSource, DataSize segmentSize) {
+        SplitJournal journal = new SplitJournal(directory, segmentSize, Duration.ofMillis(1), false);
+        journal.open((transmissionId, satellite, timestamp) ->
+                recovered.add(describe(transmissionId, satellite, timestamp)), snapshotSource);
+        journals.add(journal);
+        return journal;
+    }
+
+    /**
+     * Agrega tres fragmentos al primer segmento y devuelve la posición de cada registro en el archivo.
+     */
+    private static int[] appendThree(SplitJournal journal) {
+        Satellite[] satellites = {
+                satellite("kenobi", 100.0, "este", "", "mensaje"),
+                satellite("skywalker", 115.5, "", "es", ""),
+                satellite("sato", 142.7, "", "", "un")
+        };
+        int[] offsets = new int[satellites.length];
+        // Los segmentos empiezan con un encabezado de 8 bytes.
+        int offset = 8;
+        for (int i = 0; i < satellites.length; i++) {
+            byte[] record = journal.encode("t1", satellites[i], TIMESTAMP + i);
+            journal.append(record);
+            offsets[i] = offset;
+            offset += FragmentCodec.RECORD_HEADER + record.length;
+        }
+        return offsets;
+    }
+
+    private static void appendTo(SplitJournal journal, List<Object[]> state, String transmissionId,
+                                 Satellite satellite, long timestamp) {
+        journal.append(transmissionId, satellite, timestamp);
+        state.add(new Object[]{transmissionId, satellite, timestamp});
+    }
+
+    private static Satellite satellite(String name, double distance, String... message) {
+        Satellite satellite = new Satellite();
+        satellite.setName(name);
+        satellite.setDistance(distance);
+        satellite.setMessage(message);
+        return satellite;
+    }
+
+    private static String describe(String transmissionId, Satellite satellite, long timestamp) {
+        return transmissionId + "/" + satellite.getName() + "/" + satellite.getDistance() + "/"
+                + satellite.getVariance() + "/" + Arrays.toString(satellite.getMessage()) + "@" + timestamp;
+    }
+
+    private static String name(String description) {
+        return description.split("/")[1];
+    }
+
+    private static byte read(Path path, int offset) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(1);
+            channel.read(buffer, offset);
+            return buffer.get(0);
+        }
+    }
+
+    private static void write(Path path, int offset, byte[] bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(bytes), offset);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.starwars.meli.replay;
+
+import com.starwars.meli.codec.SatelliteFrameCodec;
+import com.starwars.meli.replay.InterceptFile.Format;
+import com.starwars.meli.replay.InterceptFile.RecordChunk;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Pruebas de {@link InterceptFile} con ventanas pequeñas, para que los registros queden cortados en los bordes de las
+ * ventanas como en un archivo de más de {@link InterceptFile#WINDOW} bytes.
+ */
+class InterceptFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsFramesCutAtWindowEdges() throws IOException {
+        List<byte[]> frames = new ArrayList<>();
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+        for (int i = 0; i < 20; i++) {
+            byte[] frame = frame("palabra" + i);
+            frames.add(frame);
+            file.write(record(frame));
+        }
+        Path path = write("frames.bin", file.toByteArray());
+
+        for (int window = 40; window <= 80; window++) {
+            assertThat(records(path, window)).as("ventana de %d bytes", window).containsExactlyElementsOf(frames);
+        }
+    }
+
+    @Test
+    void reportsCorruptLengthAsMalformedRecordInAnyWindow() throws IOException {
+        byte[] first = frame("este");
+        byte[] second = frame("mensaje");
+        byte[] corrupt = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF};
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+        file.write(record(first));
+        file.write(record(second));
+        file.write(corrupt);
+        // Lo que sigue a la longitud inválida ocupa más de una ventana, para que esta no sea la última.
+        for (int i = 0; i < 10; i++) {
+            file.write(record(frame("secreto" + i)));
+        }
+        Path path = write("corrupt.bin", file.toByteArray());
+
+        // Con cualquier ventana, los frames anteriores se leen y desde la longitud inválida queda un registro inválido.
+        for (int window = 40; window <= 80; window++) {
+            List<byte[]> records = records(path, window);
+            assertThat(records).as("ventana de %d bytes", window).hasSize(3);
+            assertThat(records.get(0)).isEqualTo(first);
+            assertThat(records.get(1)).isEqualTo(second);
+            assertThat(records.get(2)[0]).isEqualTo((byte) 0xFF);
+        }
+        List<byte[]> records = records(path, InterceptFile.WINDOW);
+        assertThat(records).hasSize(3);
+        assertThat(records.get(2)[0]).isEqualTo((byte) 0xFF);
+    }
+
+    @Test
+    void rejectsFrameLargerThanWindow() throws IOException {
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+        file.write(record(frame("corto")));
+        file.write(record(frame("x".repeat(200))));
+        file.write(record(frame("corto")));
+        Path path = write("large.bin", file.toByteArray());
+
+        assertThatThrownBy(() -> records(path, 64))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Registro de más de 64 bytes");
+    }
+
+    private Path write(String name, byte[] bytes) throws IOException {
+        Path path = directory.resolve(name);
+        Files.write(path, bytes);
+        return path;
+    }
+
+    /**
+     * Lee el archivo binario con la ventana indicada y devuelve el contenido de cada registro, en orden.
+     */
+    private static List<byte[]> records(Path path, int window) throws IOException {
+        List<byte[]> records = new ArrayList<>();
+        new InterceptFile(path, Format.BINARY, window).forEachChunk(4, (RecordChunk chunk) -> {
+            for (int i = 0; i < chunk.size(); i++) {
+                byte[] bytes = new byte[chunk.length(i)];
+                chunk.buffer().get(chunk.offset(i), bytes);
+                records.add(bytes);
+            }
+        });
+        return records;
+    }
+
+    private static byte[] frame(String word) {
+        return SatelliteFrameCodec.encode(new int[]{0}, new double[]{100.0}, null, new String[][]{{word}});
+    }
+
+    /**
+     * Antepone al frame su longitud como varint, como en los archivos de intercepciones.
+     */
+    private static byte[] record(byte[] frame) {
+        ByteBuffer buffer = ByteBuffer.allocate(frame.length + 5);
+        SatelliteFrameCodec.putVarint(buffer, frame.length);
+        buffer.put(frame);
+        byte[] bytes = new byte[buffer.position()];
+        buffer.flip().get(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,114 @@
+package com.starwars.meli.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Pruebas de estabilidad de {@link ConsistentHashRing}: todos los nodos deben calcular el mismo dueño para cada
+ * transmisión, y cambiar la lista de nodos solo debe mover las transmisiones del nodo agregado o quitado.
+ */
+class ConsistentHashRingTest {
+
+    private static final List<String> NODES = List.of("http://node-a:8080", "http://node-b:8080", "http://node-c:8080");
+    private static final int KEYS = 30_000;
+
+    @Test
+    void hashDoesNotDependOnTheJvm() {
+        // Valores fijos: si cambian, nodos con distintas versiones dejarían de coincidir en el dueño.
+        assertThat(ConsistentHashRing.hash("")).isEqualTo(-1166397803181037274L);
+        assertThat(ConsistentHashRing.hash("default")).isEqualTo(-3138862838512757331L);
+        assertThat(ConsistentHashRing.hash("transmission-1")).isEqualTo(-4013533972833634255L);
+        assertThat(ConsistentHashRing.hash("http://node-a:8080#0")).isEqualTo(4727722801608900014L);
+    }
+
+    @Test
+    void ownersAreFixedForAGivenNodeList() {
+        ConsistentHashRing ring = new ConsistentHashRing(NODES, 128);
+
+        assertThat(ring.owner("default")).isEqualTo("http://node-c:8080");
+        assertThat(ring.owner("transmission-1")).isEqualTo("http://node-c:8080");
+        assertThat(ring.owner("transmission-2")).isEqualTo("http://node-b:8080");
+        assertThat(ring.owner("transmission-3")).isEqualTo("http://node-b:8080");
+    }
+
+    @Test
+    void ownerDoesNotDependOnNodeOrder() {
+        ConsistentHashRing ring = new ConsistentHashRing(NODES, 128);
+        ConsistentHashRing reversed = new ConsistentHashRing(NODES.reversed(), 128);
+
+        for (int i = 0; i < KEYS; i++) {
+            String key = "transmission-" + i;
+            assertThat(reversed.owner(key)).isEqualTo(ring.owner(key));
+        }
+    }
+
+    @Test
+    void addingANodeOnlyMovesKeysToIt() {
+        ConsistentHashRing ring = new ConsistentHashRing(NODES, 128);
+        String added = "http://node-d:8080";
+        ConsistentHashRing grown = new ConsistentHashRing(
+                List.of(NODES.get(0), NODES.get(1), NODES.get(2), added), 128);
+
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            String key = "transmission-" + i;
+            String before = ring.owner(key);
+            String after = grown.owner(key);
+            if (!after.equals(before)) {
+                assertThat(after).isEqualTo(added);
+                moved++;
+            }
+        }
+        // El nodo nuevo se lleva cerca de un cuarto de las claves.
+        assertThat(moved / (double) KEYS).isBetween(0.15, 0.35);
+    }
+
+    @Test
+    void removingANodeOnlyMovesItsKeys() {
+        ConsistentHashRing ring = new ConsistentHashRing(NODES, 128);
+        String removed = NODES.get(1);
+        ConsistentHashRing shrunk = new ConsistentHashRing(List.of(NODES.get(0), NODES.get(2)), 128);
+
+        for (int i = 0; i < KEYS; i++) {
+            String key = "transmission-" + i;
+            String before = ring.owner(key);
+            if (!before.equals(removed)) {
+                assertThat(shrunk.owner(key)).isEqualTo(before);
+            }
+        }
+    }
+
+    @Test
+    void spreadsKeysAcrossNodes() {
+        ConsistentHashRing ring = new ConsistentHashRing(NODES, 128);
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            counts.merge(ring.owner("transmission-" + i), 1, Integer::sum);
+        }
+
+        for (String node : NODES) {
+            assertThat(counts.getOrDefault(node, 0) / (double) KEYS).isBetween(0.2, 0.45);
+        }
+    }
+
+    @Test
+    void singleNodeOwnsEveryKey() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("http://node-a:8080"), 1);
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(ring.owner("transmission-" + i)).isEqualTo("http://node-a:8080");
+        }
+    }
+
+    @Test
+    void rejectsEmptyRing() {
+        assertThatThrownBy(() -> new ConsistentHashRing(List.of(), 128)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ConsistentHashRing(NODES, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
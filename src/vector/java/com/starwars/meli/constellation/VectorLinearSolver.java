@@ -0,0 +1,230 @@
+package com.starwars.meli.constellation;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Resolución vectorizada del sistema linealizado de la {@link Constellation} para un lote de emisores.
+ * <p>
+ * Cada carril de un vector es un emisor: con la estructura de arreglos del lote, las distancias de un satélite a
+ * emisores consecutivos se cargan con una sola instrucción y cada operación aritmética avanza tantos emisores como
+ * carriles tenga el vector (8 en doble precisión y 16 en precisión simple con AVX-512). Los emisores que no completan
+ * un vector se resuelven con la vía escalar.
+ * </p>
+ * <p>
+ * El lote se recorre por bloques que caben en la caché L1 y, dentro de cada bloque, satélite por satélite: las sumas
+ * parciales de x, y y del residuo se acumulan en arreglos del bloque en lugar de en vectores que pasen de una vuelta
+ * a otra de un ciclo, porque C2 no puede mantener en registros un vector que atraviesa un ciclo de largo variable y
+ * lo crearía como objeto en cada vuelta.
+ * </p>
+ * <p>
+ * Calcula además el residuo de cada solución y marca con NaN en {@code xs} los emisores cuyo residuo RMS supera el
+ * máximo o no es finito, para que el llamador los resuelva con el optimizador igual que en la vía escalar.
+ * </p>
+ * <p>
+ * En precisión simple las distancias se convierten a float por bloques y b_i se calcula como
+ * (r_0 - r_i)(r_0 + r_i) en lugar de r_0^2 - r_i^2, que evita restar dos cuadrados grandes y casi iguales. Aun así,
+ * el redondeo a 24 bits de mantisa limita la exactitud a unas 5e-6 veces la escala de las distancias, por lo que el
+ * residuo máximo debe quedar por encima de ese orden para que los emisores no pasen todos al optimizador.
+ * </p>
+ * <p>
+ * Requiere {@code --add-modules jdk.incubator.vector} al compilar y al ejecutar, por eso vive en un source set propio
+ * que Gradle compila con el módulo. El resto del código la obtiene con {@link BatchPrecision#solver()}, que la carga
+ * por nombre después de comprobar {@link BatchPrecision#isSupported()}, porque cargar esta clase sin el módulo falla.
+ * </p>
+ */
+public final class VectorLinearSolver {
+
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Float> FLOATS = FloatVector.SPECIES_PREFERRED;
+
+    /**
+     * Emisores por bloque.
+     */
+    private static final int BLOCK = 256;
+
+    /**
+     * Vía de {@link BatchPrecision#DOUBLE}; el nombre coincide con el de la constante.
+     */
+    public static final LinearBatchSolver DOUBLE = VectorLinearSolver::solveDouble;
+
+    /**
+     * Vía de {@link BatchPrecision#FLOAT}; el nombre coincide con el de la constante.
+     */
+    public static final LinearBatchSolver FLOAT = VectorLinearSolver::solveFloat;
+
+    private VectorLinearSolver() {
+    }
+
+    /**
+     * Resuelve los emisores [from, to) del lote en carriles de doble precisión.
+     *
+     * @param distances   Distancias por satélite: {@code distances[satélite][i]}.
+     * @param xs          Arreglo donde se escribe la coordenada x de cada emisor, o NaN si debe optimizarse.
+     * @param ys          Arreglo donde se escribe la coordenada y de cada emisor.
+     * @param maxResidual Residuo RMS máximo aceptado para la solución lineal.
+     */
+    public static void solveDouble(Constellation constellation, double[][] distances, double[] xs, double[] ys,
+                                   int from, int to, double maxResidual) {
+        int size = constellation.size();
+        double[] pseudoInverseX = constellation.pseudoInverseX();
+        double[] pseudoInverseY = constellation.pseudoInverseY();
+        double[] offsets = constellation.offsets();
+        double[] satelliteXs = constellation.xs();
+        double[] satelliteYs = constellation.ys();
+        double maxSum = maxSquaredSum(maxResidual, size);
+        double[] sums = new double[Math.min(BLOCK, to - from)];
+        double[] first = distances[0];
+        int lanes = DOUBLES.length();
+        for (int start = from; start < to; start += BLOCK) {
+            int end = start + DOUBLES.loopBound(Math.min(BLOCK, to - start));
+            for (int i = start, j = 0; i < end; i += lanes, j += lanes) {
+                DoubleVector.zero(DOUBLES).intoArray(xs, i);
+                DoubleVector.zero(DOUBLES).intoArray(ys, i);
+                DoubleVector.zero(DOUBLES).intoArray(sums, j);
+            }
+            for (int s = 1; s < size; s++) {
+                double[] current = distances[s];
+                DoubleVector px = DoubleVector.broadcast(DOUBLES, pseudoInverseX[s - 1]);
+                DoubleVector py = DoubleVector.broadcast(DOUBLES, pseudoInverseY[s - 1]);
+                double offset = offsets[s - 1];
+                for (int i = start; i < end; i += lanes) {
+                    DoubleVector d0 = DoubleVector.fromArray(DOUBLES, first, i);
+                    DoubleVector ds = DoubleVector.fromArray(DOUBLES, current, i);
+                    DoubleVector b = d0.sub(ds).mul(d0.add(ds)).add(offset);
+                    b.fma(px, DoubleVector.fromArray(DOUBLES, xs, i)).intoArray(xs, i);
+                    b.fma(py, DoubleVector.fromArray(DOUBLES, ys, i)).intoArray(ys, i);
+                }
+            }
+            for (int s = 0; s < size; s++) {
+                double[] current = distances[s];
+                double satelliteX = satelliteXs[s];
+                double satelliteY = satelliteYs[s];
+                for (int i = start, j = 0; i < end; i += lanes, j += lanes) {
+                    DoubleVector dx = DoubleVector.fromArray(DOUBLES, xs, i).sub(satelliteX);
+                    DoubleVector dy = DoubleVector.fromArray(DOUBLES, ys, i).sub(satelliteY);
+                    DoubleVector error = dx.fma(dx, dy.mul(dy)).sqrt()
+                            .sub(DoubleVector.fromArray(DOUBLES, current, i));
+                    error.fma(error, DoubleVector.fromArray(DOUBLES, sums, j)).intoArray(sums, j);
+                }
+            }
+            for (int i = start, j = 0; i < end; i += lanes, j += lanes) {
+                // La comparación es falsa para un residuo NaN, que también queda marcado.
+                VectorMask<Double> rejected = DoubleVector.fromArray(DOUBLES, sums, j)
+                        .compare(VectorOperators.LE, maxSum).not();
+                DoubleVector.fromArray(DOUBLES, xs, i).blend(Double.NaN, rejected).intoArray(xs, i);
+            }
+            solveScalar(constellation, distances, xs, ys, end, Math.min(start + BLOCK, to), maxResidual);
+        }
+    }
+
+    /**
+     * Resuelve los emisores [from, to) del lote en carriles de precisión simple.
+     *
+     * @param distances   Distancias por satélite: {@code distances[satélite][i]}.
+     * @param xs          Arreglo donde se escribe la coordenada x de cada emisor, o NaN si debe optimizarse.
+     * @param ys          Arreglo donde se escribe la coordenada y de cada emisor.
+     * @param maxResidual Residuo RMS máximo aceptado para la solución lineal.
+     */
+    public static void solveFloat(Constellation constellation, double[][] distances, double[] xs, double[] ys,
+                                  int from, int to, double maxResidual) {
+        int size = constellation.size();
+        float[] pseudoInverseX = toFloat(constellation.pseudoInverseX());
+        float[] pseudoInverseY = toFloat(constellation.pseudoInverseY());
+        float[] offsets = toFloat(constellation.offsets());
+        float[] satelliteXs = toFloat(constellation.xs());
+        float[] satelliteYs = toFloat(constellation.ys());
+        float maxSum = (float) maxSquaredSum(maxResidual, size);
+        int block = Math.min(BLOCK, to - from);
+        float[][] blockDistances = new float[size][block];
+        float[] blockXs = new float[block];
+        float[] blockYs = new float[block];
+        float[] sums = new float[block];
+        int lanes = FLOATS.length();
+        for (int start = from; start < to; start += block) {
+            int count = Math.min(block, to - start);
+            int end = FLOATS.loopBound(count);
+            for (int s = 0; s < size; s++) {
+                double[] source = distances[s];
+                float[] target = blockDistances[s];
+                for (int j = 0; j < end; j++) {
+                    target[j] = (float) source[start + j];
+                }
+            }
+            float[] first = blockDistances[0];
+            for (int j = 0; j < end; j += lanes) {
+                FloatVector.zero(FLOATS).intoArray(blockXs, j);
+                FloatVector.zero(FLOATS).intoArray(blockYs, j);
+                FloatVector.zero(FLOATS).intoArray(sums, j);
+            }
+            for (int s = 1; s < size; s++) {
+                float[] current = blockDistances[s];
+                FloatVector px = FloatVector.broadcast(FLOATS, pseudoInverseX[s - 1]);
+                FloatVector py = FloatVector.broadcast(FLOATS, pseudoInverseY[s - 1]);
+                float offset = offsets[s - 1];
+                for (int j = 0; j < end; j += lanes) {
+                    FloatVector d0 = FloatVector.fromArray(FLOATS, first, j);
+                    FloatVector ds = FloatVector.fromArray(FLOATS, current, j);
+                    FloatVector b = d0.sub(ds).mul(d0.add(ds)).add(offset);
+                    b.fma(px, FloatVector.fromArray(FLOATS, blockXs, j)).intoArray(blockXs, j);
+                    b.fma(py, FloatVector.fromArray(FLOATS, blockYs, j)).intoArray(blockYs, j);
+                }
+            }
+            for (int s = 0; s < size; s++) {
+                float[] current = blockDistances[s];
+                float satelliteX = satelliteXs[s];
+                float satelliteY = satelliteYs[s];
+                for (int j = 0; j < end; j += lanes) {
+                    FloatVector dx = FloatVector.fromArray(FLOATS, blockXs, j).sub(satelliteX);
+                    FloatVector dy = FloatVector.fromArray(FLOATS, blockYs, j).sub(satelliteY);
+                    FloatVector error = dx.fma(dx, dy.mul(dy)).sqrt()
+                            .sub(FloatVector.fromArray(FLOATS, current, j));
+                    error.fma(error, FloatVector.fromArray(FLOATS, sums, j)).intoArray(sums, j);
+                }
+            }
+            for (int j = 0; j < end; j += lanes) {
+                VectorMask<Float> rejected = FloatVector.fromArray(FLOATS, sums, j)
+                        .compare(VectorOperators.LE, maxSum).not();
+                FloatVector.fromArray(FLOATS, blockXs, j).blend(Float.NaN, rejected).intoArray(blockXs, j);
+            }
+            for (int j = 0; j < end; j++) {
+                xs[start + j] = blockXs[j];
+                ys[start + j] = blockYs[j];
+            }
+            solveScalar(constellation, distances, xs, ys, start + end, start + count, maxResidual);
+        }
+    }
+
+    /**
+     * Vía escalar para los emisores que no completan un vector, con el mismo criterio de rechazo.
+     */
+    private static void solveScalar(Constellation constellation, double[][] distances, double[] xs, double[] ys,
+                                    int from, int to, double maxResidual) {
+        double[] point = new double[2];
+        for (int i = from; i < to; i++) {
+            constellation.solveLinear(distances, i, point);
+            boolean accepted = constellation.residual(point[0], point[1], distances, i) <= maxResidual;
+            xs[i] = accepted ? point[0] : Double.NaN;
+            ys[i] = point[1];
+        }
+    }
+
+    /**
+     * Suma máxima de los errores al cuadrado equivalente al residuo RMS máximo; un máximo negativo no acepta
+     * ninguna solución.
+     */
+    private static double maxSquaredSum(double maxResidual, int size) {
+        return maxResidual < 0 ? -1 : maxResidual * maxResidual * size;
+    }
+
+    private static float[] toFloat(double[] values) {
+        float[] result = new float[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = (float) values[i];
+        }
+        return result;
+    }
+}